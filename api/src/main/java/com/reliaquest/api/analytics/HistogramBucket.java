@@ -0,0 +1,6 @@
+package com.reliaquest.api.analytics;
+
+/**
+ * Salaries from {@code from} (inclusive) to {@code to} (exclusive, except for the last bucket).
+ */
+public record HistogramBucket(int from, int to, long count) {}
@@ -0,0 +1,119 @@
+package com.reliaquest.api.analytics;
+
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.exception.ErrorLogSampler;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.RosterChangedEvent;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves salary analytics from {@link SalaryStatistics}. The statistics are seeded from the upstream roster on first
+ * use, kept current by this api's own creates and deletes, and re-seeded every {@code api.salary-stats.refresh-ms} to
+ * pick up changes made by other clients of the upstream.
+ */
+@Slf4j
+@Service
+public class SalaryAnalyticsService {
+
+    private static final long RETRY_AFTER_FAILURE_NANOS = Duration.ofSeconds(5).toNanos();
+    private static final ErrorLogSampler REFRESH_FAILURE_LOG = new ErrorLogSampler(log, Duration.ofSeconds(10), 1);
+
+    private final EmployeeService employeeService;
+    private final long refreshNanos;
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    // Guarded by this.
+    private SalaryStatistics statistics = new SalaryStatistics();
+    private List<RosterChangedEvent> eventsDuringLoad;
+
+    private volatile boolean loaded;
+    private volatile long nextRefreshNanos;
+
+    public SalaryAnalyticsService(
+            EmployeeService employeeService, @Value("${api.salary-stats.refresh-ms:60000}") long refreshMillis) {
+        this.employeeService = employeeService;
+        this.refreshNanos = Duration.ofMillis(refreshMillis).toNanos();
+    }
+
+    public SalarySummary summary() {
+        return query(SalaryStatistics::summary);
+    }
+
+    public Map<String, Integer> percentiles(double... percentiles) {
+        return query(statistics -> statistics.percentiles(percentiles));
+    }
+
+    public List<HistogramBucket> histogram(int buckets) {
+        return query(statistics -> statistics.histogram(buckets));
+    }
+
+    public Map<String, SalarySummary> byTitle() {
+        return query(SalaryStatistics::byTitle);
+    }
+
+    @EventListener
+    public synchronized void onRosterChanged(RosterChangedEvent event) {
+        statistics.apply(event);
+        if (eventsDuringLoad != null) {
+            eventsDuringLoad.add(event);
+        }
+    }
+
+    private <T> T query(Function<SalaryStatistics, T> query) {
+        if (!loaded || System.nanoTime() - nextRefreshNanos >= 0) {
+            load();
+        }
+        synchronized (this) {
+            return query.apply(statistics);
+        }
+    }
+
+    /*
+     * The roster is fetched outside the monitor. Events published meanwhile are applied to the current statistics and
+     * replayed onto the fetched roster; replay is idempotent per id, so it does not matter whether the fetched roster
+     * already reflects them.
+     */
+    private void load() {
+        loadLock.lock();
+        try {
+            if (loaded && System.nanoTime() - nextRefreshNanos < 0) {
+                return;
+            }
+            synchronized (this) {
+                eventsDuringLoad = new ArrayList<>();
+            }
+            final SalaryStatistics fetched;
+            try {
+                fetched = SalaryStatistics.of(employeeService.getAllEmployees());
+            } catch (EmployeeServiceException e) {
+                synchronized (this) {
+                    eventsDuringLoad = null;
+                }
+                if (!loaded) {
+                    throw e;
+                }
+                REFRESH_FAILURE_LOG.warn("Serving stale salary statistics, refresh failed", e);
+                nextRefreshNanos = System.nanoTime() + Math.min(refreshNanos, RETRY_AFTER_FAILURE_NANOS);
+                return;
+            }
+            synchronized (this) {
+                eventsDuringLoad.forEach(fetched::apply);
+                eventsDuringLoad = null;
+                statistics = fetched;
+            }
+            nextRefreshNanos = System.nanoTime() + refreshNanos;
+            loaded = true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.api.analytics;
+
+import java.util.TreeMap;
+
+/**
+ * Count, mean and variance via Welford's update, which can be run backwards to remove a value, plus a count per
+ * distinct salary for exact min and max. Every update is O(log distinct salaries).
+ */
+public class SalaryMoments {
+
+    private final TreeMap<Integer, Integer> salaries = new TreeMap<>();
+    private long count;
+    private double mean;
+    private double m2;
+
+    public void add(int salary) {
+        salaries.merge(salary, 1, Integer::sum);
+        count++;
+        final var delta = salary - mean;
+        mean += delta / count;
+        m2 += delta * (salary - mean);
+    }
+
+    /**
+     * @return false if the salary was not part of these moments, in which case nothing changed.
+     */
+    public boolean remove(int salary) {
+        final var present = salaries.get(salary);
+        if (present == null) {
+            return false;
+        }
+        if (present == 1) {
+            salaries.remove(salary);
+        } else {
+            salaries.put(salary, present - 1);
+        }
+        count--;
+        if (count == 0) {
+            mean = 0;
+            m2 = 0;
+            return true;
+        }
+        final var delta = salary - mean;
+        mean -= delta / count;
+        m2 = Math.max(0, m2 - delta * (salary - mean));
+        return true;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public SalarySummary summary() {
+        if (count == 0) {
+            return new SalarySummary(0, 0, 0, null, null);
+        }
+        return new SalarySummary(count, mean, Math.sqrt(m2 / count), salaries.firstKey(), salaries.lastKey());
+    }
+}
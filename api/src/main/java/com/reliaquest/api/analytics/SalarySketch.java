@@ -0,0 +1,114 @@
+package com.reliaquest.api.analytics;
+
+/**
+ * Log-linear histogram of non-negative salaries with a Fenwick tree over its buckets. Values below 128 get a bucket
+ * each; above that every power of two is split into 64 buckets, so a bucket is never wider than 1/64 of its lower
+ * bound. Adding, removing and rank queries are O(log buckets); sketches with the same layout merge by adding counts.
+ */
+public class SalarySketch {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = bucketOf(Integer.MAX_VALUE) + 1;
+    private static final int TREE_SIZE = Integer.highestOneBit(BUCKETS - 1) << 1;
+
+    private final long[] tree = new long[TREE_SIZE + 1];
+    private long count;
+
+    public void add(int salary) {
+        update(bucketOf(salary), 1);
+    }
+
+    public void remove(int salary) {
+        update(bucketOf(salary), -1);
+    }
+
+    public void merge(SalarySketch other) {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            final var bucketCount = other.countIn(bucket);
+            if (bucketCount != 0) {
+                update(bucket, bucketCount);
+            }
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Midpoint of the bucket holding the salary of the given 1-based rank.
+     */
+    public int valueAtRank(long rank) {
+        if (rank < 1 || rank > count) {
+            throw new IllegalArgumentException("Rank " + rank + " outside 1.." + count);
+        }
+        // Fenwick descent: find the first bucket whose prefix count reaches the rank.
+        int position = 0;
+        long remaining = rank;
+        for (int step = TREE_SIZE; step > 0; step >>= 1) {
+            final var next = position + step;
+            if (next <= TREE_SIZE && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        final long lower = lowerBound(position);
+        final long upper = upperBound(position);
+        return (int) ((lower + upper) / 2);
+    }
+
+    /**
+     * Number of salaries in buckets that start at or below {@code salary}. Exact at bucket boundaries and for values
+     * below 128, otherwise it may include salaries up to 1/64 above it.
+     */
+    public long countAtMost(int salary) {
+        if (salary < 0) {
+            return 0;
+        }
+        return prefix(bucketOf(salary));
+    }
+
+    private void update(int bucket, long delta) {
+        count += delta;
+        for (int i = bucket + 1; i <= TREE_SIZE; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private long prefix(int bucket) {
+        long sum = 0;
+        for (int i = bucket + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private long countIn(int bucket) {
+        return prefix(bucket) - (bucket == 0 ? 0 : prefix(bucket - 1));
+    }
+
+    static int bucketOf(int salary) {
+        if (salary < 2 * SUB_BUCKETS) {
+            return Math.max(salary, 0);
+        }
+        final var shift = 31 - Integer.numberOfLeadingZeros(salary) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (salary >> shift);
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        final var shift = bucket / SUB_BUCKETS - 1;
+        return (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        final var shift = bucket / SUB_BUCKETS - 1;
+        return ((long) (bucket % SUB_BUCKETS + SUB_BUCKETS + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,144 @@
+package com.reliaquest.api.analytics;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.RosterChangedEvent;
+import com.reliaquest.common.id.UuidIndex;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Salary distribution of the roster, maintained incrementally: a {@link SalarySketch} for percentiles and histograms,
+ * {@link SalaryMoments} for the whole roster and per title. Employees are tracked by id, so replaying a create or
+ * delete that is already reflected is a no-op. Not thread-safe.
+ */
+public class SalaryStatistics {
+
+    private static final String NO_TITLE = "";
+
+    private final UuidIndex<Employee> employees = new UuidIndex<>();
+    private final SalarySketch sketch = new SalarySketch();
+    private final SalaryMoments overall = new SalaryMoments();
+    private final Map<String, SalaryMoments> byTitle = new TreeMap<>();
+
+    public static SalaryStatistics of(Collection<Employee> roster) {
+        final var statistics = new SalaryStatistics();
+        roster.forEach(statistics::add);
+        return statistics;
+    }
+
+    public void apply(RosterChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> add(event.employee());
+            case DELETED -> remove(event.employee());
+        }
+    }
+
+    /**
+     * Employees without an id cannot be told apart and are ignored.
+     */
+    public void add(Employee employee) {
+        final var id = employee.getId();
+        if (id == null
+                || employees.putIfAbsent(id.getMostSignificantBits(), id.getLeastSignificantBits(), employee) != null) {
+            return;
+        }
+        final var salary = employee.getEmployee_salary();
+        sketch.add(salary);
+        overall.add(salary);
+        byTitle.computeIfAbsent(titleOf(employee), title -> new SalaryMoments()).add(salary);
+    }
+
+    public void remove(Employee employee) {
+        // Use what was recorded on add; the caller's copy may carry a different salary or title.
+        final var id = employee.getId();
+        final var recorded =
+                id == null ? null : employees.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (recorded == null) {
+            return;
+        }
+        final var salary = recorded.getEmployee_salary();
+        sketch.remove(salary);
+        overall.remove(salary);
+        final var title = titleOf(recorded);
+        final var moments = byTitle.get(title);
+        moments.remove(salary);
+        if (moments.count() == 0) {
+            byTitle.remove(title);
+        }
+    }
+
+    public SalarySummary summary() {
+        return overall.summary();
+    }
+
+    /**
+     * Keyed {@code p50}, {@code p99.9} and so on; empty for an empty roster. Values are within 1/64 of the exact
+     * percentile; the first and last rank are the exact min and max.
+     */
+    public Map<String, Integer> percentiles(double... percentiles) {
+        final Map<String, Integer> result = new LinkedHashMap<>();
+        final var summary = overall.summary();
+        if (summary.count() == 0) {
+            return result;
+        }
+        for (double percentile : percentiles) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+            }
+            final var rank = Math.max(1, (long) Math.ceil(percentile / 100 * summary.count()));
+            final int value;
+            if (rank == 1) {
+                value = summary.min();
+            } else if (rank == summary.count()) {
+                value = summary.max();
+            } else {
+                value = Math.min(Math.max(sketch.valueAtRank(rank), summary.min()), summary.max());
+            }
+            result.put("p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString(), value);
+        }
+        return result;
+    }
+
+    /**
+     * Up to {@code buckets} equal-width buckets spanning min to max. Counts come from the sketch, so a salary within
+     * 1/64 of a boundary may be counted in the neighbouring bucket.
+     */
+    public List<HistogramBucket> histogram(int buckets) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Bucket count must be positive: " + buckets);
+        }
+        final List<HistogramBucket> histogram = new ArrayList<>(buckets);
+        final var summary = overall.summary();
+        if (summary.count() == 0) {
+            return histogram;
+        }
+        final long min = summary.min();
+        final long max = summary.max();
+        final var width = Math.max(1, (max - min + buckets) / buckets);
+        long countedBelow = 0;
+        for (long from = min; from <= max; from += width) {
+            final var last = from + width > max;
+            final var to = last ? max : from + width;
+            final var countedThrough = last ? summary.count() : sketch.countAtMost((int) to - 1);
+            histogram.add(new HistogramBucket((int) from, (int) to, countedThrough - countedBelow));
+            countedBelow = countedThrough;
+        }
+        return histogram;
+    }
+
+    public Map<String, SalarySummary> byTitle() {
+        final Map<String, SalarySummary> result = new LinkedHashMap<>();
+        byTitle.forEach((title, moments) -> result.put(title, moments.summary()));
+        return result;
+    }
+
+    private static String titleOf(Employee employee) {
+        return Objects.requireNonNullElse(employee.getEmployee_title(), NO_TITLE);
+    }
+}
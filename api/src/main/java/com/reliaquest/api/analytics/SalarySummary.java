@@ -0,0 +1,6 @@
+package com.reliaquest.api.analytics;
+
+/**
+ * {@code stddev} is the population standard deviation; {@code min} and {@code max} are null when {@code count} is 0.
+ */
+public record SalarySummary(long count, double mean, double stddev, Integer min, Integer max) {}
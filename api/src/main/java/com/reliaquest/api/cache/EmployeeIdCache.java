@@ -0,0 +1,391 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.jfr.CacheLookupEvent;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.RosterChangedEvent;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import com.reliaquest.common.id.UuidKey;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Employees by id, for {@code getEmployeeById}, bounded to {@code api.id-cache.maximum-size} entries with W-TinyLFU
+ * eviction: new entries go to a small LRU window (1% of the size); the window's least recent entry then competes with
+ * the main space's least recent one, and only the one accessed more often according to a {@link FrequencySketch} stays.
+ * The main space is a segmented LRU, where entries hit a second time move from probation to a protected segment (80%
+ * of the main space). A hot set therefore survives a scan of one-off ids, which would flush a plain LRU.
+ *
+ * <p>Entries expire {@code ttl-ms} after they were written, and a deleted employee is dropped. Lookups read a
+ * concurrent map; the eviction policy is updated under a lock, which a lookup skips when contended, so under heavy
+ * load some accesses are not counted.
+ *
+ * <p>With an {@link UpstreamScheduler}, entries hit since they were written are refreshed ahead of their expiry from
+ * spare upstream budget, and each entry's TTL adapts to whether its refreshes find the employee changed.
+ */
+@Component
+public class EmployeeIdCache implements UpstreamScheduler.RefreshAhead {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int REMOVED = 3;
+
+    private final boolean enabled;
+    private final int maximumSize;
+    private final int windowMax;
+    private final int protectedMax;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<UuidKey, Node> data = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder refreshedAhead = new LongAdder();
+    private volatile UpstreamScheduler upstreamScheduler;
+    private volatile Function<UuidKey, Employee> loader;
+    // Only used from the scheduler's thread, between refreshDueInNanos and refreshAhead.
+    private UuidKey refreshCandidate;
+
+    // Everything below is written under lock; only invalidations is read without it.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final Node[] queues = {new Node(null), new Node(null), new Node(null)};
+    private final int[] sizes = new int[3];
+    private volatile long invalidations;
+    private long evictions;
+
+    @Autowired
+    public EmployeeIdCache(
+            @Value("${api.id-cache.enabled:false}") boolean enabled,
+            @Value("${api.id-cache.maximum-size:10000}") int maximumSize,
+            @Value("${api.id-cache.ttl-ms:30000}") long ttlMillis) {
+        this(enabled, maximumSize, TimeUnit.MILLISECONDS.toNanos(ttlMillis), System::nanoTime);
+    }
+
+    EmployeeIdCache(boolean enabled, int maximumSize, long ttlNanos, LongSupplier clock) {
+        this.enabled = enabled;
+        this.maximumSize = Math.max(2, maximumSize);
+        this.windowMax = Math.max(1, this.maximumSize / 100);
+        this.protectedMax = (this.maximumSize - windowMax) * 8 / 10;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.sketch = new FrequencySketch(enabled ? this.maximumSize : 0);
+        for (Node sentinel : queues) {
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+        }
+    }
+
+    public static EmployeeIdCache disabled() {
+        return new EmployeeIdCache(false, 0, 0, System::nanoTime);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param loader reads an employee upstream, throwing {@link EmployeeNotFoundException} if it is gone
+     */
+    public void enableRefreshAhead(UpstreamScheduler upstreamScheduler, Function<UuidKey, Employee> loader) {
+        if (!enabled) {
+            return;
+        }
+        this.upstreamScheduler = upstreamScheduler;
+        this.loader = loader;
+        upstreamScheduler.register(this);
+    }
+
+    /**
+     * @return the cached employee, or null; always null when disabled
+     */
+    public Employee get(UuidKey id) {
+        if (!enabled) {
+            return null;
+        }
+        final var event = new CacheLookupEvent();
+        event.begin();
+        final var node = data.get(id);
+        if (node != null && clock.getAsLong() - node.expiresAtNanos >= 0) {
+            expire(node);
+            misses.increment();
+            commit(event, id, "expired");
+            return null;
+        }
+        if (node == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+            if (!node.read) {
+                node.read = true;
+            }
+        }
+        if (lock.tryLock()) {
+            try {
+                sketch.increment(spread(id));
+                if (node != null) {
+                    onAccess(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        commit(event, id, node == null ? "miss" : "hit");
+        return node == null ? null : node.employee;
+    }
+
+    /**
+     * Taken before reading an employee upstream and passed to {@link #put}, so that an employee deleted while it was
+     * being read is not cached again.
+     */
+    public long ticket() {
+        return invalidations;
+    }
+
+    public void put(UuidKey id, Employee employee, long ticket) {
+        put(id, employee, ticket, false);
+    }
+
+    private void put(UuidKey id, Employee employee, long ticket, boolean refreshed) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (ticket != invalidations) {
+                return;
+            }
+            final var existing = data.get(id);
+            if (existing != null) {
+                final var scheduler = upstreamScheduler;
+                if (refreshed && scheduler != null) {
+                    existing.ttlNanos =
+                            scheduler.nextTtlNanos(ttlNanos, existing.ttlNanos, !employee.equals(existing.employee));
+                }
+                existing.employee = employee;
+                existing.expiresAtNanos = clock.getAsLong() + existing.ttlNanos;
+                existing.read = !refreshed;
+                onAccess(existing);
+                return;
+            }
+            final var node = new Node(id);
+            node.employee = employee;
+            node.ttlNanos = ttlNanos;
+            node.expiresAtNanos = clock.getAsLong() + ttlNanos;
+            data.put(id, node);
+            link(node, WINDOW);
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(UuidKey id) {
+        lock.lock();
+        try {
+            invalidations++;
+            final var node = data.remove(id);
+            if (node != null) {
+                unlink(node);
+                node.queue = REMOVED;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onRosterChanged(RosterChangedEvent event) {
+        if (enabled
+                && event.type() == RosterChangedEvent.Type.DELETED
+                && event.employee().getId() != null) {
+            invalidate(UuidKey.of(event.employee().getId()));
+        }
+    }
+
+    // A scan; the cache is bounded and the scheduler asks a few times per tick.
+    @Override
+    public long refreshDueInNanos() {
+        final var now = clock.getAsLong();
+        var earliest = Long.MAX_VALUE;
+        UuidKey candidate = null;
+        for (Node node : data.values()) {
+            if (node.read) {
+                final var written = node.expiresAtNanos - node.ttlNanos;
+                final var dueIn = written + upstreamScheduler.refreshAheadNanos(node.ttlNanos) - now;
+                if (candidate == null || dueIn < earliest) {
+                    candidate = node.key;
+                    earliest = dueIn;
+                }
+            }
+        }
+        refreshCandidate = candidate;
+        return earliest;
+    }
+
+    @Override
+    public void refreshAhead() {
+        final var id = refreshCandidate;
+        if (id == null || !data.containsKey(id)) {
+            return;
+        }
+        final var ticket = ticket();
+        try {
+            put(id, loader.apply(id), ticket, true);
+        } catch (EmployeeNotFoundException e) {
+            invalidate(id);
+        }
+        refreshedAhead.increment();
+    }
+
+    public IdCacheStats stats() {
+        final var hitCount = hits.sum();
+        final var requests = hitCount + misses.sum();
+        lock.lock();
+        try {
+            return new IdCacheStats(
+                    enabled,
+                    data.size(),
+                    maximumSize,
+                    hitCount,
+                    requests - hitCount,
+                    requests == 0 ? 0 : (double) hitCount / requests,
+                    evictions,
+                    expirations.sum(),
+                    invalidations,
+                    refreshedAhead.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void expire(Node node) {
+        lock.lock();
+        try {
+            if (node.queue != REMOVED && data.remove(node.key, node)) {
+                unlink(node);
+                node.queue = REMOVED;
+                expirations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onAccess(Node node) {
+        switch (node.queue) {
+            case WINDOW, PROTECTED -> {
+                final var queue = node.queue;
+                unlink(node);
+                link(node, queue);
+            }
+            case PROBATION -> {
+                unlink(node);
+                link(node, PROTECTED);
+                if (sizes[PROTECTED] > protectedMax) {
+                    final var demoted = queues[PROTECTED].next;
+                    unlink(demoted);
+                    link(demoted, PROBATION);
+                }
+            }
+            default -> {}
+        }
+    }
+
+    private void evict() {
+        while (sizes[WINDOW] > windowMax) {
+            final var candidate = queues[WINDOW].next;
+            unlink(candidate);
+            if (sizes[PROBATION] + sizes[PROTECTED] < maximumSize - windowMax) {
+                link(candidate, PROBATION);
+                continue;
+            }
+            final var victim = sizes[PROBATION] > 0 ? queues[PROBATION].next : queues[PROTECTED].next;
+            if (sketch.frequency(spread(candidate.key)) > sketch.frequency(spread(victim.key))) {
+                unlink(victim);
+                remove(victim);
+                link(candidate, PROBATION);
+            } else {
+                remove(candidate);
+            }
+        }
+    }
+
+    private void remove(Node node) {
+        data.remove(node.key, node);
+        node.queue = REMOVED;
+        evictions++;
+    }
+
+    // Appends at the most recently used end.
+    private void link(Node node, int queue) {
+        final var sentinel = queues[queue];
+        node.queue = queue;
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+        sizes[queue]++;
+    }
+
+    private void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        sizes[node.queue]--;
+    }
+
+    private static int spread(UuidKey id) {
+        final var h = id.hashCode() * 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    private static void commit(CacheLookupEvent event, UuidKey id, String outcome) {
+        if (event.shouldCommit()) {
+            event.cache = "id";
+            event.key = id.toString();
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    private static final class Node {
+
+        final UuidKey key;
+        volatile Employee employee;
+        volatile long expiresAtNanos;
+        volatile long ttlNanos;
+        // Hit since it was last written; only such entries are refreshed ahead.
+        volatile boolean read;
+        // Guarded by the cache's lock.
+        int queue;
+        Node prev;
+        Node next;
+
+        Node(UuidKey key) {
+            this.key = key;
+        }
+    }
+
+    public record IdCacheStats(
+            boolean enabled,
+            int size,
+            int maximumSize,
+            long hits,
+            long misses,
+            double hitRatio,
+            long evictions,
+            long expirations,
+            long invalidations,
+            long refreshedAhead) {}
+}
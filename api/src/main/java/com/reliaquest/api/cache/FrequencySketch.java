@@ -0,0 +1,70 @@
+package com.reliaquest.api.cache;
+
+/**
+ * Approximate access frequency of keys, as a count-min sketch of 4-bit counters: four counters per key, spread over
+ * a table of longs holding sixteen counters each, of which the smallest is the estimate. Counters saturate at 15, and
+ * all of them are halved once the number of increments reaches ten times the cache's maximum size, so that the sketch
+ * forgets old popularity. Not thread-safe.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        final var wanted = Math.max(16, maximumSize);
+        table = new long[Integer.highestOneBit(wanted - 1) << 1];
+        sampleSize = 10 * Math.max(1, maximumSize);
+    }
+
+    int frequency(int hash) {
+        final var start = (hash & 3) << 2;
+        var frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            final var offset = (start + i) << 2;
+            final var count = (int) ((table[indexOf(hash, i)] >>> offset) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    void increment(int hash) {
+        final var start = (hash & 3) << 2;
+        var added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        final var offset = counter << 2;
+        final var mask = 0xfL << offset;
+        if ((table[index] & mask) == mask) {
+            return false;
+        }
+        table[index] += 1L << offset;
+        return true;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private int indexOf(int hash, int row) {
+        var h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & (table.length - 1);
+    }
+}
@@ -0,0 +1,123 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.jfr.CacheLookupEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serialized response bodies keyed by request, valid until the roster version moves on or the TTL passes, whichever
+ * comes first. The TTL bounds staleness for changes made by other clients of the upstream, which this api cannot see.
+ */
+@Component
+public class ResponseCache {
+
+    private final RosterVersion rosterVersion;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final boolean gzip;
+    private final int maxEntries;
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ResponseCache(
+            RosterVersion rosterVersion,
+            @Value("${api.response-cache.enabled:false}") boolean enabled,
+            @Value("${api.response-cache.ttl-ms:2000}") long ttlMillis,
+            @Value("${api.response-cache.gzip:true}") boolean gzip,
+            @Value("${api.response-cache.max-entries:1000}") int maxEntries) {
+        this.rosterVersion = rosterVersion;
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.gzip = gzip;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long version() {
+        return rosterVersion.current();
+    }
+
+    public CachedResponse get(String key) {
+        final var event = new CacheLookupEvent();
+        event.begin();
+        final var cached = entries.get(key);
+        if (cached == null || !isFresh(cached, rosterVersion.current(), System.nanoTime())) {
+            misses.increment();
+            commit(event, key, "miss");
+            return null;
+        }
+        hits.increment();
+        commit(event, key, "hit");
+        return cached;
+    }
+
+    private static void commit(CacheLookupEvent event, String key, String outcome) {
+        if (event.shouldCommit()) {
+            event.cache = "response";
+            event.key = key;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    /**
+     * @param version roster version observed <em>before</em> the body was computed, so that a write racing with the
+     *     computation leaves behind an entry that is already stale
+     */
+    public void put(String key, long version, String contentType, byte[] body) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evictStale();
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(
+                key,
+                new CachedResponse(version, System.nanoTime() + ttlNanos, contentType, body, gzip ? gzip(body) : null));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(enabled, entries.size(), hits.sum(), misses.sum());
+    }
+
+    private void evictStale() {
+        final var version = rosterVersion.current();
+        final var now = System.nanoTime();
+        entries.values().removeIf(cached -> !isFresh(cached, version, now));
+    }
+
+    private static boolean isFresh(CachedResponse cached, long version, long now) {
+        return cached.version() == version && now - cached.expiresAtNanos() < 0;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        final var bytes = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (final var out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public record CachedResponse(
+            long version, long expiresAtNanos, String contentType, byte[] body, byte[] gzippedBody) {}
+
+    public record CacheStats(boolean enabled, int size, long hits, long misses) {}
+}
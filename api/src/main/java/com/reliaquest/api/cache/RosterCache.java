@@ -0,0 +1,427 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.cluster.ClusterMessage;
+import com.reliaquest.api.cluster.ClusterVersion;
+import com.reliaquest.api.cluster.InvalidationChannel;
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.exception.ErrorLogSampler;
+import com.reliaquest.api.exception.UpstreamBudgetExhaustedException;
+import com.reliaquest.api.jfr.CacheLookupEvent;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.RosterChangedEvent;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snapshot of the full upstream roster, shared by every roster-wide read. {@code api.roster-cache.mode}:
+ *
+ * <ul>
+ *   <li>{@code none}: every read goes upstream.
+ *   <li>{@code local}: the snapshot is reused until the TTL passes or this replica changes the roster.
+ *   <li>{@code cluster}: replicas share an {@link InvalidationChannel}. Creates and deletes are broadcast and drop every
+ *       replica's snapshot. Only the leader (the live node with the lowest id) reads the roster from upstream and
+ *       broadcasts it as a snapshot; followers ask the leader and wait up to {@code follower-wait-ms} before falling back
+ *       to a read of their own. Upstream load therefore stays one read per TTL or per change, however many replicas run.
+ * </ul>
+ *
+ * <p>Replicas agree on a cluster version: a local change takes the next version, a remote one is merged by max, and a
+ * snapshot is only accepted when it was read at or after the highest version this replica has seen. Versions compare by
+ * counter and then by node id, so concurrent changes on two nodes are ordered the same way everywhere. A read is only
+ * kept when no change, local or remote, arrived while it was in flight. The result is eventually consistent: a
+ * snapshot that crossed a change in flight is replaced by the refresh the change triggers.
+ *
+ * <p>With an {@link UpstreamScheduler}, a snapshot that was read is refreshed ahead of its expiry from spare upstream
+ * budget, by the reader of the upstream (the leader in cluster mode). The TTL adapts to how often such refreshes find
+ * the roster changed by other clients, and a miss that the budget cannot pay for is answered from the expired snapshot.
+ *
+ * <p>Never initialized lazily: a replica has to heartbeat from startup for leader election to see it.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class RosterCache implements UpstreamScheduler.RefreshAhead {
+
+    private static final ErrorLogSampler REFRESH_FAILURE_LOG = new ErrorLogSampler(log, Duration.ofSeconds(10), 1);
+
+    private final Mode mode;
+    private final String nodeId;
+    private final long ttlNanos;
+    private final long followerWaitNanos;
+    private final long heartbeatNanos;
+    private final InvalidationChannel channel;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<ClusterVersion> clusterVersion = new AtomicReference<>(ClusterVersion.INITIAL);
+    private final AtomicLong changesSeen = new AtomicLong();
+    private final Map<String, Long> lastSeenNanos = new ConcurrentHashMap<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final AtomicLong lastRefreshRequestNanos = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+    private final Object snapshotMonitor = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder upstreamReads = new LongAdder();
+    private final LongAdder snapshotsReceived = new LongAdder();
+    private final LongAdder refreshedAhead = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+
+    private volatile Snapshot snapshot;
+    private volatile Supplier<Employee[]> source;
+    private volatile UpstreamScheduler upstreamScheduler;
+    private volatile long currentTtlNanos;
+    private volatile boolean readSinceRefresh;
+    private ScheduledExecutorService scheduler;
+
+    public RosterCache(
+            InvalidationChannel channel,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${api.roster-cache.mode:none}") String mode,
+            @Value("${api.roster-cache.node-id:}") String nodeId,
+            @Value("${api.roster-cache.ttl-ms:2000}") long ttlMillis,
+            @Value("${api.roster-cache.follower-wait-ms:300}") long followerWaitMillis,
+            @Value("${api.roster-cache.heartbeat-ms:1000}") long heartbeatMillis) {
+        this.channel = channel;
+        this.eventPublisher = eventPublisher;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase());
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.currentTtlNanos = ttlNanos;
+        this.followerWaitNanos = TimeUnit.MILLISECONDS.toNanos(followerWaitMillis);
+        this.heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatMillis);
+    }
+
+    public static RosterCache disabled() {
+        return new RosterCache(null, event -> {}, "none", "", 0, 0, 0);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (mode != Mode.CLUSTER) {
+            return;
+        }
+        final var threadFactory = new CustomizableThreadFactory("roster-cache-");
+        threadFactory.setDaemon(true);
+        scheduler = new ScheduledThreadPoolExecutor(2, threadFactory);
+        channel.subscribe(this::onMessage);
+        scheduler.scheduleAtFixedRate(
+                () -> channel.publish(new ClusterMessage.Heartbeat(nodeId)), 0, heartbeatNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return mode != Mode.NONE;
+    }
+
+    /**
+     * Where the roster is read from upstream; also used for refreshes the leader runs on behalf of followers.
+     */
+    public void setSource(Supplier<Employee[]> source) {
+        this.source = source;
+    }
+
+    public void enableRefreshAhead(UpstreamScheduler upstreamScheduler) {
+        if (mode == Mode.NONE) {
+            return;
+        }
+        this.upstreamScheduler = upstreamScheduler;
+        upstreamScheduler.register(this);
+    }
+
+    public Employee[] get() {
+        final var event = new CacheLookupEvent();
+        event.begin();
+        final var current = snapshot;
+        if (isFresh(current)) {
+            hits.increment();
+            if (!readSinceRefresh) {
+                readSinceRefresh = true;
+            }
+            commit(event, "hit");
+            return current.roster();
+        }
+        misses.increment();
+        if (mode == Mode.CLUSTER && !isLeader()) {
+            requestRefresh();
+            final var received = awaitFreshSnapshot();
+            if (received != null) {
+                commit(event, "leader-snapshot");
+                return received.roster();
+            }
+            // No answer from the leader in time; read for ourselves rather than fail the request.
+            final var roster = refresh(false, false);
+            commit(event, "leader-timeout");
+            return roster;
+        }
+        final var roster = refresh(false, false);
+        commit(event, "miss");
+        return roster;
+    }
+
+    private static void commit(CacheLookupEvent event, String outcome) {
+        if (event.shouldCommit()) {
+            event.cache = "roster";
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    public boolean isLeader() {
+        if (mode != Mode.CLUSTER) {
+            return true;
+        }
+        final var now = System.nanoTime();
+        final var liveness = 3 * heartbeatNanos;
+        for (Map.Entry<String, Long> member : lastSeenNanos.entrySet()) {
+            if (now - member.getValue() < liveness && member.getKey().compareTo(nodeId) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public RosterCacheStats stats() {
+        return new RosterCacheStats(
+                mode.name().toLowerCase(),
+                nodeId,
+                isLeader(),
+                clusterVersion.get(),
+                hits.sum(),
+                misses.sum(),
+                upstreamReads.sum(),
+                snapshotsReceived.sum(),
+                TimeUnit.NANOSECONDS.toMillis(currentTtlNanos),
+                refreshedAhead.sum(),
+                staleServed.sum());
+    }
+
+    @Override
+    public long refreshDueInNanos() {
+        final var current = snapshot;
+        if (current == null || !readSinceRefresh || !isCurrent(current) || !isLeader()) {
+            return Long.MAX_VALUE;
+        }
+        return current.createdNanos() + upstreamScheduler.refreshAheadNanos(currentTtlNanos) - System.nanoTime();
+    }
+
+    @Override
+    public void refreshAhead() {
+        refresh(mode == Mode.CLUSTER, true);
+    }
+
+    @EventListener
+    public void onRosterChanged(RosterChangedEvent event) {
+        if (mode == Mode.NONE || event.remote()) {
+            return;
+        }
+        final var version = clusterVersion.updateAndGet(current -> current.next(nodeId));
+        changesSeen.incrementAndGet();
+        snapshot = null;
+        if (mode == Mode.CLUSTER) {
+            channel.publish(new ClusterMessage.RosterChanged(nodeId, version, event.type(), event.employee()));
+            if (isLeader()) {
+                queueRefresh();
+            }
+        }
+    }
+
+    void onMessage(ClusterMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        lastSeenNanos.put(message.origin(), System.nanoTime());
+        if (message instanceof ClusterMessage.RosterChanged changed) {
+            clusterVersion.accumulateAndGet(changed.version(), ClusterVersion::max);
+            changesSeen.incrementAndGet();
+            snapshot = null;
+            eventPublisher.publishEvent(new RosterChangedEvent(changed.type(), changed.employee(), true));
+            if (isLeader()) {
+                queueRefresh();
+            }
+        } else if (message instanceof ClusterMessage.RefreshRequest) {
+            if (isLeader()) {
+                queueRefresh();
+            }
+        } else if (message instanceof ClusterMessage.RosterSnapshot received) {
+            accept(received);
+        }
+    }
+
+    private void accept(ClusterMessage.RosterSnapshot received) {
+        synchronized (snapshotMonitor) {
+            final var current = snapshot;
+            if (received.version().compareTo(clusterVersion.get()) < 0
+                    || (current != null && received.version().compareTo(current.version()) < 0)) {
+                return;
+            }
+            snapshotsReceived.increment();
+            snapshot = new Snapshot(received.version(), System.nanoTime(), received.roster());
+            snapshotMonitor.notifyAll();
+        }
+    }
+
+    private void requestRefresh() {
+        final var now = System.nanoTime();
+        final var last = lastRefreshRequestNanos.get();
+        // One outstanding request per wait period is enough; the answer is broadcast to everyone.
+        if (now - last >= followerWaitNanos && lastRefreshRequestNanos.compareAndSet(last, now)) {
+            channel.publish(new ClusterMessage.RefreshRequest(nodeId));
+        }
+    }
+
+    private Snapshot awaitFreshSnapshot() {
+        final var deadline = System.nanoTime() + followerWaitNanos;
+        synchronized (snapshotMonitor) {
+            var current = snapshot;
+            while (!isFresh(current)) {
+                final var remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(snapshotMonitor, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+                current = snapshot;
+            }
+            return current;
+        }
+    }
+
+    private void queueRefresh() {
+        if (refreshQueued.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                refreshQueued.set(false);
+                try {
+                    refresh(true, false);
+                } catch (EmployeeServiceException e) {
+                    REFRESH_FAILURE_LOG.warn("Leader roster refresh failed", e);
+                }
+            });
+        }
+    }
+
+    /*
+     * Single flight: callers that queue up behind a read use its result. A snapshot read across a change is returned to
+     * the caller but neither kept nor broadcast.
+     */
+    private Employee[] refresh(boolean broadcastFresh, boolean ahead) {
+        refreshLock.lock();
+        try {
+            final var current = snapshot;
+            if (isFresh(current) && !(ahead && refreshDueInNanos() <= 0)) {
+                if (broadcastFresh) {
+                    channel.publish(new ClusterMessage.RosterSnapshot(nodeId, current.version(), current.roster()));
+                }
+                return current.roster();
+            }
+            final var version = clusterVersion.get();
+            final var changes = changesSeen.get();
+            upstreamReads.increment();
+            final Employee[] roster;
+            try {
+                roster = source.get();
+            } catch (UpstreamBudgetExhaustedException e) {
+                // Nothing changed here since the expired snapshot was read; better late than a failed request.
+                if (!ahead && current != null && isCurrent(current)) {
+                    staleServed.increment();
+                    return current.roster();
+                }
+                throw e;
+            }
+            if (ahead) {
+                refreshedAhead.increment();
+            }
+            if (changesSeen.get() == changes) {
+                adaptTtl(current, version, roster);
+                readSinceRefresh = !ahead;
+                synchronized (snapshotMonitor) {
+                    snapshot = new Snapshot(version, System.nanoTime(), roster);
+                    snapshotMonitor.notifyAll();
+                }
+                if (mode == Mode.CLUSTER && isLeader()) {
+                    channel.publish(new ClusterMessage.RosterSnapshot(nodeId, version, roster));
+                }
+            }
+            return roster;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /*
+     * Only a read at the version of the previous snapshot tells whether other clients changed the roster upstream; this
+     * replica's own changes are known without reading.
+     */
+    private void adaptTtl(Snapshot previous, ClusterVersion version, Employee[] roster) {
+        final var scheduler = upstreamScheduler;
+        if (scheduler != null && previous != null && previous.version().equals(version)) {
+            currentTtlNanos =
+                    scheduler.nextTtlNanos(ttlNanos, currentTtlNanos, !Arrays.equals(previous.roster(), roster));
+        }
+    }
+
+    private boolean isFresh(Snapshot candidate) {
+        return candidate != null
+                && isCurrent(candidate)
+                && System.nanoTime() - candidate.createdNanos() < currentTtlNanos;
+    }
+
+    private boolean isCurrent(Snapshot candidate) {
+        return candidate.version().compareTo(clusterVersion.get()) >= 0;
+    }
+
+    private enum Mode {
+        NONE,
+        LOCAL,
+        CLUSTER
+    }
+
+    private record Snapshot(ClusterVersion version, long createdNanos, Employee[] roster) {}
+
+    public record RosterCacheStats(
+            String mode,
+            String nodeId,
+            boolean leader,
+            ClusterVersion clusterVersion,
+            long hits,
+            long misses,
+            long upstreamReads,
+            long snapshotsReceived,
+            long ttlMillis,
+            long refreshedAhead,
+            long staleServed) {}
+}
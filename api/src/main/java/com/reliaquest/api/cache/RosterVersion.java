@@ -0,0 +1,29 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.service.RosterChangedEvent;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monotonic counter bumped whenever this api changes the roster. Anything derived from the roster remembers the
+ * version it was computed at and is stale once the counter has moved on.
+ */
+@Component
+public class RosterVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public long advance() {
+        return version.incrementAndGet();
+    }
+
+    @EventListener
+    public void onRosterChanged(RosterChangedEvent event) {
+        advance();
+    }
+}
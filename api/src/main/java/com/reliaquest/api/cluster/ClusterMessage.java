@@ -0,0 +1,34 @@
+package com.reliaquest.api.cluster;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.RosterChangedEvent;
+
+/**
+ * Messages exchanged between api replicas over an {@link InvalidationChannel}. {@code origin} is the sending node's id;
+ * nodes ignore their own messages.
+ */
+public sealed interface ClusterMessage {
+
+    String origin();
+
+    /**
+     * Announces a live node. The live node with the lowest id is the leader.
+     */
+    record Heartbeat(String origin) implements ClusterMessage {}
+
+    /**
+     * A create or delete confirmed by the upstream on {@code origin}, at cluster version {@code version}.
+     */
+    record RosterChanged(String origin, ClusterVersion version, RosterChangedEvent.Type type, Employee employee)
+            implements ClusterMessage {}
+
+    /**
+     * Sent by a follower that has no fresh roster; the leader answers with a {@link RosterSnapshot}.
+     */
+    record RefreshRequest(String origin) implements ClusterMessage {}
+
+    /**
+     * The roster as fetched by the leader while at cluster version {@code version}.
+     */
+    record RosterSnapshot(String origin, ClusterVersion version, Employee[] roster) implements ClusterMessage {}
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.api.cluster;
+
+/**
+ * Version of the roster as agreed between replicas: a counter, with the id of the node that took it breaking ties, so
+ * that changes made concurrently on two nodes get distinct versions and every node orders them the same way.
+ */
+public record ClusterVersion(long counter, String nodeId) implements Comparable<ClusterVersion> {
+
+    public static final ClusterVersion INITIAL = new ClusterVersion(0, "");
+
+    /**
+     * The version of a change made on {@code nodeId} after this one.
+     */
+    public ClusterVersion next(String nodeId) {
+        return new ClusterVersion(counter + 1, nodeId);
+    }
+
+    public static ClusterVersion max(ClusterVersion a, ClusterVersion b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    @Override
+    public int compareTo(ClusterVersion other) {
+        final var byCounter = Long.compare(counter, other.counter);
+        return byCounter != 0 ? byCounter : nodeId.compareTo(other.nodeId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcast channel shared by all api replicas, e.g. a pub/sub topic. Every published message is delivered to every
+ * subscriber, the publisher included. Delivery may be asynchronous; messages from one publisher should arrive in order.
+ */
+public interface InvalidationChannel {
+
+    void publish(ClusterMessage message);
+
+    void subscribe(Consumer<ClusterMessage> subscriber);
+}
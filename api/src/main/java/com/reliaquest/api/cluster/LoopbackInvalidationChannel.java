@@ -0,0 +1,49 @@
+package com.reliaquest.api.cluster;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * In-process channel: delivers messages to the subscribers in this JVM, in publish order, on a single daemon thread.
+ * Sufficient for a single replica and for tests that run several nodes side by side.
+ */
+@Slf4j
+public class LoopbackInvalidationChannel implements InvalidationChannel, AutoCloseable {
+
+    private final List<Consumer<ClusterMessage>> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService delivery;
+
+    public LoopbackInvalidationChannel() {
+        final var threadFactory = new CustomizableThreadFactory("invalidation-loopback-");
+        threadFactory.setDaemon(true);
+        this.delivery = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        delivery.execute(() -> {
+            for (Consumer<ClusterMessage> subscriber : subscribers) {
+                try {
+                    subscriber.accept(message);
+                } catch (RuntimeException e) {
+                    log.warn("Subscriber failed on {}", message.getClass().getSimpleName(), e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void close() {
+        delivery.shutdownNow();
+    }
+}
@@ -1,19 +1,121 @@
 package com.reliaquest.api.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cluster.InvalidationChannel;
+import com.reliaquest.api.cluster.LoopbackInvalidationChannel;
+import com.reliaquest.api.jfr.UpstreamCallRecorder;
+import com.reliaquest.api.upstream.HedgingPolicy;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import com.reliaquest.common.jfr.FlightRecordings;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    /*
+     * Backed by the JDK HttpClient so that interrupting a thread blocked on an upstream call aborts the exchange,
+     * which is what lets a losing hedged request actually be cancelled.
+     */
+    @Bean
+    public RestTemplate restTemplate(
+            @Value("${api.upstream.connect-timeout-ms:2000}") long connectTimeoutMillis,
+            @Value("${api.upstream.read-timeout-ms:10000}") long readTimeoutMillis,
+            @Value("${api.upstream.wire-format:json}") String wireFormat,
+            UpstreamScheduler upstreamScheduler) {
+        final var httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+        final var requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+        final var restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new UpstreamCallRecorder());
+        if (upstreamScheduler.isEnabled()) {
+            restTemplate.getInterceptors().add(upstreamScheduler.interceptor());
+        }
+        if ("smile".equalsIgnoreCase(wireFormat)) {
+            final var smile = Jackson2ObjectMapperBuilder.smile().build();
+            restTemplate.getMessageConverters().add(new MappingJackson2SmileHttpMessageConverter(smile));
+            // RestTemplate would advertise every media type it can read; pin Smile so the server cannot pick JSON.
+            restTemplate.getInterceptors().add((request, body, execution) -> {
+                request.getHeaders().setAccept(List.of(SMILE));
+                return execution.execute(request, body);
+            });
+        }
+        return restTemplate;
+    }
+
+    /*
+     * The loopback channel only reaches this process. Replicas sharing a roster cache set
+     * api.roster-cache.invalidation-channel to anything else and declare their own InvalidationChannel bean.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @ConditionalOnProperty(
+            name = "api.roster-cache.invalidation-channel",
+            havingValue = "loopback",
+            matchIfMissing = true)
+    public InvalidationChannel invalidationChannel() {
+        return new LoopbackInvalidationChannel();
+    }
+
+    /*
+     * Off by default: the recordings endpoints are not authenticated. Enable them only where the admin path is not
+     * reachable from outside.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "api.recordings.enabled", havingValue = "true")
+    public FlightRecordings flightRecordings(
+            @Value("${api.recordings.max-recordings:2}") int maxRecordings,
+            @Value("${api.recordings.max-age-ms:3600000}") long maxAgeMillis,
+            @Value("${api.recordings.max-size-mb:256}") long maxSizeMb) {
+        return new FlightRecordings(
+                "employee-api", maxRecordings, Duration.ofMillis(maxAgeMillis), maxSizeMb * 1024 * 1024);
     }
 
     @Bean
     public ObjectMapper objectMapper() {
         return new ObjectMapper();
     }
+
+    /*
+     * Hedged attempts are not admitted by the upstream budget, so with both on a hedge could trip the upstream's
+     * lockout the budget exists to avoid.
+     */
+    @Bean
+    public HedgingPolicy hedgingPolicy(
+            @Value("${api.upstream-budget.enabled:false}") boolean budgetEnabled,
+            @Value("${api.hedging.enabled:false}") boolean enabled,
+            @Value("${api.hedging.percentile:0.95}") double percentile,
+            @Value("${api.hedging.min-delay-ms:10}") long minDelayMillis,
+            @Value("${api.hedging.budget-ratio:0.05}") double budgetRatio,
+            @Value("${api.hedging.min-samples:50}") int minSamples,
+            @Value("${api.hedging.cooldown-ms:90000}") long cooldownMillis,
+            @Value("${api.hedging.max-threads:64}") int maxThreads) {
+        if (enabled && budgetEnabled) {
+            throw new IllegalStateException(
+                    "api.hedging.enabled and api.upstream-budget.enabled cannot both be true: hedged attempts bypass"
+                            + " the upstream budget");
+        }
+        return new HedgingPolicy(
+                enabled,
+                percentile,
+                Duration.ofMillis(minDelayMillis),
+                budgetRatio,
+                minSamples,
+                Duration.ofMillis(cooldownMillis),
+                maxThreads);
+    }
 }
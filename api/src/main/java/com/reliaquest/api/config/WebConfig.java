@@ -0,0 +1,28 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cache.ResponseCache;
+import com.reliaquest.api.web.ConcurrencyLimitFilter;
+import com.reliaquest.api.web.ConcurrencyLimiter;
+import com.reliaquest.api.web.ResponseCacheFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class WebConfig {
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseCache responseCache) {
+        final var registration = new FilterRegistrationBean<>(new ResponseCacheFilter(responseCache));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimiter limiter) {
+        final var registration = new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limiter));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.cache.EmployeeIdCache;
+import com.reliaquest.api.cache.ResponseCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.logging.CountingAsyncAppender;
+import com.reliaquest.api.upstream.HedgedRequests;
+import com.reliaquest.api.upstream.Shards;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import com.reliaquest.api.web.ConcurrencyLimiter;
+import com.reliaquest.api.write.WriteBehindQueue;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Counters of the api's own machinery, for tuning. Outside {@code /api/v1/employee}, so neither cached nor limited.
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final WriteBehindQueue writeBehind;
+    private final RosterCache rosterCache;
+    private final ResponseCache responseCache;
+    private final EmployeeIdCache idCache;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final HedgedRequests hedgedRequests;
+    private final Shards shards;
+    private final UpstreamScheduler upstreamScheduler;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("writeBehind", writeBehind.stats());
+        stats.put("rosterCache", rosterCache.stats());
+        stats.put("responseCache", responseCache.stats());
+        stats.put("idCache", idCache.stats());
+        stats.put("concurrencyLimit", concurrencyLimiter.stats());
+        stats.put("hedging", hedgedRequests.stats());
+        stats.put("shards", shards.stats());
+        stats.put("upstreamBudget", upstreamScheduler.stats());
+        final var logging = CountingAsyncAppender.find();
+        if (logging != null) {
+            stats.put("logging", logging.stats());
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
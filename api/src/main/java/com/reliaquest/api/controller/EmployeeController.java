@@ -3,9 +3,9 @@ package com.reliaquest.api.controller;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.service.EmployeeService;
-import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -43,14 +43,21 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         return ResponseEntity.ok(service.getTopTenHighestEarnerNames());
     }
 
+    /*
+     * @Validated rather than @Valid: Hibernate Validator reads @Valid on an overriding method's parameter as a redefined
+     * constraint and rejects the class, which breaks AOT processing. MVC validates the body the same way for either.
+     */
     @Override
-    public ResponseEntity<Employee> createEmployee(@RequestBody @Valid EmployeeInput employeeInput) {
+    public ResponseEntity<Employee> createEmployee(@RequestBody @Validated EmployeeInput employeeInput) {
 
-        return ResponseEntity.ok(service.createEmployee(employeeInput));
+        final var created = service.createEmployee(employeeInput);
+        // With write-behind the employee is only accepted so far; its id is provisional until the upstream has it.
+        return service.isWriteBehind() ? ResponseEntity.accepted().body(created) : ResponseEntity.ok(created);
     }
 
     @Override
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
-        return ResponseEntity.ok(service.deleteEmployee(id));
+        final var name = service.deleteEmployee(id);
+        return service.isWriteBehind() ? ResponseEntity.accepted().body(name) : ResponseEntity.ok(name);
     }
 }
@@ -0,0 +1,74 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.ErrorBody;
+import com.reliaquest.common.jfr.FlightRecordings;
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Starts, dumps and stops flight recordings; see {@link FlightRecordings}. A dump is a {@code .jfr} file for JDK Mission
+ * Control or {@code jfr print --events com.reliaquest.api.*}. Only mapped when {@code api.recordings.enabled} is set.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/recordings")
+@ConditionalOnProperty(name = "api.recordings.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class FlightRecordingController {
+
+    private final FlightRecordings flightRecordings;
+
+    @PostMapping
+    public ResponseEntity<FlightRecordings.RecordingInfo> startRecording(
+            @RequestParam(defaultValue = "profile") String settings,
+            @RequestParam(defaultValue = "600") long maxAgeSeconds,
+            @RequestParam(defaultValue = "64") long maxSizeMb) {
+        return ResponseEntity.ok(
+                flightRecordings.start(settings, Duration.ofSeconds(maxAgeSeconds), maxSizeMb * 1024 * 1024));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<FlightRecordings.RecordingInfo>> listRecordings() {
+        return ResponseEntity.ok(flightRecordings.list());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<StreamingResponseBody> dumpRecording(@PathVariable long id) {
+        if (!flightRecordings.contains(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        // A recording stopped in between streams an empty file.
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employee-api-" + id + ".jfr\"")
+                .body(out -> flightRecordings.dumpTo(id, out));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<FlightRecordings.RecordingInfo> stopRecording(@PathVariable long id) {
+        return ResponseEntity.of(flightRecordings.stop(id));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<byte[]> handleInvalidRecording(IllegalArgumentException ex) {
+        return new ErrorBody(ex.getMessage(), 400).toResponseEntity();
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<byte[]> handleTooManyRecordings(IllegalStateException ex) {
+        return new ErrorBody(ex.getMessage(), 409).toResponseEntity();
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.InvalidRequestException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.search.NameIndex;
+import com.reliaquest.api.search.NameSearchService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/employee/names")
+@RequiredArgsConstructor
+public class NameSearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final NameSearchService service;
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<Employee>> autocomplete(
+            @RequestParam(name = "prefix", defaultValue = "") String prefix,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        validate("prefix", prefix, limit);
+        return ResponseEntity.ok(service.autocomplete(prefix, limit));
+    }
+
+    @GetMapping("/fuzzy")
+    public ResponseEntity<List<Employee>> fuzzy(
+            @RequestParam(name = "name", defaultValue = "") String name,
+            @RequestParam(name = "maxEdits", required = false) Integer maxEdits,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        validate("name", name, limit);
+        if (maxEdits != null && (maxEdits < 0 || maxEdits > NameIndex.MAX_EDITS)) {
+            throw new InvalidRequestException("maxEdits must be between 0 and " + NameIndex.MAX_EDITS);
+        }
+        return ResponseEntity.ok(service.fuzzy(name, maxEdits, limit));
+    }
+
+    private static void validate(String parameter, String value, int limit) {
+        if (value.isBlank()) {
+            throw new InvalidRequestException(parameter + " must not be blank");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
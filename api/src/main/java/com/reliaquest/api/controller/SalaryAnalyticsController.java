@@ -0,0 +1,54 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.analytics.HistogramBucket;
+import com.reliaquest.api.analytics.SalaryAnalyticsService;
+import com.reliaquest.api.analytics.SalarySummary;
+import com.reliaquest.api.exception.InvalidRequestException;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/employee/salary")
+@RequiredArgsConstructor
+public class SalaryAnalyticsController {
+
+    private static final int MAX_HISTOGRAM_BUCKETS = 100;
+
+    private final SalaryAnalyticsService service;
+
+    @GetMapping("/summary")
+    public ResponseEntity<SalarySummary> getSummary() {
+        return ResponseEntity.ok(service.summary());
+    }
+
+    @GetMapping("/percentiles")
+    public ResponseEntity<Map<String, Integer>> getPercentiles(
+            @RequestParam(name = "p", defaultValue = "50,75,90,95,99") double[] percentiles) {
+        for (double percentile : percentiles) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new InvalidRequestException("Percentiles must be between 0 and 100");
+            }
+        }
+        return ResponseEntity.ok(service.percentiles(percentiles));
+    }
+
+    @GetMapping("/histogram")
+    public ResponseEntity<List<HistogramBucket>> getHistogram(
+            @RequestParam(name = "buckets", defaultValue = "10") int buckets) {
+        if (buckets < 1 || buckets > MAX_HISTOGRAM_BUCKETS) {
+            throw new InvalidRequestException("Bucket count must be between 1 and " + MAX_HISTOGRAM_BUCKETS);
+        }
+        return ResponseEntity.ok(service.histogram(buckets));
+    }
+
+    @GetMapping("/by-title")
+    public ResponseEntity<Map<String, SalarySummary>> getByTitle() {
+        return ResponseEntity.ok(service.byTitle());
+    }
+}
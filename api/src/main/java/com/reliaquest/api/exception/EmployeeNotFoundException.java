@@ -3,6 +3,7 @@ package com.reliaquest.api.exception;
 public class EmployeeNotFoundException extends RuntimeException {
 
     public EmployeeNotFoundException(String message) {
-        super(message);
+        // An unknown id is an ordinary outcome, not a defect; skip filling in the stack trace.
+        super(message, null, false, false);
     }
 }
@@ -4,4 +4,8 @@ public class EmployeeServiceException extends RuntimeException {
     public EmployeeServiceException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    protected EmployeeServiceException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, false, writableStackTrace);
+    }
 }
@@ -0,0 +1,85 @@
+package com.reliaquest.api.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Pre-serialized JSON error body ({@code timestamp}, {@code message}, {@code status}) for a fixed message and status.
+ * The timestamp has second resolution, so the rendered bytes are reused by every error within the same second and a
+ * storm of identical failures costs one small array per second instead of a map, a formatted date and a Jackson pass
+ * per request.
+ */
+public final class ErrorBody {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final HttpHeaders HEADERS = new HttpHeaders();
+
+    static {
+        HEADERS.setContentType(MediaType.APPLICATION_JSON);
+    }
+
+    private final int status;
+    private final byte[] prefix;
+    private final byte[] suffix;
+    private volatile Rendered rendered = new Rendered(Long.MIN_VALUE, null);
+
+    public ErrorBody(String message, int status) {
+        this.status = status;
+        this.prefix = "{\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+        this.suffix = ("\",\"message\":\"" + escape(message) + "\",\"status\":" + status + "}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    public ResponseEntity<byte[]> toResponseEntity() {
+        return new ResponseEntity<>(render(), HEADERS, status);
+    }
+
+    /**
+     * For filters, which answer before Spring MVC is involved.
+     */
+    public void writeTo(HttpServletResponse response) throws IOException {
+        final var bytes = render();
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    byte[] render() {
+        final var second = System.currentTimeMillis() / 1000;
+        final var current = rendered;
+        if (current.second() == second) {
+            return current.bytes();
+        }
+        final var timestamp = timestamp(second).getBytes(StandardCharsets.UTF_8);
+        final var bytes = new byte[prefix.length + timestamp.length + suffix.length];
+        System.arraycopy(prefix, 0, bytes, 0, prefix.length);
+        System.arraycopy(timestamp, 0, bytes, prefix.length, timestamp.length);
+        System.arraycopy(suffix, 0, bytes, prefix.length + timestamp.length, suffix.length);
+        rendered = new Rendered(second, bytes);
+        return bytes;
+    }
+
+    static String timestamp(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault())
+                .format(TIMESTAMP);
+    }
+
+    /**
+     * Escapes the message as a JSON string, including control characters; exception messages can carry request input.
+     */
+    private static String escape(String value) {
+        return value == null ? "" : new String(JsonStringEncoder.getInstance().quoteAsString(value));
+    }
+
+    private record Rendered(long second, byte[] bytes) {}
+}
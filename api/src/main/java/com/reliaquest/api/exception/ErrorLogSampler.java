@@ -0,0 +1,97 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+
+/**
+ * Lets through at most {@code permits} log lines per interval for one call site and counts the rest, reporting the
+ * number swallowed on the next line that gets through. Keeps a burst of identical upstream failures from turning
+ * logging into the bottleneck.
+ */
+public class ErrorLogSampler {
+
+    private final Logger log;
+    private final long intervalNanos;
+    private final int permits;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger used = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    public ErrorLogSampler(Logger log, Duration interval, int permits) {
+        this.log = log;
+        this.intervalNanos = interval.toNanos();
+        this.permits = permits;
+    }
+
+    /**
+     * Logs the message and the cause's description, without its stack trace.
+     */
+    public void warn(String message, Throwable cause) {
+        if (log.isWarnEnabled() && tryAcquire()) {
+            log.warn("{}: {}{}", message, cause, suppressedSuffix());
+        }
+    }
+
+    /**
+     * Like {@link #warn(String, Throwable)}, with one {@code {}} placeholder in the message; the message is only
+     * formatted when the line gets through.
+     */
+    public void warn(String format, Object argument, Throwable cause) {
+        if (log.isWarnEnabled() && tryAcquire()) {
+            log.warn(format + ": {}{}", argument, cause, suppressedSuffix());
+        }
+    }
+
+    /**
+     * Like {@link #warn(String, Object, Throwable)}, for an argument that costs something to compute: it is only
+     * computed when the line gets through.
+     */
+    public void warn(String format, Supplier<?> argument, Throwable cause) {
+        if (log.isWarnEnabled() && tryAcquire()) {
+            log.warn(format + ": {}{}", argument.get(), cause, suppressedSuffix());
+        }
+    }
+
+    /**
+     * Like {@link #warn(String, Object, Throwable)}, with two {@code {}} placeholders.
+     */
+    public void warn(String format, Object first, Object second, Throwable cause) {
+        if (log.isWarnEnabled() && tryAcquire()) {
+            log.warn(format + ": {}{}", first, second, cause, suppressedSuffix());
+        }
+    }
+
+    public void error(String message, Throwable cause) {
+        if (log.isErrorEnabled() && tryAcquire()) {
+            log.error(message + suppressedSuffix(), cause);
+        }
+    }
+
+    public void error(String format, Object argument, Throwable cause) {
+        if (log.isErrorEnabled() && tryAcquire()) {
+            log.error(format + "{}", argument, suppressedSuffix(), cause);
+        }
+    }
+
+    private boolean tryAcquire() {
+        final var now = System.nanoTime();
+        final var start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= permits) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    private String suppressedSuffix() {
+        final var count = suppressed.sumThenReset();
+        return count == 0 ? "" : " (" + count + " similar suppressed)";
+    }
+}
@@ -1,11 +1,13 @@
 package com.reliaquest.api.exception;
 
-import java.time.LocalDateTime;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -15,22 +17,61 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private static final ErrorBody SERVICE_UNAVAILABLE = new ErrorBody("Service unavailable or failed operation", 502);
+    private static final ErrorBody INTERNAL_ERROR = new ErrorBody("Internal Server Error", 500);
+    private static final ErrorBody WRITE_QUEUE_FULL = new ErrorBody("Write queue full, retry later", 503);
+    private static final ErrorBody UPSTREAM_BUDGET_EXHAUSTED =
+            new ErrorBody("Upstream request budget exhausted, retry later", 503);
+
+    private static final ErrorLogSampler NOT_FOUND_LOG = new ErrorLogSampler(log, Duration.ofSeconds(1), 5);
+    private static final ErrorLogSampler UPSTREAM_LOG = new ErrorLogSampler(log, Duration.ofSeconds(1), 5);
+    private static final ErrorLogSampler UNEXPECTED_LOG = new ErrorLogSampler(log, Duration.ofSeconds(1), 5);
+
     @ExceptionHandler(EmployeeNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleEmployeeNotFound(EmployeeNotFoundException ex) {
-        log.error("EmployeeNotFoundException: {}", ex.getMessage());
-        return buildErrorResponse(ex.getMessage(), 404);
+    public ResponseEntity<byte[]> handleEmployeeNotFound(EmployeeNotFoundException ex) {
+        NOT_FOUND_LOG.warn("EmployeeNotFoundException", ex);
+        // The message carries the requested id, so this body cannot be shared.
+        return new ErrorBody(ex.getMessage(), 404).toResponseEntity();
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<byte[]> handleInvalidRequest(InvalidRequestException ex) {
+        return new ErrorBody(ex.getMessage(), 400).toResponseEntity();
+    }
+
+    @ExceptionHandler(InvalidEmployeeIdException.class)
+    public ResponseEntity<byte[]> handleInvalidEmployeeId(InvalidEmployeeIdException ex) {
+        return new ErrorBody(ex.getMessage(), 400).toResponseEntity();
+    }
+
+    @ExceptionHandler(WriteQueueFullException.class)
+    public ResponseEntity<byte[]> handleWriteQueueFull(WriteQueueFullException ex, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return WRITE_QUEUE_FULL.toResponseEntity();
+    }
+
+    @ExceptionHandler(UpstreamBudgetExhaustedException.class)
+    public ResponseEntity<byte[]> handleUpstreamBudgetExhausted(
+            UpstreamBudgetExhaustedException ex, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return UPSTREAM_BUDGET_EXHAUSTED.toResponseEntity();
     }
 
     @ExceptionHandler(EmployeeServiceException.class)
-    public ResponseEntity<Map<String, Object>> handleEmployeeServiceException(EmployeeServiceException ex) {
-        log.error("EmployeeServiceException: {}", ex.getMessage(), ex);
-        return buildErrorResponse("Service unavailable or failed operation", 502);
+    public ResponseEntity<byte[]> handleEmployeeServiceException(EmployeeServiceException ex) {
+        if (ex instanceof UpstreamUnavailableException) {
+            UPSTREAM_LOG.warn(
+                    "EmployeeServiceException: {}", ex.getMessage(), ex.getCause() != null ? ex.getCause() : ex);
+        } else {
+            UPSTREAM_LOG.error("EmployeeServiceException: {}", ex.getMessage(), ex);
+        }
+        return SERVICE_UNAVAILABLE.toResponseEntity();
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
-        log.error("Unexpected error occurred", ex);
-        return buildErrorResponse("Internal Server Error", 500);
+    public ResponseEntity<byte[]> handleGenericException(Exception ex) {
+        UNEXPECTED_LOG.error("Unexpected error occurred", ex);
+        return INTERNAL_ERROR.toResponseEntity();
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -42,20 +83,12 @@ public class GlobalExceptionHandler {
             errors.add(fieldError.getField() + ": " + fieldError.getDefaultMessage());
         }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now().toString());
+        Map<String, Object> response = new LinkedHashMap<>(4);
+        response.put("timestamp", ErrorBody.timestamp(System.currentTimeMillis() / 1000));
 
         response.put("status", 400);
         response.put("errors", errors);
 
         return ResponseEntity.badRequest().body(response);
     }
-
-    private ResponseEntity<Map<String, Object>> buildErrorResponse(String message, int statusCode) {
-        Map<String, Object> error = new HashMap<>();
-        error.put("timestamp", LocalDateTime.now().toString());
-        error.put("message", message);
-        error.put("status", statusCode);
-        return ResponseEntity.status(statusCode).body(error);
-    }
 }
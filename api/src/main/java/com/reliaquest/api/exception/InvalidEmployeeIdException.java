@@ -0,0 +1,9 @@
+package com.reliaquest.api.exception;
+
+public class InvalidEmployeeIdException extends EmployeeServiceException {
+
+    public InvalidEmployeeIdException(String id) {
+        // Rejected input is an ordinary outcome, not a defect; skip filling in the stack trace.
+        super("Invalid employee id: " + id, null, false);
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.exception;
+
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        // Rejected input is an ordinary outcome, not a defect; skip filling in the stack trace.
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.exception;
+
+import lombok.Getter;
+
+/**
+ * An upstream call was not made because it would have tripped the upstream's rate limit lockout; see
+ * {@code UpstreamScheduler}. Answered with {@code 503} and a {@code Retry-After} of {@link #getRetryAfterSeconds()}.
+ */
+@Getter
+public class UpstreamBudgetExhaustedException extends UpstreamUnavailableException {
+
+    private final long retryAfterSeconds;
+
+    public UpstreamBudgetExhaustedException(long retryAfterSeconds) {
+        super("Upstream request budget exhausted", null);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.exception;
+
+/**
+ * The upstream failed in a way that is expected under load (rate limiting, 5xx, timeouts). These happen in bursts and
+ * say nothing about our own code, so no stack trace is captured; the cause still carries the upstream details.
+ */
+public class UpstreamUnavailableException extends EmployeeServiceException {
+
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause, false);
+    }
+}
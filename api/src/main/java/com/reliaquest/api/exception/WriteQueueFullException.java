@@ -0,0 +1,9 @@
+package com.reliaquest.api.exception;
+
+public class WriteQueueFullException extends RuntimeException {
+
+    public WriteQueueFullException() {
+        // Backpressure is an ordinary outcome, not a defect; skip filling in the stack trace.
+        super("Write queue full, retry later", null, false, false);
+    }
+}
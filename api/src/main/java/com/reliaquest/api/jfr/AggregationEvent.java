@@ -0,0 +1,25 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A roster-wide computation: search, highest salary or top earners.
+ */
+@Name("com.reliaquest.api.Aggregation")
+@Label("Aggregation")
+@Category({"ReliaQuest", "Employee API"})
+@StackTrace(false)
+public class AggregationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Roster Size")
+    public int rosterSize;
+
+    @Label("Results")
+    public int results;
+}
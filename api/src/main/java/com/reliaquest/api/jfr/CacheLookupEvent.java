@@ -0,0 +1,28 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A lookup in the roster, response or id cache. A roster cache miss lasts until the roster is available, so its duration
+ * includes the upstream read or the wait for the leader's snapshot.
+ */
+@Name("com.reliaquest.api.CacheLookup")
+@Label("Cache Lookup")
+@Category({"ReliaQuest", "Employee API"})
+@StackTrace(false)
+public class CacheLookupEvent extends jdk.jfr.Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Key")
+    public String key;
+
+    @Label("Outcome")
+    @Description("hit, miss, expired, leader-snapshot or leader-timeout")
+    public String outcome;
+}
@@ -0,0 +1,22 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Binding of an upstream response body to employees.
+ */
+@Name("com.reliaquest.api.JsonParse")
+@Label("JSON Parse")
+@Category({"ReliaQuest", "Employee API"})
+@StackTrace(false)
+public class JsonParseEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Records")
+    public int records;
+}
@@ -0,0 +1,34 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One HTTP exchange with the mock server, from sending the request until its body has been read. Hedged requests emit
+ * one event per attempt.
+ */
+@Name("com.reliaquest.api.UpstreamCall")
+@Label("Upstream Call")
+@Category({"ReliaQuest", "Employee API"})
+@StackTrace(false)
+public class UpstreamCallEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("URL Template")
+    @Description("Request path with the employee id replaced by {id}")
+    public String urlTemplate;
+
+    @Label("Status")
+    @Description("HTTP status, or 0 if no response arrived")
+    public int status;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long bytes;
+}
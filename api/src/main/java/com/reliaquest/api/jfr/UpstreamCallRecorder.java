@@ -0,0 +1,111 @@
+package com.reliaquest.api.jfr;
+
+import com.reliaquest.common.id.UuidKey;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Emits an {@link UpstreamCallEvent} per exchange. The event is committed when the response is closed, which
+ * {@code RestTemplate} does once the body has been read, so it covers the transfer and counts the bytes actually read.
+ * Unless a recording has the event enabled, the exchange passes through untouched.
+ */
+public class UpstreamCallRecorder implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        final var event = new UpstreamCallEvent();
+        if (!event.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        event.begin();
+        event.method = request.getMethod().name();
+        event.urlTemplate = template(request.getURI().getPath());
+        try {
+            final var response = execution.execute(request, body);
+            event.status = response.getStatusCode().value();
+            return new RecordedResponse(response, event);
+        } catch (IOException | RuntimeException e) {
+            event.commit();
+            throw e;
+        }
+    }
+
+    static String template(String path) {
+        final var slash = path.lastIndexOf('/');
+        if (slash < 0 || UuidKey.tryParse(path.substring(slash + 1)) == null) {
+            return path;
+        }
+        return path.substring(0, slash + 1) + "{id}";
+    }
+
+    private static final class RecordedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final UpstreamCallEvent event;
+        private InputStream body;
+        private boolean closed;
+
+        RecordedResponse(ClientHttpResponse delegate, UpstreamCallEvent event) {
+            this.delegate = delegate;
+            this.event = event;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        final var b = super.read();
+                        if (b >= 0) {
+                            event.bytes++;
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        final var n = super.read(buffer, offset, length);
+                        if (n > 0) {
+                            event.bytes += n;
+                        }
+                        return n;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+            if (!closed) {
+                closed = true;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.api.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logback's {@link AsyncAppender}, counting the events it does not write: those below WARN, discarded while the queue
+ * has less than a fifth of its capacity left, and any event that finds the queue full with {@code neverBlock} set,
+ * which logback drops silently. Configured as {@value #NAME} in {@code logback-spring.xml}.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    public static final String NAME = "ASYNC";
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @return the appender of the running configuration, or null when logging is configured differently
+     */
+    public static CountingAsyncAppender find() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context
+                && context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(NAME)
+                        instanceof CountingAsyncAppender appender) {
+            return appender;
+        }
+        return null;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Approximate: the queue may drain between this check and the offer.
+        if (isNeverBlock() && getRemainingCapacity() == 0 && !super.isDiscardable(event)) {
+            dropped.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        final var discardable = super.isDiscardable(event);
+        if (discardable) {
+            discarded.increment();
+        }
+        return discardable;
+    }
+
+    public LoggingStats stats() {
+        return new LoggingStats(
+                getQueueSize(), getNumberOfElementsInQueue(), isNeverBlock(), discarded.sum(), dropped.sum());
+    }
+
+    public record LoggingStats(int queueSize, int queued, boolean neverBlock, long discarded, long dropped) {}
+}
@@ -1,5 +1,16 @@
 package com.reliaquest.api.model;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,6 +19,8 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonSerialize(using = Employee.Serializer.class)
+@JsonDeserialize(using = Employee.Deserializer.class)
 public class Employee {
     private UUID id;
     private String employee_name;
@@ -15,4 +28,100 @@ public class Employee {
     private int employee_age;
     private String employee_title;
     private String employee_email;
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("employee_name");
+    private static final SerializedString SALARY = new SerializedString("employee_salary");
+    private static final SerializedString AGE = new SerializedString("employee_age");
+    private static final SerializedString TITLE = new SerializedString("employee_title");
+    private static final SerializedString EMAIL = new SerializedString("employee_email");
+
+    /**
+     * Writes the same document bean serialization would, in declaration order, without introspection or per-property
+     * writers; roster-wide responses serialize every employee.
+     */
+    static class Serializer extends StdSerializer<Employee> {
+
+        Serializer() {
+            super(Employee.class);
+        }
+
+        @Override
+        public void serialize(Employee employee, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(employee);
+            gen.writeFieldName(ID);
+            if (employee.id == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(employee.id.toString());
+            }
+            gen.writeFieldName(NAME);
+            gen.writeString(employee.employee_name);
+            gen.writeFieldName(SALARY);
+            gen.writeNumber(employee.employee_salary);
+            gen.writeFieldName(AGE);
+            gen.writeNumber(employee.employee_age);
+            gen.writeFieldName(TITLE);
+            gen.writeString(employee.employee_title);
+            gen.writeFieldName(EMAIL);
+            gen.writeString(employee.employee_email);
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Reads fields by name switch. Coercion of numbers and strings and the handling of unknown properties follow the
+     * mapper's configuration, as bean deserialization would.
+     */
+    static class Deserializer extends StdDeserializer<Employee> {
+
+        Deserializer() {
+            super(Employee.class);
+        }
+
+        @Override
+        public Employee deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            var token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            } else if (token != JsonToken.FIELD_NAME) {
+                return (Employee) ctxt.handleUnexpectedToken(Employee.class, p);
+            }
+
+            final var employee = new Employee();
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                final var field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "id" -> employee.id = parseUuid(p, ctxt);
+                    case "employee_name" -> employee.employee_name = parseString(p, ctxt);
+                    case "employee_salary" -> employee.employee_salary = _parseIntPrimitive(p, ctxt);
+                    case "employee_age" -> employee.employee_age = _parseIntPrimitive(p, ctxt);
+                    case "employee_title" -> employee.employee_title = parseString(p, ctxt);
+                    case "employee_email" -> employee.employee_email = parseString(p, ctxt);
+                    default -> ctxt.handleUnknownProperty(p, this, employee, field);
+                }
+            }
+            return employee;
+        }
+
+        private String parseString(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return p.currentToken() == JsonToken.VALUE_NULL ? null : _parseString(p, ctxt, this);
+        }
+
+        private static UUID parseUuid(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (p.currentToken() != JsonToken.VALUE_STRING) {
+                return (UUID) ctxt.handleUnexpectedToken(UUID.class, p);
+            }
+            final var text = p.getText();
+            try {
+                return UUID.fromString(text);
+            } catch (IllegalArgumentException e) {
+                return (UUID) ctxt.handleWeirdStringValue(UUID.class, text, "not a valid UUID");
+            }
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package com.reliaquest.api.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Words under Levenshtein distance as a BK-tree: every child hangs off its parent at its distance from the parent's
+ * word, so by the triangle inequality a search for words within {@code k} of a query only descends into the children at
+ * {@code d - k} to {@code d + k}, {@code d} being the query's distance from the node. Words cannot be removed. Not
+ * thread-safe.
+ */
+final class BkTree {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private Node root;
+    private int size;
+
+    /**
+     * @return whether the word was not in the tree yet
+     */
+    boolean add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return true;
+        }
+        var node = root;
+        while (true) {
+            final var distance = distance(word, node.word, Integer.MAX_VALUE);
+            if (distance == 0) {
+                return false;
+            }
+            if (distance >= node.children.length) {
+                node.children = Arrays.copyOf(node.children, distance + 1);
+            }
+            if (node.children[distance] == null) {
+                node.children[distance] = new Node(word);
+                size++;
+                return true;
+            }
+            node = node.children[distance];
+        }
+    }
+
+    /**
+     * Calls {@code consumer} with every word within {@code maxDistance} of {@code query} and its distance.
+     */
+    void search(String query, int maxDistance, ObjIntConsumer<String> consumer) {
+        if (root == null) {
+            return;
+        }
+        final var pending = new ArrayDeque<Node>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            final var node = pending.pop();
+            // Beyond the last child's distance plus maxDistance, neither the node nor any child can match.
+            final var distance = distance(query, node.word, Math.max(0, node.children.length - 1) + maxDistance);
+            if (distance <= maxDistance) {
+                consumer.accept(node.word, distance);
+            }
+            final var to = Math.min(node.children.length - 1, distance + maxDistance);
+            for (int i = Math.max(1, distance - maxDistance); i <= to; i++) {
+                if (node.children[i] != null) {
+                    pending.push(node.children[i]);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Levenshtein distance of {@code a} and {@code b}, or some value above {@code max} once it is certain to exceed it.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        var previous = new int[b.length() + 1];
+        var current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            var rowMin = i;
+            final var ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                final var substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            final var swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static final class Node {
+
+        final String word;
+        Node[] children = NO_CHILDREN;
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+}
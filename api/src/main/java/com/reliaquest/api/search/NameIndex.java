@@ -0,0 +1,345 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.RosterChangedEvent;
+import com.reliaquest.common.id.UuidIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Employee names indexed for ranked prefix autocomplete and typo-tolerant search, maintained incrementally. Employees
+ * are tracked by id, so replaying a create or delete that is already reflected is a no-op. Not thread-safe.
+ *
+ * <p>Names are folded to lower case words separated by single spaces. Autocomplete matches a prefix against the whole
+ * name and against the rest of the name from each later word, so {@code "jo"} finds both John Smith and Bob Jones.
+ * Matches at the start of the name rank first, then shorter names, then alphabetically. The keys are held in sorted
+ * sets, one per rank tier (start of name or later word, and name length), so the best matches are the first keys of a
+ * prefix range in each tier: a query costs one range lookup per tier plus the keys it returns, whatever the roster
+ * size.
+ *
+ * <p>Fuzzy search matches every word of the query against the distinct words of all names, held in a {@link BkTree},
+ * and returns the names that have a match for each query word, closest first. Words of deleted names stay in the tree
+ * and are skipped while no name uses them.
+ */
+public class NameIndex {
+
+    public static final int MAX_EDITS = 2;
+
+    private static final int MAX_RANKED_LENGTH = 64;
+    private static final char KEY_SEPARATOR = '\0';
+    private static final Comparator<Name> RANK =
+            Comparator.comparingInt((Name name) -> name.folded.length()).thenComparing(name -> name.folded);
+
+    private final UuidIndex<Employee> employees = new UuidIndex<>();
+    private final Map<String, Name> names = new HashMap<>();
+    private final Map<String, Set<Name>> namesByWord = new HashMap<>();
+    private final BkTree words = new BkTree();
+
+    /*
+     * Index tier * (MAX_RANKED_LENGTH + 1) + name length. Tier 0 holds folded names, tier 1 the rest of each name from
+     * its later words, as "<rest>\0<folded name>".
+     */
+    @SuppressWarnings("unchecked")
+    private final TreeSet<String>[] keys = (TreeSet<String>[]) new TreeSet<?>[2 * (MAX_RANKED_LENGTH + 1)];
+
+    public static NameIndex of(Collection<Employee> roster) {
+        final var index = new NameIndex();
+        roster.forEach(index::add);
+        return index;
+    }
+
+    public void apply(RosterChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> add(event.employee());
+            case DELETED -> remove(event.employee());
+        }
+    }
+
+    /**
+     * Employees without an id or without a single letter or digit in their name are ignored.
+     */
+    public void add(Employee employee) {
+        final var id = employee.getId();
+        final var folded = employee.getEmployee_name() == null ? "" : fold(employee.getEmployee_name());
+        if (id == null
+                || folded.isEmpty()
+                || employees.putIfAbsent(id.getMostSignificantBits(), id.getLeastSignificantBits(), employee) != null) {
+            return;
+        }
+        names.computeIfAbsent(folded, this::index).employees.put(id, employee);
+    }
+
+    public void remove(Employee employee) {
+        // Use what was recorded on add; the caller's copy may carry a different name.
+        final var id = employee.getId();
+        final var recorded =
+                id == null ? null : employees.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (recorded == null) {
+            return;
+        }
+        final var name = names.get(fold(recorded.getEmployee_name()));
+        name.employees.remove(id);
+        if (name.employees.isEmpty()) {
+            unindex(name);
+        }
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * Employees whose name, or the rest of it from any word on, starts with {@code prefix}, ignoring case and
+     * punctuation; best ranked names first, employees of the same name in the order they were added.
+     */
+    public List<Employee> autocomplete(String prefix, int limit) {
+        final var folded = fold(prefix);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        // A trailing separator ends the last word: "ann " finds Ann Lee but not Anna Lee.
+        final var from = isWordCharacter(prefix.codePointBefore(prefix.length())) ? folded : folded + ' ';
+        final var to = from + Character.MAX_VALUE;
+        final List<Employee> result = new ArrayList<>(limit);
+        final Set<Name> seen = new HashSet<>();
+        for (int tier = 0; tier < 2; tier++) {
+            for (int length = Math.min(from.length(), MAX_RANKED_LENGTH); length <= MAX_RANKED_LENGTH; length++) {
+                final var set = keys[tier * (MAX_RANKED_LENGTH + 1) + length];
+                if (set == null) {
+                    continue;
+                }
+                for (String key : set.subSet(from, true, to, false)) {
+                    final var name = names.get(key.substring(key.indexOf(KEY_SEPARATOR) + 1));
+                    if (seen.add(name) && collect(name, result, limit)) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Employees with a name word within {@code maxEdits} (Levenshtein) of each word of {@code query}, ignoring case and
+     * punctuation; the smallest total distance first, then in autocomplete rank. A null {@code maxEdits} allows 0
+     * edits for words of up to 2 characters, 1 for up to 5 and {@value #MAX_EDITS} beyond.
+     */
+    public List<Employee> fuzzy(String query, Integer maxEdits, int limit) {
+        final var queryWords = fold(query).split(" ");
+        if (queryWords[0].isEmpty()) {
+            return List.of();
+        }
+        final List<Map<String, Integer>> matches = new ArrayList<>(queryWords.length);
+        for (String queryWord : queryWords) {
+            final Map<String, Integer> distances = new HashMap<>();
+            words.search(queryWord, maxEdits == null ? autoEdits(queryWord) : maxEdits, (word, distance) -> {
+                if (namesByWord.containsKey(word)) {
+                    distances.put(word, distance);
+                }
+            });
+            if (distances.isEmpty()) {
+                return List.of();
+            }
+            matches.add(distances);
+        }
+        final List<Employee> result = new ArrayList<>(limit);
+        if (matches.size() == 1) {
+            mergeClosest(matches.get(0), result, limit);
+        } else {
+            scanCandidates(matches, result, limit);
+        }
+        return result;
+    }
+
+    /*
+     * One query word: the names of every matching word are already in rank order, so merging them by (distance, rank)
+     * stops after the first names that fill the limit.
+     */
+    private void mergeClosest(Map<String, Integer> distances, List<Employee> result, int limit) {
+        final var cursors = new PriorityQueue<Cursor>(Comparator.comparingInt((Cursor cursor) -> cursor.distance)
+                .thenComparing(cursor -> cursor.current, RANK));
+        distances.forEach((word, distance) -> {
+            final var iterator = namesByWord.get(word).iterator();
+            cursors.add(new Cursor(distance, iterator, iterator.next()));
+        });
+        final Set<Name> seen = new HashSet<>();
+        while (!cursors.isEmpty()) {
+            final var cursor = cursors.poll();
+            if (seen.add(cursor.current) && collect(cursor.current, result, limit)) {
+                return;
+            }
+            if (cursor.names.hasNext()) {
+                cursor.current = cursor.names.next();
+                cursors.add(cursor);
+            }
+        }
+    }
+
+    /*
+     * Several query words: the names of the query word with the fewest candidates are checked against the others.
+     */
+    private void scanCandidates(List<Map<String, Integer>> matches, List<Employee> result, int limit) {
+        Map<String, Integer> narrowest = null;
+        var narrowestCount = Long.MAX_VALUE;
+        for (Map<String, Integer> distances : matches) {
+            final var count = distances.keySet().stream()
+                    .mapToLong(word -> namesByWord.get(word).size())
+                    .sum();
+            if (count < narrowestCount) {
+                narrowest = distances;
+                narrowestCount = count;
+            }
+        }
+        final Map<Name, Integer> scores = new HashMap<>();
+        for (String word : narrowest.keySet()) {
+            for (Name name : namesByWord.get(word)) {
+                scores.computeIfAbsent(name, candidate -> score(candidate, matches));
+            }
+        }
+        final var ranked = scores.entrySet().stream()
+                .filter(entry -> entry.getValue() >= 0)
+                .sorted(Map.Entry.<Name, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey(RANK)))
+                .toList();
+        for (Map.Entry<Name, Integer> entry : ranked) {
+            if (collect(entry.getKey(), result, limit)) {
+                return;
+            }
+        }
+    }
+
+    // Total distance of the closest word of the name for each query word, or -1 if one has none.
+    private static int score(Name name, List<Map<String, Integer>> matches) {
+        var total = 0;
+        for (Map<String, Integer> distances : matches) {
+            var best = -1;
+            for (String word : name.words) {
+                final var distance = distances.get(word);
+                if (distance != null && (best < 0 || distance < best)) {
+                    best = distance;
+                }
+            }
+            if (best < 0) {
+                return -1;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    // Adds the name's employees; returns whether the limit is reached.
+    private static boolean collect(Name name, List<Employee> result, int limit) {
+        for (Employee employee : name.employees.values()) {
+            if (result.size() >= limit) {
+                return true;
+            }
+            result.add(employee);
+        }
+        return result.size() >= limit;
+    }
+
+    private Name index(String folded) {
+        final var name = new Name(folded);
+        final var length = Math.min(folded.length(), MAX_RANKED_LENGTH);
+        keysOf(0, length).add(folded);
+        for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+            keysOf(1, length).add(folded.substring(i + 1) + KEY_SEPARATOR + folded);
+        }
+        for (String word : name.words) {
+            words.add(word);
+            namesByWord.computeIfAbsent(word, ignored -> new TreeSet<>(RANK)).add(name);
+        }
+        return name;
+    }
+
+    private void unindex(Name name) {
+        final var folded = name.folded;
+        names.remove(folded);
+        final var length = Math.min(folded.length(), MAX_RANKED_LENGTH);
+        keysOf(0, length).remove(folded);
+        for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+            keysOf(1, length).remove(folded.substring(i + 1) + KEY_SEPARATOR + folded);
+        }
+        for (String word : name.words) {
+            final var wordNames = namesByWord.get(word);
+            wordNames.remove(name);
+            if (wordNames.isEmpty()) {
+                namesByWord.remove(word);
+            }
+        }
+    }
+
+    private TreeSet<String> keysOf(int tier, int length) {
+        final var slot = tier * (MAX_RANKED_LENGTH + 1) + length;
+        if (keys[slot] == null) {
+            keys[slot] = new TreeSet<>();
+        }
+        return keys[slot];
+    }
+
+    private static int autoEdits(String word) {
+        return word.length() <= 2 ? 0 : word.length() <= 5 ? 1 : MAX_EDITS;
+    }
+
+    /**
+     * Lower case words of letters, digits and apostrophes, separated by single spaces.
+     */
+    static String fold(String text) {
+        final var folded = new StringBuilder(text.length());
+        var separated = false;
+        for (int i = 0; i < text.length(); ) {
+            final var codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isWordCharacter(codePoint)) {
+                if (separated && !folded.isEmpty()) {
+                    folded.append(' ');
+                }
+                separated = false;
+                folded.appendCodePoint(Character.toLowerCase(codePoint));
+            } else {
+                separated = true;
+            }
+        }
+        return folded.toString();
+    }
+
+    private static boolean isWordCharacter(int codePoint) {
+        return Character.isLetterOrDigit(codePoint) || codePoint == '\'';
+    }
+
+    private static final class Name {
+
+        final String folded;
+        final List<String> words;
+        final Map<UUID, Employee> employees = new LinkedHashMap<>();
+
+        Name(String folded) {
+            this.folded = folded;
+            this.words = Arrays.stream(folded.split(" ")).distinct().toList();
+        }
+    }
+
+    private static final class Cursor {
+
+        final int distance;
+        final Iterator<Name> names;
+        Name current;
+
+        Cursor(int distance, Iterator<Name> names, Name current) {
+            this.distance = distance;
+            this.names = names;
+            this.current = current;
+        }
+    }
+}
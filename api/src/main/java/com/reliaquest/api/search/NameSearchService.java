@@ -0,0 +1,130 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.exception.ErrorLogSampler;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.RosterChangedEvent;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves name autocomplete and fuzzy search from a {@link NameIndex}. Like the salary analytics, the index is built
+ * from the upstream roster on first use, kept current by this api's own creates and deletes, and rebuilt every
+ * {@code api.name-search.refresh-ms}; queries keep using the current index while it is rebuilt.
+ */
+@Slf4j
+@Service
+public class NameSearchService {
+
+    private static final long RETRY_AFTER_FAILURE_NANOS = Duration.ofSeconds(5).toNanos();
+    private static final ErrorLogSampler REFRESH_FAILURE_LOG = new ErrorLogSampler(log, Duration.ofSeconds(10), 1);
+
+    private final EmployeeService employeeService;
+    private final long refreshNanos;
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock.
+    private NameIndex index = new NameIndex();
+    private List<RosterChangedEvent> eventsDuringLoad;
+
+    private volatile boolean loaded;
+    private volatile long nextRefreshNanos;
+
+    public NameSearchService(
+            EmployeeService employeeService, @Value("${api.name-search.refresh-ms:60000}") long refreshMillis) {
+        this.employeeService = employeeService;
+        this.refreshNanos = Duration.ofMillis(refreshMillis).toNanos();
+    }
+
+    public List<Employee> autocomplete(String prefix, int limit) {
+        return query(index -> index.autocomplete(prefix, limit));
+    }
+
+    public List<Employee> fuzzy(String name, Integer maxEdits, int limit) {
+        return query(index -> index.fuzzy(name, maxEdits, limit));
+    }
+
+    @EventListener
+    public void onRosterChanged(RosterChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.apply(event);
+            if (eventsDuringLoad != null) {
+                eventsDuringLoad.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T query(Function<NameIndex, T> query) {
+        if (!loaded || System.nanoTime() - nextRefreshNanos >= 0) {
+            load();
+        }
+        lock.readLock().lock();
+        try {
+            return query.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * The roster is fetched and indexed outside the lock. Events published meanwhile are applied to the current index
+     * and replayed onto the new one; replay is idempotent per id, so it does not matter whether the fetched roster
+     * already reflects them. Once loaded, only one caller rebuilds and the others query the current index.
+     */
+    private void load() {
+        if (!loaded) {
+            loadLock.lock();
+        } else if (!loadLock.tryLock()) {
+            return;
+        }
+        try {
+            if (loaded && System.nanoTime() - nextRefreshNanos < 0) {
+                return;
+            }
+            withWriteLock(() -> eventsDuringLoad = new ArrayList<>());
+            final NameIndex fetched;
+            try {
+                fetched = NameIndex.of(employeeService.getAllEmployees());
+            } catch (EmployeeServiceException e) {
+                withWriteLock(() -> eventsDuringLoad = null);
+                if (!loaded) {
+                    throw e;
+                }
+                REFRESH_FAILURE_LOG.warn("Serving a stale name index, refresh failed", e);
+                nextRefreshNanos = System.nanoTime() + Math.min(refreshNanos, RETRY_AFTER_FAILURE_NANOS);
+                return;
+            }
+            withWriteLock(() -> {
+                eventsDuringLoad.forEach(fetched::apply);
+                eventsDuringLoad = null;
+                index = fetched;
+            });
+            nextRefreshNanos = System.nanoTime() + refreshNanos;
+            loaded = true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -1,20 +1,40 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeIdCache;
+import com.reliaquest.api.cache.RosterCache;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.exception.ErrorLogSampler;
+import com.reliaquest.api.exception.InvalidEmployeeIdException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.jfr.AggregationEvent;
+import com.reliaquest.api.jfr.JsonParseEvent;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.upstream.HedgedRequests;
+import com.reliaquest.api.upstream.Shards;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import com.reliaquest.api.write.WriteBehindQueue;
+import com.reliaquest.common.id.UuidKey;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @Service
 @RequiredArgsConstructor
@@ -23,64 +43,175 @@ public class EmployeeService {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final HedgedRequests hedgedRequests;
+    private final Shards shards;
+    private final UpstreamScheduler upstreamScheduler;
+    private final RosterScanner rosterScanner;
+    private final RosterCache rosterCache;
+    private final EmployeeIdCache idCache;
+    private final WriteBehindQueue writeBehind;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${api.base.url}")
     private String SERVER_BASE_URL;
 
     private static final String EMPLOYEE_API = "/api/v1/employee";
+    private static final ErrorLogSampler UPSTREAM_FAILURE_LOG = new ErrorLogSampler(log, Duration.ofSeconds(1), 5);
+    private static final ErrorLogSampler UNEXPECTED_FAILURE_LOG = new ErrorLogSampler(log, Duration.ofSeconds(1), 5);
 
-    public List<Employee> getAllEmployees() {
-        try {
-            ResponseEntity<JsonNode> response =
-                    restTemplate.getForEntity(SERVER_BASE_URL + EMPLOYEE_API, JsonNode.class);
-            return parseEmployeeList(response.getBody());
-        } catch (Exception e) {
-            log.error("Failed to fetch all employees", e);
-            throw new EmployeeServiceException("Unable to fetch employees", e);
+    // Built once in registerUpstream, after the base URL has been injected.
+    private Endpoints endpoints;
+    private List<Endpoints> shardEndpoints;
+
+    @PostConstruct
+    void registerUpstream() {
+        endpoints = Endpoints.of(SERVER_BASE_URL);
+        shardEndpoints = IntStream.range(0, shards.count())
+                .mapToObj(shard -> Endpoints.of(shards.baseUrl(shard)))
+                .toList();
+        rosterCache.setSource(this::fetchRosterFromUpstream);
+        writeBehind.setUpstream(new WriteBehindQueue.Upstream() {
+            @Override
+            public Employee create(EmployeeInput input) {
+                return createUpstream(input);
+            }
+
+            @Override
+            public void delete(Employee employee) {
+                deleteUpstream(employee);
+            }
+        });
+        if (upstreamScheduler.isEnabled()) {
+            rosterCache.enableRefreshAhead(upstreamScheduler);
+            idCache.enableRefreshAhead(upstreamScheduler, this::fetchEmployeeFromUpstream);
         }
     }
 
+    /**
+     * Whether creates and deletes are acknowledged before the upstream has them; see {@link WriteBehindQueue}.
+     */
+    public boolean isWriteBehind() {
+        return writeBehind.isEnabled();
+    }
+
+    public List<Employee> getAllEmployees() {
+        return Collections.unmodifiableList(Arrays.asList(fetchRoster()));
+    }
+
     public Employee getEmployeeById(String id) {
+        return getEmployeeById(parseId(id));
+    }
+
+    /**
+     * @throws EmployeeNotFoundException if upstream has no employee with this id
+     */
+    public Employee getEmployeeById(UuidKey id) {
+        if (writeBehind.isEnabled()) {
+            final var uuid = id.toUuid();
+            if (writeBehind.isPendingDelete(uuid)) {
+                throw new EmployeeNotFoundException("Employee not found with ID: " + id);
+            }
+            final var pending = writeBehind.findPendingCreate(uuid);
+            if (pending != null) {
+                return pending;
+            }
+            final var resolved = writeBehind.resolveId(uuid);
+            if (!resolved.equals(uuid)) {
+                return getEmployeeById(UuidKey.of(resolved));
+            }
+        }
+        final var cached = idCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        final var ticket = idCache.ticket();
+        final var employee = fetchEmployeeFromUpstream(id);
+        idCache.put(id, employee, ticket);
+        return employee;
+    }
+
+    private Employee fetchEmployeeFromUpstream(UuidKey id) {
+        upstreamScheduler.acquire();
         try {
-            ResponseEntity<JsonNode> response =
-                    restTemplate.getForEntity(SERVER_BASE_URL + EMPLOYEE_API + "/" + id, JsonNode.class);
+            final var url = endpoints(id).employeeById();
+            final var uuid = id.toString();
+            ResponseEntity<JsonNode> response = hedgedRequests.execute(
+                    "getEmployeeById", () -> restTemplate.getForEntity(url, JsonNode.class, uuid));
 
             JsonNode body = response.getBody();
             if (body == null || !body.has("data")) {
                 throw new EmployeeServiceException("Missing 'data' in response", null);
             }
 
-            return objectMapper.treeToValue(body.get("data"), Employee.class);
+            return parse(body.get("data"), Employee.class);
         } catch (HttpClientErrorException.NotFound e) {
             throw new EmployeeNotFoundException("Employee not found with ID: " + id);
         } catch (Exception e) {
-            log.error("Error fetching employee by ID {}", id, e);
-            throw new EmployeeServiceException("Unable to fetch employee", e);
+            throw failure("Unable to fetch employee", "Error fetching employee by ID {}", id, e);
         }
     }
 
     public List<Employee> getEmployeesByNameSearch(String nameFragment) {
-        return getAllEmployees().stream()
-                .filter(e -> e.getEmployee_name().toLowerCase().contains(nameFragment.toLowerCase()))
-                .collect(Collectors.toList());
+        if (isPushedDown()) {
+            return Arrays.asList(scatterEmployees("searchEmployees", "/search/{fragment}", nameFragment));
+        }
+        final var fragment = nameFragment.toLowerCase();
+        final var roster = fetchRoster();
+        final var event = new AggregationEvent();
+        event.begin();
+        final var matches = rosterScanner.filter(
+                roster,
+                e -> e.getEmployee_name() != null
+                        && e.getEmployee_name().toLowerCase().contains(fragment));
+        commit(event, "search", roster, matches.size());
+        return matches;
     }
 
     public int getHighestSalary() {
-        return getAllEmployees().stream()
-                .mapToInt(Employee::getEmployee_salary)
-                .max()
-                .orElseThrow(() -> new EmployeeServiceException("No employees found", null));
+        final var roster = isPushedDown() ? scatterEmployees("topEarners", "/top?limit=1") : fetchRoster();
+        final var event = new AggregationEvent();
+        event.begin();
+        final var highest = rosterScanner.maxSalary(roster);
+        commit(event, "highestSalary", roster, highest.isPresent() ? 1 : 0);
+        return highest.orElseThrow(() -> new EmployeeServiceException("No employees found", null));
     }
 
     public List<String> getTopTenHighestEarnerNames() {
-        return getAllEmployees().stream()
-                .sorted(Comparator.comparingInt(Employee::getEmployee_salary).reversed())
-                .limit(10)
-                .map(Employee::getEmployee_name)
-                .collect(Collectors.toList());
+        // Each shard's ten highest in shard order, ranked again the way the whole roster would be.
+        final var roster = isPushedDown() ? scatterEmployees("topEarners", "/top?limit=10") : fetchRoster();
+        final var event = new AggregationEvent();
+        event.begin();
+        final var top = rosterScanner.topBySalary(roster, 10);
+        commit(event, "topTenHighestEarners", roster, top.size());
+        return top.stream().map(Employee::getEmployee_name).collect(Collectors.toList());
     }
 
     public Employee createEmployee(EmployeeInput input) {
+        if (writeBehind.isEnabled()) {
+            return writeBehind.create(input);
+        }
+        Employee created = createUpstream(input);
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.Type.CREATED, created));
+        return created;
+    }
+
+    public String deleteEmployee(String id) {
+        return deleteEmployee(parseId(id));
+    }
+
+    public String deleteEmployee(UuidKey id) {
+        Employee employee = getEmployeeById(id);
+        if (writeBehind.isEnabled()) {
+            writeBehind.delete(employee);
+        } else {
+            deleteUpstream(employee);
+            eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.Type.DELETED, employee));
+        }
+        return employee.getEmployee_name();
+    }
+
+    private Employee createUpstream(EmployeeInput input) {
+        upstreamScheduler.acquire();
         try {
             Map<String, Object> request = new HashMap<>();
             request.put("name", input.getName());
@@ -92,25 +223,23 @@ public class EmployeeService {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(request, headers);
 
-            ResponseEntity<JsonNode> response =
-                    restTemplate.postForEntity(SERVER_BASE_URL + EMPLOYEE_API, entity, JsonNode.class);
+            final var url = (shards.isSharded() ? shardEndpoints.get(shards.nextShard()) : endpoints).employees();
+            ResponseEntity<JsonNode> response = restTemplate.postForEntity(url, entity, JsonNode.class);
 
             JsonNode body = response.getBody();
             if (body == null || !body.has("data")) {
                 throw new EmployeeServiceException("Missing 'data' in response", null);
             }
 
-            return objectMapper.treeToValue(body.get("data"), Employee.class);
+            return parse(body.get("data"), Employee.class);
         } catch (Exception e) {
-            log.error("Error creating employee", e);
-            throw new EmployeeServiceException("Unable to create employee", e);
+            throw failure("Unable to create employee", "Error creating employee", e);
         }
     }
 
-    public String deleteEmployee(String id) {
+    private void deleteUpstream(Employee employee) {
+        upstreamScheduler.acquire();
         try {
-            Employee employee = getEmployeeById(id);
-
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
 
@@ -119,33 +248,151 @@ public class EmployeeService {
 
             HttpEntity<Map<String, String>> request = new HttpEntity<>(requestBody, headers);
 
-            ResponseEntity<JsonNode> response =
-                    restTemplate.exchange(SERVER_BASE_URL + EMPLOYEE_API, HttpMethod.DELETE, request, JsonNode.class);
+            final var url = endpoints(UuidKey.of(employee.getId())).employees();
+            ResponseEntity<JsonNode> response = restTemplate.exchange(url, HttpMethod.DELETE, request, JsonNode.class);
 
             if (!response.getStatusCode().is2xxSuccessful()) {
                 throw new EmployeeServiceException("Failed to delete employee", null);
             }
+        } catch (Exception e) {
+            throw failure("Unable to delete employee", "Error deleting employee with ID {}", employee.getId(), e);
+        }
+    }
 
-            return employee.getEmployee_name();
-        } catch (EmployeeNotFoundException e) {
-            throw e;
+    // Malformed ids are rejected here so they never cost an upstream call.
+    private static UuidKey parseId(String id) {
+        final var key = UuidKey.tryParse(id);
+        if (key == null) {
+            throw new InvalidEmployeeIdException(id);
+        }
+        return key;
+    }
+
+    // The server that holds the employee with this id.
+    private Endpoints endpoints(UuidKey id) {
+        return shards.isSharded() ? shardEndpoints.get(shards.shardOf(id)) : endpoints;
+    }
+
+    /*
+     * Rate limiting, 5xx and I/O failures are routine for this upstream; they are logged without a stack trace, at a
+     * sampled rate, and surface as a stack-trace-free exception. Anything else is a bug worth the full trace.
+     */
+    private EmployeeServiceException failure(String message, String logMessage, Exception e) {
+        return failure(message, "{}", logMessage, e);
+    }
+
+    // The log line is only formatted if the sampler lets it through; failures come in bursts while the upstream is
+    // down.
+    private EmployeeServiceException failure(String message, String logFormat, Object logArgument, Exception e) {
+        if (isExpectedUpstreamFailure(e)) {
+            UPSTREAM_FAILURE_LOG.warn(logFormat, logArgument, e);
+            return new UpstreamUnavailableException(message, e);
+        }
+        UNEXPECTED_FAILURE_LOG.error(logFormat, logArgument, e);
+        return new EmployeeServiceException(message, e);
+    }
+
+    private static boolean isExpectedUpstreamFailure(Exception e) {
+        if (e instanceof RestClientResponseException responseException) {
+            return responseException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || responseException.getStatusCode().is5xxServerError();
+        }
+        return e instanceof ResourceAccessException || e instanceof UpstreamUnavailableException;
+    }
+
+    // A cached roster is shared between requests and must not be modified.
+    private Employee[] fetchRoster() {
+        final var roster = rosterCache.isEnabled() ? rosterCache.get() : fetchRosterFromUpstream();
+        return writeBehind.applyTo(roster);
+    }
+
+    private Employee[] fetchRosterFromUpstream() {
+        if (shards.isSharded()) {
+            return scatterEmployees("getAllEmployees", "");
+        }
+        upstreamScheduler.acquire();
+        try {
+            return getEmployees("getAllEmployees", endpoints.employees());
+        } catch (Exception e) {
+            throw failure("Unable to fetch employees", "Failed to fetch all employees", e);
+        }
+    }
+
+    /*
+     * Search and the salary rankings can be answered by each shard for its own employees, but a roster snapshot or
+     * pending writes would not be reflected in those answers; then they are computed from the merged roster instead.
+     */
+    private boolean isPushedDown() {
+        return shards.isSharded() && !rosterCache.isEnabled() && !writeBehind.isEnabled();
+    }
+
+    // The employees every shard returns for the path, concatenated in shard order.
+    private Employee[] scatterEmployees(String operation, String path, Object... uriVariables) {
+        upstreamScheduler.acquire();
+        try {
+            final var answers = shards.scatter(
+                    shard -> getEmployees(operation, shardEndpoints.get(shard).employees() + path, uriVariables));
+            return answers.stream()
+                    .filter(Objects::nonNull)
+                    .flatMap(Arrays::stream)
+                    .toArray(Employee[]::new);
         } catch (Exception e) {
-            log.error("Error deleting employee with ID {}", id, e);
-            throw new EmployeeServiceException("Unable to delete employee", e);
+            throw failure("Unable to fetch employees", "Failed to fetch employees from shards for {}", operation, e);
         }
     }
 
-    private List<Employee> parseEmployeeList(JsonNode body) {
+    private Employee[] getEmployees(String operation, String url, Object... uriVariables) {
+        ResponseEntity<JsonNode> response =
+                hedgedRequests.execute(operation, () -> restTemplate.getForEntity(url, JsonNode.class, uriVariables));
+        return parseEmployeeList(response.getBody());
+    }
+
+    private Employee[] parseEmployeeList(JsonNode body) {
         try {
             if (body == null || !body.has("data")) {
                 throw new EmployeeServiceException("Missing 'data' field in response", null);
             }
             JsonNode dataNode = body.get("data");
-            Employee[] employees = objectMapper.treeToValue(dataNode, Employee[].class);
-            return Arrays.asList(employees);
+            return parse(dataNode, Employee[].class);
         } catch (Exception e) {
-            log.error("Failed to parse employee list", e);
+            UNEXPECTED_FAILURE_LOG.error("Failed to parse employee list", e);
             throw new EmployeeServiceException("Invalid response structure", e);
         }
     }
+
+    private <T> T parse(JsonNode data, Class<T> type) throws JsonProcessingException {
+        final var event = new JsonParseEvent();
+        event.begin();
+        final var parsed = objectMapper.treeToValue(data, type);
+        if (event.shouldCommit()) {
+            event.type = type.getSimpleName();
+            event.records = parsed instanceof Object[] array ? array.length : 1;
+            event.commit();
+        }
+        return parsed;
+    }
+
+    private static void commit(AggregationEvent event, String operation, Employee[] roster, int results) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.rosterSize = roster.length;
+            event.results = results;
+            event.commit();
+        }
+    }
+
+    /**
+     * The upstream URLs of one mock server, as URI templates; the by-id one takes the id as its only variable, so the
+     * id is expanded and encoded by the {@link RestTemplate} rather than pasted into the template.
+     */
+    private record Endpoints(String employees, String employeeById) {
+
+        static Endpoints of(String baseUrl) {
+            final var builder = UriComponentsBuilder.fromUriString(baseUrl).path(EMPLOYEE_API);
+            // Not encoded here: that would escape the {id} placeholder.
+            return new Endpoints(
+                    builder.build().toUriString(),
+                    builder.cloneBuilder().path("/{id}").build().toUriString());
+        }
+    }
 }
@@ -0,0 +1,20 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+
+/**
+ * Published by {@link EmployeeService} after the upstream confirmed a mutation of the roster, or on behalf of another
+ * api replica ({@code remote}) when running with a cluster roster cache. With write-behind, published when the
+ * mutation is accepted locally and again as the upstream confirms or rejects it.
+ */
+public record RosterChangedEvent(Type type, Employee employee, boolean remote) {
+
+    public RosterChangedEvent(Type type, Employee employee) {
+        this(type, employee, false);
+    }
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,243 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Roster-wide scans over an array-backed roster. Rosters below {@code api.roster-scan.parallel-threshold} are scanned
+ * in place on the calling thread; larger ones are split into segments on a dedicated fork-join pool, each producing a
+ * partial result (matches, a local maximum, a local top-K heap) that is combined on the way up. The pool is separate
+ * from the common pool so scans do not compete with parallel streams or request threads elsewhere.
+ */
+@Component
+public class RosterScanner {
+
+    private static final int MIN_SEGMENT = 1024;
+
+    // Highest salary first; among equal salaries the earlier position wins, as with a stable sort.
+    private static final Comparator<Ranked> RANKING =
+            Comparator.comparingInt(Ranked::salary).reversed().thenComparingInt(Ranked::index);
+
+    private final int parallelThreshold;
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    public RosterScanner(
+            @Value("${api.roster-scan.parallel-threshold:20000}") int parallelThreshold,
+            @Value("${api.roster-scan.parallelism:0}") int parallelism) {
+        this.parallelThreshold = parallelThreshold;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(
+                this.parallelism,
+                pool -> {
+                    final var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("roster-scan-" + thread.getPoolIndex());
+                    return thread;
+                },
+                null,
+                false);
+    }
+
+    public static RosterScanner sequential() {
+        return new RosterScanner(Integer.MAX_VALUE, 1);
+    }
+
+    /**
+     * Matching employees in roster order.
+     */
+    public List<Employee> filter(Employee[] roster, Predicate<Employee> predicate) {
+        if (!isParallel(roster)) {
+            return filter(roster, predicate, 0, roster.length);
+        }
+        return pool.invoke(new FilterTask(roster, predicate, 0, roster.length, segmentSize(roster)));
+    }
+
+    public OptionalInt maxSalary(Employee[] roster) {
+        if (roster.length == 0) {
+            return OptionalInt.empty();
+        }
+        if (!isParallel(roster)) {
+            return OptionalInt.of(maxSalary(roster, 0, roster.length));
+        }
+        return OptionalInt.of(pool.invoke(new MaxSalaryTask(roster, 0, roster.length, segmentSize(roster))));
+    }
+
+    /**
+     * The {@code k} highest earners, highest first, ties in roster order.
+     */
+    public List<Employee> topBySalary(Employee[] roster, int k) {
+        final Ranked[] top = !isParallel(roster)
+                ? topBySalary(roster, k, 0, roster.length)
+                : pool.invoke(new TopTask(roster, k, 0, roster.length, segmentSize(roster)));
+        final List<Employee> result = new ArrayList<>(top.length);
+        for (Ranked ranked : top) {
+            result.add(roster[ranked.index()]);
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private boolean isParallel(Employee[] roster) {
+        return parallelism > 1 && roster.length >= parallelThreshold;
+    }
+
+    private int segmentSize(Employee[] roster) {
+        // A few segments per worker leaves room for work stealing when segments finish unevenly.
+        return Math.max(MIN_SEGMENT, roster.length / (parallelism * 4));
+    }
+
+    private static List<Employee> filter(Employee[] roster, Predicate<Employee> predicate, int from, int to) {
+        final List<Employee> matches = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (predicate.test(roster[i])) {
+                matches.add(roster[i]);
+            }
+        }
+        return matches;
+    }
+
+    private static int maxSalary(Employee[] roster, int from, int to) {
+        int max = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, roster[i].getEmployee_salary());
+        }
+        return max;
+    }
+
+    private static Ranked[] topBySalary(Employee[] roster, int k, int from, int to) {
+        if (k <= 0) {
+            return new Ranked[0];
+        }
+        // Min-heap on the ranking: the head is the weakest of the current top K.
+        final var heap = new PriorityQueue<Ranked>(k + 1, RANKING.reversed());
+        for (int i = from; i < to; i++) {
+            final var salary = roster[i].getEmployee_salary();
+            if (heap.size() == k && salary <= heap.peek().salary()) {
+                continue;
+            }
+            heap.add(new Ranked(salary, i));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        final var top = heap.toArray(new Ranked[0]);
+        Arrays.sort(top, RANKING);
+        return top;
+    }
+
+    private static Ranked[] mergeTop(Ranked[] left, Ranked[] right, int k) {
+        final var merged = new Ranked[Math.min(k, left.length + right.length)];
+        int l = 0;
+        int r = 0;
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] = r == right.length || (l < left.length && RANKING.compare(left[l], right[r]) <= 0)
+                    ? left[l++]
+                    : right[r++];
+        }
+        return merged;
+    }
+
+    private record Ranked(int salary, int index) {}
+
+    private static final class FilterTask extends RecursiveTask<List<Employee>> {
+
+        private final Employee[] roster;
+        private final Predicate<Employee> predicate;
+        private final int from;
+        private final int to;
+        private final int segment;
+
+        FilterTask(Employee[] roster, Predicate<Employee> predicate, int from, int to, int segment) {
+            this.roster = roster;
+            this.predicate = predicate;
+            this.from = from;
+            this.to = to;
+            this.segment = segment;
+        }
+
+        @Override
+        protected List<Employee> compute() {
+            if (to - from <= segment) {
+                return filter(roster, predicate, from, to);
+            }
+            final var middle = (from + to) >>> 1;
+            final var left = new FilterTask(roster, predicate, from, middle, segment);
+            left.fork();
+            final var right = new FilterTask(roster, predicate, middle, to, segment).compute();
+            final var matches = left.join();
+            matches.addAll(right);
+            return matches;
+        }
+    }
+
+    private static final class MaxSalaryTask extends RecursiveTask<Integer> {
+
+        private final Employee[] roster;
+        private final int from;
+        private final int to;
+        private final int segment;
+
+        MaxSalaryTask(Employee[] roster, int from, int to, int segment) {
+            this.roster = roster;
+            this.from = from;
+            this.to = to;
+            this.segment = segment;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= segment) {
+                return maxSalary(roster, from, to);
+            }
+            final var middle = (from + to) >>> 1;
+            final var left = new MaxSalaryTask(roster, from, middle, segment);
+            left.fork();
+            final int right = new MaxSalaryTask(roster, middle, to, segment).compute();
+            return Math.max(left.join(), right);
+        }
+    }
+
+    private static final class TopTask extends RecursiveTask<Ranked[]> {
+
+        private final Employee[] roster;
+        private final int k;
+        private final int from;
+        private final int to;
+        private final int segment;
+
+        TopTask(Employee[] roster, int k, int from, int to, int segment) {
+            this.roster = roster;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+            this.segment = segment;
+        }
+
+        @Override
+        protected Ranked[] compute() {
+            if (to - from <= segment) {
+                return topBySalary(roster, k, from, to);
+            }
+            final var middle = (from + to) >>> 1;
+            final var left = new TopTask(roster, k, from, middle, segment);
+            left.fork();
+            final var right = new TopTask(roster, k, middle, to, segment).compute();
+            return mergeTop(left.join(), right, k);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.reliaquest.api.upstream;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Runs idempotent upstream reads with optional hedging: when the first attempt has not answered within the configured
+ * percentile of recent response times, a second identical attempt is started and whichever succeeds first wins. The
+ * other attempt is cancelled (interrupting its thread, which aborts the underlying HTTP exchange).
+ *
+ * <p>Hedges are paid for from a token bucket that every request tops up by {@link HedgingPolicy#budgetRatio()}, and
+ * hedging pauses entirely after the upstream starts rate limiting, so hedging alone can never trip the lockout.
+ *
+ * <p>Attempts run on at most {@link HedgingPolicy#maxThreads()} threads. When all of them are busy, a hedge is skipped
+ * and a primary attempt runs on the caller's thread, unhedged, so a slow upstream cannot pile up threads.
+ */
+@Slf4j
+@Component
+public class HedgedRequests {
+
+    private static final double MAX_BUDGET = 10;
+
+    private final HedgingPolicy policy;
+    private final ExecutorService executor;
+    private final Map<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetDenied = new LongAdder();
+    private final LongAdder saturated = new LongAdder();
+    private double budget;
+    private volatile long suspendedUntilNanos;
+
+    public HedgedRequests(HedgingPolicy policy) {
+        this.policy = policy;
+        this.suspendedUntilNanos = System.nanoTime();
+        if (policy.enabled()) {
+            final var threadFactory = new CustomizableThreadFactory("upstream-hedge-");
+            threadFactory.setDaemon(true);
+            this.executor = new ThreadPoolExecutor(
+                    0, policy.maxThreads(), 60, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    public <T> T execute(String operation, Supplier<T> call) {
+        if (!policy.enabled()) {
+            return call.get();
+        }
+
+        final var tracker = trackers.computeIfAbsent(operation, ignored -> new LatencyTracker(policy.percentile()));
+        final var completion = new ExecutorCompletionService<T>(executor);
+        final List<Future<T>> attempts = new ArrayList<>(2);
+        earnBudget();
+        try {
+            try {
+                attempts.add(completion.submit(() -> timed(call, tracker)));
+            } catch (RejectedExecutionException e) {
+                saturated.increment();
+                return timed(call, tracker);
+            }
+            final var delay = hedgeDelayNanos(tracker);
+            var done = delay < 0 ? completion.take() : completion.poll(delay, TimeUnit.NANOSECONDS);
+            if (done == null && tryHedge()) {
+                try {
+                    attempts.add(completion.submit(() -> timed(call, tracker)));
+                    log.debug("Hedging {} after {} ms", operation, TimeUnit.NANOSECONDS.toMillis(delay));
+                } catch (RejectedExecutionException e) {
+                    refundHedge();
+                }
+            }
+
+            RuntimeException failure = null;
+            for (int pending = attempts.size(); pending > 0; pending--) {
+                if (done == null) {
+                    done = completion.take();
+                }
+                try {
+                    final var result = done.get();
+                    if (done != attempts.get(0)) {
+                        hedgeWins.increment();
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    failure = unwrap(e);
+                    done = null;
+                }
+            }
+            throw failure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for upstream " + operation, e);
+        } finally {
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    public HedgingStats stats() {
+        final Map<String, Double> thresholds = new TreeMap<>();
+        trackers.forEach((operation, tracker) -> thresholds.put(operation, tracker.percentileNanos() / 1_000_000.0));
+        return new HedgingStats(
+                policy.enabled(), hedged.sum(), hedgeWins.sum(), budgetDenied.sum(), saturated.sum(), thresholds);
+    }
+
+    private <T> T timed(Supplier<T> call, LatencyTracker tracker) {
+        final var start = System.nanoTime();
+        try {
+            final var result = call.get();
+            tracker.record(System.nanoTime() - start);
+            return result;
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            suspendedUntilNanos = System.nanoTime() + policy.cooldown().toNanos();
+            throw e;
+        }
+    }
+
+    private long hedgeDelayNanos(LatencyTracker tracker) {
+        if (tracker.count() < policy.minSamples() || System.nanoTime() - suspendedUntilNanos < 0) {
+            return -1;
+        }
+        return Math.max(policy.minDelay().toNanos(), tracker.percentileNanos());
+    }
+
+    private synchronized void earnBudget() {
+        budget = Math.min(MAX_BUDGET, budget + policy.budgetRatio());
+    }
+
+    private synchronized boolean tryHedge() {
+        if (budget < 1) {
+            budgetDenied.increment();
+            return false;
+        }
+        budget -= 1;
+        hedged.increment();
+        return true;
+    }
+
+    // The hedge was paid for but found no thread to run on.
+    private synchronized void refundHedge() {
+        budget += 1;
+        hedged.decrement();
+        saturated.increment();
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public record HedgingStats(
+            boolean enabled,
+            long hedged,
+            long hedgeWins,
+            long budgetDenied,
+            long saturated,
+            Map<String, Double> thresholdMillis) {}
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.api.upstream;
+
+import java.time.Duration;
+
+/**
+ * @param percentile latency percentile of recent responses after which a hedge is sent, e.g. 0.95
+ * @param minDelay lower bound for the hedge delay, so a fast upstream is not hit twice for every request
+ * @param budgetRatio hedges allowed per primary request, e.g. 0.05 caps hedging at 5% extra upstream load
+ * @param minSamples responses to observe before the percentile is trusted; no hedging happens until then
+ * @param cooldown how long hedging pauses after the upstream answered 429 Too Many Requests
+ * @param maxThreads attempts running at once, primaries and hedges together; past it hedges are skipped and primaries
+ *     run on the caller's thread
+ */
+public record HedgingPolicy(
+        boolean enabled,
+        double percentile,
+        Duration minDelay,
+        double budgetRatio,
+        int minSamples,
+        Duration cooldown,
+        int maxThreads) {
+
+    public static HedgingPolicy disabled() {
+        return new HedgingPolicy(false, 0.95, Duration.ZERO, 0, 0, Duration.ZERO, 0);
+    }
+}
@@ -0,0 +1,42 @@
+package com.reliaquest.api.upstream;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of the most recent response times for one kind of upstream call. The percentile is recomputed every
+ * {@link #RECOMPUTE_EVERY} samples rather than per read, since it is consulted on every request.
+ */
+public class LatencyTracker {
+
+    private static final int WINDOW = 512;
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final long[] samples = new long[WINDOW];
+    private final double percentile;
+    private long recorded;
+    private volatile long cachedPercentileNanos = -1;
+
+    public LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public synchronized void record(long nanos) {
+        samples[(int) (recorded++ % WINDOW)] = nanos;
+        if (recorded % RECOMPUTE_EVERY == 0 || cachedPercentileNanos < 0) {
+            final var window = Arrays.copyOf(samples, (int) Math.min(recorded, WINDOW));
+            Arrays.sort(window);
+            cachedPercentileNanos = window[(int) Math.min(window.length - 1, Math.floor(percentile * window.length))];
+        }
+    }
+
+    public synchronized long count() {
+        return recorded;
+    }
+
+    /**
+     * @return the configured percentile of the window in nanoseconds, or -1 if nothing was recorded yet
+     */
+    public long percentileNanos() {
+        return cachedPercentileNanos;
+    }
+}
@@ -0,0 +1,170 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.common.id.UuidKey;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * The mock servers the roster is split over, from {@code api.base.urls}; when that is empty the api talks to the single
+ * server at {@code api.base.url} and none of this applies. Shard {@code i} owns the employee ids whose top 32 bits,
+ * read as an unsigned number, fall into the {@code i}-th of {@code count} equal ranges, the same function the servers
+ * use to generate ids ({@code com.reliaquest.server.service.ShardRange}).
+ *
+ * <p>Queries over the whole roster are scattered to every shard in parallel and gathered against one deadline of
+ * {@code api.shards.timeout-ms}. A shard that fails or misses the deadline is cancelled and fails the query, unless
+ * {@code api.shards.allow-partial} is set, in which case the answers of the other shards are used.
+ */
+@Slf4j
+@Component
+public class Shards {
+
+    private final List<String> baseUrls;
+    private final long timeoutNanos;
+    private final boolean allowPartial;
+    private final ExecutorService executor;
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final LongAdder scatters = new LongAdder();
+    private final LongAdder shardFailures = new LongAdder();
+    private final LongAdder partialResults = new LongAdder();
+
+    public Shards(
+            @Value("${api.base.urls:}") String baseUrls,
+            @Value("${api.shards.timeout-ms:2000}") long timeoutMillis,
+            @Value("${api.shards.allow-partial:false}") boolean allowPartial) {
+        this.baseUrls = Arrays.stream(baseUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.allowPartial = allowPartial;
+        if (isSharded()) {
+            final var threadFactory = new CustomizableThreadFactory("upstream-shard-");
+            threadFactory.setDaemon(true);
+            this.executor = Executors.newCachedThreadPool(threadFactory);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    public static Shards single() {
+        return new Shards("", 0, false);
+    }
+
+    public boolean isSharded() {
+        return !baseUrls.isEmpty();
+    }
+
+    public int count() {
+        return baseUrls.size();
+    }
+
+    public String baseUrl(int shard) {
+        return baseUrls.get(shard);
+    }
+
+    public int shardOf(UuidKey id) {
+        return (int) (((id.mostSignificantBits() >>> 32) * baseUrls.size()) >>> 32);
+    }
+
+    /**
+     * Where a new employee goes; round robin, since the shard that creates it picks an id in its own range.
+     */
+    public int nextShard() {
+        return Math.floorMod(nextShard.getAndIncrement(), baseUrls.size());
+    }
+
+    /**
+     * Runs {@code call} for every shard in parallel.
+     *
+     * @return the answers in shard order; with partial results allowed, null for each shard that did not answer
+     */
+    public <T> List<T> scatter(IntFunction<T> call) {
+        scatters.increment();
+        final List<Future<T>> futures = new ArrayList<>(baseUrls.size());
+        for (int shard = 0; shard < baseUrls.size(); shard++) {
+            final var target = shard;
+            futures.add(executor.submit(() -> call.apply(target)));
+        }
+
+        final var deadline = System.nanoTime() + timeoutNanos;
+        final List<T> results = new ArrayList<>(futures.size());
+        RuntimeException failure = null;
+        var failed = 0;
+        try {
+            for (int shard = 0; shard < futures.size(); shard++) {
+                try {
+                    results.add(futures.get(shard).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    failure = new UpstreamUnavailableException(
+                            "Shard " + shard + " did not answer within " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos)
+                                    + " ms",
+                            e);
+                } catch (ExecutionException e) {
+                    failure = unwrap(e);
+                }
+                if (results.size() == shard) {
+                    results.add(null);
+                    failed++;
+                    if (!allowPartial) {
+                        break;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shards", e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        if (failure != null) {
+            shardFailures.add(failed);
+            if (!allowPartial || failed == futures.size()) {
+                throw failure;
+            }
+            partialResults.increment();
+            log.debug("Using partial results, {} of {} shards failed", failed, futures.size(), failure);
+        }
+        return results;
+    }
+
+    public ShardStats stats() {
+        return new ShardStats(baseUrls.size(), allowPartial, scatters.sum(), shardFailures.sum(), partialResults.sum());
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public record ShardStats(
+            int shards, boolean allowPartial, long scatters, long shardFailures, long partialResults) {}
+}
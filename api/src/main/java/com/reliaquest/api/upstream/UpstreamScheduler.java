@@ -0,0 +1,354 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.exception.ErrorLogSampler;
+import com.reliaquest.api.exception.UpstreamBudgetExhaustedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides when the api may call upstream, with {@code api.upstream-budget.enabled}. The mock server allows a few
+ * requests, then rejects every request until a backoff has passed since the last one it allowed. This tracks how many
+ * requests remain before that lockout and admits an upstream operation only while one does:
+ *
+ * <ul>
+ *   <li>User-facing calls (cache misses, reads without a cache, writes) may spend the whole budget. Once it is spent
+ *       they fail fast with {@link UpstreamBudgetExhaustedException} rather than trip the lockout.
+ *   <li>Refresh-ahead runs on this scheduler's thread every {@code tick-ms} and only spends what is left above
+ *       {@code reserve}. It refreshes registered {@link RefreshAhead} entries once {@code refresh-ahead} of their TTL has
+ *       passed, soonest due first, so that entries being read do not expire.
+ * </ul>
+ *
+ * <p>The budget starts from {@code requests} per {@code window-ms}, the server's smallest limit and longest backoff,
+ * and follows the server's {@code X-RateLimit-*} and {@code Retry-After} headers from the first response on. A refresh
+ * that finds an entry unchanged doubles its TTL, up to {@code max-ttl-factor} times the configured one, and one that
+ * finds it changed halves it again; entries that rarely change are refreshed rarely, leaving the budget to those that
+ * do.
+ *
+ * <p>One budget covers every shard: each shard has a limit of its own, and an operation sends at most one request to
+ * any shard. Hedged attempts are not admitted here, so the api refuses to start with both hedging and the budget on.
+ */
+@Slf4j
+@Component
+public class UpstreamScheduler {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    // Set while a refresh-ahead runs, so that the upstream call it makes is admitted as one.
+    private static final ThreadLocal<Boolean> REFRESHING = new ThreadLocal<>();
+    private static final ErrorLogSampler REFRESH_FAILURE_LOG = new ErrorLogSampler(log, Duration.ofSeconds(10), 1);
+
+    private final boolean enabled;
+    private final int configuredLimit;
+    private final long windowNanos;
+    private final int reserve;
+    private final double refreshAheadRatio;
+    private final int maxTtlFactor;
+    private final long tickNanos;
+    private final LongSupplier clock;
+    private final List<RefreshAhead> tasks = new CopyOnWriteArrayList<>();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder denied = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshesDeferred = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    // Guarded by this.
+    private int learnedLimit;
+    private int remaining;
+    private long resetAtNanos;
+
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public UpstreamScheduler(
+            @Value("${api.upstream-budget.enabled:false}") boolean enabled,
+            @Value("${api.upstream-budget.requests:5}") int requests,
+            @Value("${api.upstream-budget.window-ms:90000}") long windowMillis,
+            @Value("${api.upstream-budget.reserve:2}") int reserve,
+            @Value("${api.upstream-budget.refresh-ahead:0.8}") double refreshAheadRatio,
+            @Value("${api.upstream-budget.max-ttl-factor:8}") int maxTtlFactor,
+            @Value("${api.upstream-budget.tick-ms:500}") long tickMillis) {
+        this(
+                enabled,
+                requests,
+                TimeUnit.MILLISECONDS.toNanos(windowMillis),
+                reserve,
+                refreshAheadRatio,
+                maxTtlFactor,
+                TimeUnit.MILLISECONDS.toNanos(tickMillis),
+                System::nanoTime);
+    }
+
+    UpstreamScheduler(
+            boolean enabled,
+            int requests,
+            long windowNanos,
+            int reserve,
+            double refreshAheadRatio,
+            int maxTtlFactor,
+            long tickNanos,
+            LongSupplier clock) {
+        this.enabled = enabled;
+        this.configuredLimit = Math.max(1, requests);
+        this.windowNanos = windowNanos;
+        this.reserve = reserve;
+        this.refreshAheadRatio = refreshAheadRatio;
+        this.maxTtlFactor = Math.max(1, maxTtlFactor);
+        this.tickNanos = tickNanos;
+        this.clock = clock;
+        this.remaining = configuredLimit;
+        this.resetAtNanos = clock.getAsLong();
+    }
+
+    public static UpstreamScheduler disabled() {
+        return new UpstreamScheduler(false, 5, 0, 0, 1, 1, 0, System::nanoTime);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        final var threadFactory = new CustomizableThreadFactory("upstream-scheduler-");
+        threadFactory.setDaemon(true);
+        executor = new ScheduledThreadPoolExecutor(1, threadFactory);
+        executor.scheduleWithFixedDelay(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void register(RefreshAhead task) {
+        if (enabled) {
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * Admits one upstream operation, at refresh priority when called from a refresh-ahead.
+     *
+     * @throws UpstreamBudgetExhaustedException if the operation would trip the upstream's lockout
+     */
+    public void acquire() {
+        if (!enabled) {
+            return;
+        }
+        final var refresh = REFRESHING.get() != null;
+        if (tryAcquire(refresh)) {
+            admitted.increment();
+            return;
+        }
+        denied.increment();
+        throw new UpstreamBudgetExhaustedException(retryAfterSeconds());
+    }
+
+    /**
+     * Keeps the budget in step with what the upstream reports; installed on the {@code RestTemplate} when enabled.
+     */
+    public ClientHttpRequestInterceptor interceptor() {
+        return (request, body, execution) -> {
+            final var response = execution.execute(request, body);
+            onResponse(response.getStatusCode().value(), response.getHeaders());
+            return response;
+        };
+    }
+
+    /**
+     * @return the TTL of an entry after a refresh, starting from {@code baseNanos}
+     */
+    public long nextTtlNanos(long baseNanos, long currentNanos, boolean changed) {
+        if (changed) {
+            return Math.max(baseNanos, currentNanos / 2);
+        }
+        return Math.min(baseNanos * maxTtlFactor, currentNanos * 2);
+    }
+
+    /**
+     * @return how long after it was written an entry with this TTL is due for refresh-ahead
+     */
+    public long refreshAheadNanos(long ttlNanos) {
+        return (long) (ttlNanos * refreshAheadRatio);
+    }
+
+    void onResponse(int status, HttpHeaders headers) {
+        final var limit = header(headers, LIMIT_HEADER);
+        final var remainingReported = header(headers, REMAINING_HEADER);
+        synchronized (this) {
+            final var now = clock.getAsLong();
+            if (limit > 0) {
+                learnedLimit = learnedLimit == 0 ? limit : Math.min(learnedLimit, limit);
+            }
+            if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                rateLimited.increment();
+                remaining = 0;
+                resetAtNanos = later(resetAtNanos, now + secondsOrWindow(header(headers, HttpHeaders.RETRY_AFTER)));
+            } else if (remainingReported >= 0) {
+                // Responses to calls still in flight report more than is left, so the lower count wins.
+                remaining = Math.min(remaining, remainingReported);
+                if (remainingReported == 0) {
+                    resetAtNanos = later(resetAtNanos, now + secondsOrWindow(header(headers, RESET_HEADER)));
+                }
+            }
+        }
+    }
+
+    /*
+     * Runs the refresh-aheads that are due while the budget has spare requests. The number of refreshes per tick is
+     * bounded, in case an entry stays due after its refresh.
+     */
+    void tick() {
+        for (int refreshed = 0; refreshed < limit(); refreshed++) {
+            RefreshAhead due = null;
+            var earliest = 0L;
+            for (RefreshAhead task : tasks) {
+                final var dueIn = task.refreshDueInNanos();
+                if (dueIn <= 0 && (due == null || dueIn < earliest)) {
+                    due = task;
+                    earliest = dueIn;
+                }
+            }
+            if (due == null) {
+                return;
+            }
+            if (!hasSpare()) {
+                refreshesDeferred.increment();
+                return;
+            }
+            REFRESHING.set(Boolean.TRUE);
+            try {
+                due.refreshAhead();
+                refreshes.increment();
+            } catch (RuntimeException e) {
+                refreshFailures.increment();
+                REFRESH_FAILURE_LOG.warn("Refresh-ahead failed", e);
+                return;
+            } finally {
+                REFRESHING.remove();
+            }
+        }
+    }
+
+    synchronized boolean tryAcquire(boolean refresh) {
+        if (available() <= (refresh ? reserve : 0)) {
+            return false;
+        }
+        remaining--;
+        if (remaining == 0) {
+            resetAtNanos = clock.getAsLong() + windowNanos;
+        }
+        return true;
+    }
+
+    private synchronized boolean hasSpare() {
+        return available() > reserve;
+    }
+
+    // Once the backoff has passed, the server starts counting again from the next request.
+    private int available() {
+        if (remaining <= 0 && clock.getAsLong() - resetAtNanos >= 0) {
+            remaining = limit();
+        }
+        return remaining;
+    }
+
+    private synchronized int limit() {
+        return learnedLimit > 0 ? learnedLimit : configuredLimit;
+    }
+
+    private synchronized long retryAfterSeconds() {
+        final var nanos = Math.max(0, resetAtNanos - clock.getAsLong());
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private long secondsOrWindow(int seconds) {
+        return seconds >= 0 ? TimeUnit.SECONDS.toNanos(seconds) : windowNanos;
+    }
+
+    private static long later(long nanos, long otherNanos) {
+        return nanos - otherNanos >= 0 ? nanos : otherNanos;
+    }
+
+    private static int header(HttpHeaders headers, String name) {
+        final var value = headers.getFirst(name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public synchronized UpstreamBudgetStats stats() {
+        final var available = enabled ? available() : 0;
+        return new UpstreamBudgetStats(
+                enabled,
+                limit(),
+                available,
+                available > 0 ? 0 : Math.max(0, TimeUnit.NANOSECONDS.toMillis(resetAtNanos - clock.getAsLong())),
+                admitted.sum(),
+                denied.sum(),
+                refreshes.sum(),
+                refreshesDeferred.sum(),
+                refreshFailures.sum(),
+                rateLimited.sum());
+    }
+
+    /**
+     * An entry, or set of entries, kept fresh by refreshing it before it expires.
+     */
+    public interface RefreshAhead {
+
+        /**
+         * @return nanoseconds until the entry most due should be refreshed, zero or less if it is due, or
+         *     {@link Long#MAX_VALUE} if nothing needs refreshing (for instance, nothing was read since its last refresh)
+         */
+        long refreshDueInNanos();
+
+        /**
+         * Refreshes the entry most due, from the scheduler's thread; the upstream call it makes is admitted at refresh
+         * priority.
+         */
+        void refreshAhead();
+    }
+
+    public record UpstreamBudgetStats(
+            boolean enabled,
+            int limit,
+            int remaining,
+            long resetInMillis,
+            long admitted,
+            long denied,
+            long refreshes,
+            long refreshesDeferred,
+            long refreshFailures,
+            long rateLimited) {}
+}
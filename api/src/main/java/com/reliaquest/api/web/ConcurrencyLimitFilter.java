@@ -0,0 +1,53 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.exception.ErrorBody;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Applies {@link ConcurrencyLimiter} to employee requests. Registered after {@link ResponseCacheFilter}, so cache hits
+ * are answered without taking a permit; whatever reaches this filter is bound for the upstream or the controller.
+ * Requests over the limit are answered at once with a pre-rendered 503 instead of queueing for a Tomcat thread.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String LIMITED_PATH = "/api/v1/employee";
+    private static final ErrorBody OVERLOADED = new ErrorBody("Too many concurrent requests, retry later", 503);
+
+    private final ConcurrencyLimiter limiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!limiter.isEnabled()) {
+            return true;
+        }
+        final var path = request.getRequestURI();
+        return !(path.equals(LIMITED_PATH) || path.startsWith(LIMITED_PATH + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var write = !HttpMethod.GET.matches(request.getMethod());
+        final var inflight = limiter.tryAcquire(write);
+        if (inflight < 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            OVERLOADED.writeTo(response);
+            return;
+        }
+        final var start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start, inflight);
+        }
+    }
+}
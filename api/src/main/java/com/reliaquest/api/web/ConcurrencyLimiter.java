@@ -0,0 +1,109 @@
+package com.reliaquest.api.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptive limit on concurrent inbound requests, after the gradient algorithm: a long-term average of request latency
+ * stands for the latency without queueing, and whenever recent latency rises above it (beyond a tolerance) the limit
+ * is scaled down by their ratio. Otherwise the limit grows by roughly its square root per sample, probing for more
+ * capacity. The limit only grows while it is actually being used, so an idle period cannot inflate it.
+ *
+ * <p>Writes may only use {@code write-share} of the limit, so under overload they are shed before reads.
+ */
+@Component
+public class ConcurrencyLimiter {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW = 600;
+    private static final int SHORT_WINDOW = 10;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double writeShare;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile double limit;
+    // Guarded by this.
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    public ConcurrencyLimiter(
+            @Value("${api.concurrency-limit.enabled:false}") boolean enabled,
+            @Value("${api.concurrency-limit.initial:20}") int initialLimit,
+            @Value("${api.concurrency-limit.min:4}") int minLimit,
+            @Value("${api.concurrency-limit.max:200}") int maxLimit,
+            @Value("${api.concurrency-limit.write-share:0.5}") double writeShare) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.writeShare = writeShare;
+        this.limit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the number of requests in flight including this one, or -1 if the request must be shed
+     */
+    public int tryAcquire(boolean write) {
+        final var allowed = write ? Math.max(1, (int) (limit * writeShare)) : (int) limit;
+        while (true) {
+            final var current = inflight.get();
+            if (current >= allowed) {
+                rejected.increment();
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return current + 1;
+            }
+        }
+    }
+
+    public void release(long rttNanos, int inflightAtStart) {
+        inflight.decrementAndGet();
+        onSample(rttNanos, inflightAtStart);
+    }
+
+    synchronized void onSample(long rttNanos, int inflightAtStart) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+        longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        // After a sustained shift the long-term average would take hundreds of samples to catch up; speed it along.
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        final var current = limit;
+        if (inflightAtStart < current / 2) {
+            return;
+        }
+        final var gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+        final var target = current * gradient + Math.sqrt(current);
+        final var smoothed = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.min(Math.max(smoothed, minLimit), maxLimit);
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public ConcurrencyLimitStats stats() {
+        return new ConcurrencyLimitStats((int) limit, inflight.get(), accepted.sum(), rejected.sum());
+    }
+
+    public record ConcurrencyLimitStats(int limit, int inflight, long accepted, long rejected) {}
+}
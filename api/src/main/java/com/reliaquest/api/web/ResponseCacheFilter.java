@@ -0,0 +1,87 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.cache.ResponseCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Serves roster-wide reads from {@link ResponseCache}. A hit is copied straight from the cached bytes to the servlet
+ * output stream, skipping the controller, the service and Jackson; a miss runs the request as usual and keeps the body
+ * of a successful response for the next caller.
+ */
+@RequiredArgsConstructor
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    private static final List<String> CACHEABLE_PATHS = List.of(
+            "/api/v1/employee",
+            "/api/v1/employee/search/*",
+            "/api/v1/employee/highestSalary",
+            "/api/v1/employee/topTenHighestEarningEmployeeNames");
+
+    private final ResponseCache responseCache;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!responseCache.isEnabled() || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        final var path = request.getRequestURI();
+        return CACHEABLE_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var key = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+        final var cached = responseCache.get(key);
+        if (cached != null) {
+            writeCached(request, response, cached);
+            return;
+        }
+
+        final var version = responseCache.version();
+        final var buffered = new ContentCachingResponseWrapper(response);
+        response.setHeader(CACHE_HEADER, "MISS");
+        chain.doFilter(request, buffered);
+        if (buffered.getStatus() == HttpServletResponse.SC_OK && buffered.getContentType() != null) {
+            responseCache.put(key, version, buffered.getContentType(), buffered.getContentAsByteArray());
+        }
+        buffered.copyBodyToResponse();
+    }
+
+    private static void writeCached(
+            HttpServletRequest request, HttpServletResponse response, ResponseCache.CachedResponse cached)
+            throws IOException {
+        final var gzip = cached.gzippedBody() != null && acceptsGzip(request);
+        final var body = gzip ? cached.gzippedBody() : cached.body();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.setHeader(CACHE_HEADER, "HIT");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        final var acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+}
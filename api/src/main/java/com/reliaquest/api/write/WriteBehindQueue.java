@@ -0,0 +1,624 @@
+package com.reliaquest.api.write;
+
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.exception.ErrorLogSampler;
+import com.reliaquest.api.exception.UpstreamBudgetExhaustedException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.exception.WriteQueueFullException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.RosterChangedEvent;
+import com.reliaquest.api.upstream.LatencyTracker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind for creates and deletes, enabled with {@code api.write-behind.enabled}. A mutation is applied to this
+ * api's view of the roster at once and acknowledged as pending; a single flusher thread replays the queue against the
+ * upstream in batches of up to {@code batch-size}, strictly in acceptance order, so the writes for one employee reach
+ * the upstream in the order they were made.
+ *
+ * <ul>
+ *   <li>A create gets a provisional id. Reads by that id are answered locally until the create is flushed and by the
+ *       upstream's id afterwards.
+ *   <li>Deleting an employee whose create has not been sent yet cancels both writes.
+ *   <li>Rate limiting, 5xx and I/O failures are retried with exponential backoff, pausing the whole queue, since they
+ *       mean the upstream is unavailable rather than that one write is wrong. Other failures, and writes that run out
+ *       of attempts, are dropped and their local effect undone.
+ *   <li>A write the local upstream budget does not admit pauses the queue until the budget's retry-after, and does not
+ *       count as an attempt, as it never reached the upstream.
+ *   <li>Once {@code capacity} writes are queued, new ones wait up to {@code offer-timeout-ms} for room and are then
+ *       rejected with {@link WriteQueueFullException}.
+ * </ul>
+ *
+ * <p>Every local change, including the replacement of a provisional employee by the created one, is published as a
+ * {@link RosterChangedEvent}, so caches and statistics follow the local view. Writes still queued at shutdown are lost
+ * after {@code shutdown-timeout-ms}.
+ */
+@Slf4j
+@Component
+public class WriteBehindQueue {
+
+    private static final ErrorLogSampler FLUSH_FAILURE_LOG = new ErrorLogSampler(log, Duration.ofSeconds(10), 1);
+    private static final int MAX_RESOLVED_IDS = 10_000;
+
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final long shutdownTimeoutMillis;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    // Guarded by lock.
+    private final ArrayDeque<PendingWrite> queue = new ArrayDeque<>();
+    private final Map<UUID, PendingWrite> pendingCreates = new LinkedHashMap<>();
+    private final Map<UUID, Employee> pendingDeletes = new HashMap<>();
+    private final Map<UUID, UUID> resolvedIds = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, UUID> eldest) {
+            return size() > MAX_RESOLVED_IDS;
+        }
+    };
+    private List<PendingWrite> batch = List.of();
+    private int inFlight;
+    private boolean closing;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyTracker flushLatency = new LatencyTracker(0.99);
+
+    private volatile Overlay overlay = Overlay.EMPTY;
+    private volatile Upstream upstream;
+    private Thread flusher;
+    // Only touched by the flusher: set when the upstream budget denied a write, until the queue has waited for it.
+    private long budgetWaitNanos;
+
+    public WriteBehindQueue(
+            ApplicationEventPublisher eventPublisher,
+            @Value("${api.write-behind.enabled:false}") boolean enabled,
+            @Value("${api.write-behind.capacity:1000}") int capacity,
+            @Value("${api.write-behind.batch-size:50}") int batchSize,
+            @Value("${api.write-behind.flush-interval-ms:100}") long flushIntervalMillis,
+            @Value("${api.write-behind.offer-timeout-ms:100}") long offerTimeoutMillis,
+            @Value("${api.write-behind.max-attempts:10}") int maxAttempts,
+            @Value("${api.write-behind.backoff-initial-ms:500}") long initialBackoffMillis,
+            @Value("${api.write-behind.backoff-max-ms:30000}") long maxBackoffMillis,
+            @Value("${api.write-behind.shutdown-timeout-ms:5000}") long shutdownTimeoutMillis) {
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = TimeUnit.MILLISECONDS.toNanos(initialBackoffMillis);
+        this.maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(maxBackoffMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    public static WriteBehindQueue disabled() {
+        return new WriteBehindQueue(event -> {}, false, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        flusher = new Thread(this::flushLoop, "write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            closing = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join(shutdownTimeoutMillis);
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+            log.warn("Write-behind queue shut down with {} writes not sent upstream", depth());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Where queued writes are sent; also decides which failures are worth retrying, by throwing
+     * {@link UpstreamUnavailableException} for those.
+     */
+    public void setUpstream(Upstream upstream) {
+        this.upstream = upstream;
+    }
+
+    /**
+     * @return the employee as it will be created, under a provisional id
+     * @throws WriteQueueFullException if the queue stayed full for {@code offer-timeout-ms}
+     */
+    public Employee create(EmployeeInput input) {
+        final var provisional = new Employee(
+                UUID.randomUUID(), input.getName(), input.getSalary(), input.getAge(), input.getTitle(), null);
+        final var write = new PendingWrite(PendingWrite.Type.CREATE, provisional, input);
+        lock.lock();
+        try {
+            enqueue(write);
+            pendingCreates.put(provisional.getId(), write);
+            updateOverlay();
+        } finally {
+            lock.unlock();
+        }
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.Type.CREATED, provisional));
+        return provisional;
+    }
+
+    /**
+     * @throws WriteQueueFullException if the queue stayed full for {@code offer-timeout-ms}
+     */
+    public void delete(Employee employee) {
+        final var id = employee.getId();
+        lock.lock();
+        try {
+            final var create = pendingCreates.get(id);
+            if (create != null && !create.inFlight) {
+                // Neither write has reached the upstream; drop both.
+                queue.remove(create);
+                pendingCreates.remove(id);
+                coalesced.increment();
+                notFull.signalAll();
+            } else {
+                enqueue(new PendingWrite(PendingWrite.Type.DELETE, employee, null));
+                pendingDeletes.put(id, employee);
+                final var resolved = resolvedIds.get(id);
+                if (resolved != null) {
+                    pendingDeletes.put(resolved, employee);
+                }
+            }
+            updateOverlay();
+        } finally {
+            lock.unlock();
+        }
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.Type.DELETED, employee));
+    }
+
+    /**
+     * The roster as this api sees it: deleted employees removed, created ones appended. The given array is returned
+     * unchanged if nothing is pending, and never modified.
+     */
+    public Employee[] applyTo(Employee[] roster) {
+        final var current = overlay;
+        if (current == Overlay.EMPTY) {
+            return roster;
+        }
+        final List<Employee> result = new ArrayList<>(roster.length + current.created().length);
+        for (Employee employee : roster) {
+            if (employee.getId() == null || !current.deleted().contains(employee.getId())) {
+                result.add(employee);
+            }
+        }
+        for (Employee employee : current.created()) {
+            result.add(employee);
+        }
+        return result.toArray(new Employee[0]);
+    }
+
+    /**
+     * @return the provisional employee if {@code id} belongs to a create that has not been flushed yet
+     */
+    public Employee findPendingCreate(UUID id) {
+        final var current = overlay;
+        if (current == Overlay.EMPTY || current.deleted().contains(id)) {
+            return null;
+        }
+        for (Employee employee : current.created()) {
+            if (employee.getId().equals(id)) {
+                return employee;
+            }
+        }
+        return null;
+    }
+
+    public boolean isPendingDelete(UUID id) {
+        return overlay.deleted().contains(id);
+    }
+
+    /**
+     * @return the upstream's id if {@code id} is the provisional id of a flushed create, otherwise {@code id}
+     */
+    public UUID resolveId(UUID id) {
+        lock.lock();
+        try {
+            return resolvedIds.getOrDefault(id, id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public WriteBehindStats stats() {
+        lock.lock();
+        try {
+            final var head = queue.peek();
+            final var oldestMillis =
+                    head == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - head.acceptedNanos);
+            final var latency = flushLatency.percentileNanos();
+            return new WriteBehindStats(
+                    enabled,
+                    queue.size() + inFlight,
+                    capacity,
+                    oldestMillis,
+                    accepted.sum(),
+                    coalesced.sum(),
+                    flushed.sum(),
+                    retries.sum(),
+                    failed.sum(),
+                    rejected.sum(),
+                    latency < 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latency));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int depth() {
+        lock.lock();
+        try {
+            return queue.size() + inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds lock.
+    private void enqueue(PendingWrite write) {
+        var remaining = offerTimeoutNanos;
+        while (queue.size() >= capacity || closing) {
+            if (remaining <= 0 || closing) {
+                rejected.increment();
+                throw new WriteQueueFullException();
+            }
+            try {
+                remaining = notFull.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected.increment();
+                throw new WriteQueueFullException();
+            }
+        }
+        queue.add(write);
+        accepted.increment();
+        notEmpty.signal();
+    }
+
+    // Caller holds lock.
+    private void updateOverlay() {
+        if (pendingCreates.isEmpty() && pendingDeletes.isEmpty()) {
+            overlay = Overlay.EMPTY;
+            return;
+        }
+        final List<Employee> created = new ArrayList<>(pendingCreates.size());
+        for (PendingWrite write : pendingCreates.values()) {
+            if (!pendingDeletes.containsKey(write.employee.getId())) {
+                created.add(write.employee);
+            }
+        }
+        overlay = new Overlay(created.toArray(new Employee[0]), Set.copyOf(pendingDeletes.keySet()));
+    }
+
+    private void flushLoop() {
+        long backoffNanos = 0;
+        while (true) {
+            final var taken = nextBatch();
+            if (taken == null) {
+                return;
+            }
+            int sent = 0;
+            try {
+                while (sent < taken.size()) {
+                    if (!send(taken.get(sent))) {
+                        break;
+                    }
+                    sent++;
+                }
+            } finally {
+                requeue(taken, sent);
+            }
+            if (sent == taken.size()) {
+                backoffNanos = 0;
+                continue;
+            }
+            final long waitNanos;
+            if (budgetWaitNanos > 0) {
+                waitNanos = budgetWaitNanos;
+                budgetWaitNanos = 0;
+            } else {
+                backoffNanos = backoffNanos == 0 ? initialBackoffNanos : Math.min(2 * backoffNanos, maxBackoffNanos);
+                waitNanos = backoffNanos;
+            }
+            retries.increment();
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /*
+     * Waits for a full batch or the flush interval, whichever comes first; null once closing and drained. Taken writes
+     * stay counted as in flight until sent or put back.
+     */
+    private List<PendingWrite> nextBatch() {
+        lock.lock();
+        try {
+            while (queue.isEmpty()) {
+                if (closing) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+            var remaining = flushIntervalNanos;
+            while (queue.size() < batchSize && !closing && remaining > 0) {
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+            final List<PendingWrite> taken = new ArrayList<>(Math.min(batchSize, queue.size()));
+            while (taken.size() < batchSize && !queue.isEmpty()) {
+                final var write = queue.poll();
+                write.inFlight = true;
+                taken.add(write);
+            }
+            batch = taken;
+            inFlight = taken.size();
+            notFull.signalAll();
+            return taken;
+        } catch (InterruptedException e) {
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Unsent writes go back to the head of the queue, in order, ahead of anything accepted meanwhile.
+    private void requeue(List<PendingWrite> taken, int sent) {
+        lock.lock();
+        try {
+            for (int i = taken.size() - 1; i >= sent; i--) {
+                final var write = taken.get(i);
+                land(write);
+                if (!write.cancelled) {
+                    queue.addFirst(write);
+                }
+            }
+            batch = List.of();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds lock. Called exactly once for every write taken into a batch.
+    private void land(PendingWrite write) {
+        write.inFlight = false;
+        inFlight--;
+    }
+
+    /*
+     * @return false if the upstream is unavailable and the write should be retried later
+     */
+    private boolean send(PendingWrite write) {
+        if (write.cancelled) {
+            lock.lock();
+            try {
+                land(write);
+            } finally {
+                lock.unlock();
+            }
+            return true;
+        }
+        try {
+            if (write.type == PendingWrite.Type.CREATE) {
+                onCreated(write, upstream.create(write.input));
+            } else {
+                upstream.delete(write.employee);
+                onDeleted(write);
+            }
+            flushed.increment();
+            flushLatency.record(System.nanoTime() - write.acceptedNanos);
+            return true;
+        } catch (UpstreamBudgetExhaustedException e) {
+            // Not sent, so not an attempt.
+            budgetWaitNanos = TimeUnit.SECONDS.toNanos(e.getRetryAfterSeconds());
+            log.debug(
+                    "Upstream budget exhausted, holding {} queued writes for {} s", depth(), e.getRetryAfterSeconds());
+            return false;
+        } catch (UpstreamUnavailableException e) {
+            if (++write.attempts < maxAttempts) {
+                FLUSH_FAILURE_LOG.warn("Upstream unavailable, holding {} queued writes", this::depth, e);
+                return false;
+            }
+            onFailed(write, e);
+            return true;
+        } catch (EmployeeServiceException e) {
+            onFailed(write, e);
+            return true;
+        }
+    }
+
+    private void onCreated(PendingWrite write, Employee created) {
+        final var provisionalId = write.employee.getId();
+        final boolean deletedMeanwhile;
+        lock.lock();
+        try {
+            land(write);
+            pendingCreates.remove(provisionalId);
+            resolvedIds.put(provisionalId, created.getId());
+            deletedMeanwhile = pendingDeletes.containsKey(provisionalId);
+            if (deletedMeanwhile) {
+                // The queued delete still hides the employee, now under its real id as well.
+                pendingDeletes.put(created.getId(), pendingDeletes.get(provisionalId));
+            }
+            updateOverlay();
+        } finally {
+            lock.unlock();
+        }
+        if (!deletedMeanwhile) {
+            eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.Type.DELETED, write.employee));
+            eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.Type.CREATED, created));
+        }
+    }
+
+    private void onDeleted(PendingWrite write) {
+        lock.lock();
+        try {
+            land(write);
+            unhide(write.employee.getId());
+            updateOverlay();
+        } finally {
+            lock.unlock();
+        }
+        // Already gone locally; published again so roster snapshots read before the delete landed are dropped.
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.Type.DELETED, write.employee));
+    }
+
+    private void onFailed(PendingWrite write, EmployeeServiceException e) {
+        failed.increment();
+        FLUSH_FAILURE_LOG.warn("Dropping queued {} of employee {}", write.type, write.employee.getId(), e);
+        final var id = write.employee.getId();
+        final boolean visible;
+        lock.lock();
+        try {
+            land(write);
+            if (write.type == PendingWrite.Type.CREATE) {
+                pendingCreates.remove(id);
+                visible = !pendingDeletes.containsKey(id);
+                // A later delete of an employee that was never created must not run: deletes go by name.
+                final Set<PendingWrite> dependents = new HashSet<>();
+                for (PendingWrite later : batch) {
+                    if (later != write && later.employee.getId().equals(id)) {
+                        later.cancelled = true;
+                    }
+                }
+                for (PendingWrite queued : queue) {
+                    if (queued.employee.getId().equals(id)) {
+                        queued.cancelled = true;
+                        dependents.add(queued);
+                    }
+                }
+                queue.removeAll(dependents);
+                notFull.signalAll();
+                pendingDeletes.remove(id);
+            } else {
+                visible = true;
+                unhide(id);
+            }
+            updateOverlay();
+        } finally {
+            lock.unlock();
+        }
+        if (!visible) {
+            return;
+        }
+        // Undo the local effect.
+        eventPublisher.publishEvent(new RosterChangedEvent(
+                write.type == PendingWrite.Type.CREATE
+                        ? RosterChangedEvent.Type.DELETED
+                        : RosterChangedEvent.Type.CREATED,
+                write.employee));
+    }
+
+    // Caller holds lock.
+    private void unhide(UUID id) {
+        pendingDeletes.remove(id);
+        final var resolved = resolvedIds.get(id);
+        if (resolved != null) {
+            pendingDeletes.remove(resolved);
+        }
+    }
+
+    /**
+     * The upstream calls a queued write ends in.
+     */
+    public interface Upstream {
+
+        Employee create(EmployeeInput input);
+
+        void delete(Employee employee);
+    }
+
+    private static final class PendingWrite {
+
+        enum Type {
+            CREATE,
+            DELETE
+        }
+
+        final Type type;
+        final Employee employee;
+        final EmployeeInput input;
+        final long acceptedNanos = System.nanoTime();
+        // Guarded by the queue's lock; attempts, and cancelled once in flight, are only touched by the flusher.
+        boolean inFlight;
+        boolean cancelled;
+        int attempts;
+
+        PendingWrite(Type type, Employee employee, EmployeeInput input) {
+            this.type = type;
+            this.employee = employee;
+            this.input = input;
+        }
+    }
+
+    private record Overlay(Employee[] created, Set<UUID> deleted) {
+
+        static final Overlay EMPTY = new Overlay(new Employee[0], Set.of());
+    }
+
+    public record WriteBehindStats(
+            boolean enabled,
+            int depth,
+            int capacity,
+            long oldestPendingMillis,
+            long accepted,
+            long coalesced,
+            long flushed,
+            long retries,
+            long failed,
+            long rejected,
+            long flushLatencyP99Millis) {}
+}
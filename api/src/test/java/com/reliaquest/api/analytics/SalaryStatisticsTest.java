@@ -0,0 +1,123 @@
+package com.reliaquest.api.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.RosterChangedEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class SalaryStatisticsTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void testSummary_matchesDirectComputationAfterRemovals() {
+        List<Employee> roster = roster(2_000);
+        SalaryStatistics statistics = SalaryStatistics.of(roster);
+        for (int i = 0; i < 500; i++) {
+            statistics.remove(roster.remove(random.nextInt(roster.size())));
+        }
+
+        double[] salaries =
+                roster.stream().mapToDouble(Employee::getEmployee_salary).toArray();
+        double mean = Arrays.stream(salaries).average().orElseThrow();
+        double variance = Arrays.stream(salaries)
+                        .map(salary -> (salary - mean) * (salary - mean))
+                        .sum()
+                / salaries.length;
+
+        SalarySummary summary = statistics.summary();
+        assertEquals(roster.size(), summary.count());
+        assertEquals(mean, summary.mean(), 1e-6);
+        assertEquals(Math.sqrt(variance), summary.stddev(), 1e-6);
+        assertEquals((int) Arrays.stream(salaries).min().orElseThrow(), (int) summary.min());
+        assertEquals((int) Arrays.stream(salaries).max().orElseThrow(), (int) summary.max());
+    }
+
+    @Test
+    void testPercentiles_withinSketchError() {
+        List<Employee> roster = roster(5_000);
+        SalaryStatistics statistics = SalaryStatistics.of(roster);
+        int[] sorted =
+                roster.stream().mapToInt(Employee::getEmployee_salary).sorted().toArray();
+
+        var percentiles = statistics.percentiles(0, 50, 99.9, 100);
+
+        assertEquals(sorted[0], (int) percentiles.get("p0"));
+        assertEquals(sorted[sorted.length - 1], (int) percentiles.get("p100"));
+        int median = sorted[(int) Math.ceil(0.5 * sorted.length) - 1];
+        assertEquals(median, (int) percentiles.get("p50"), median / 64.0);
+        int p999 = sorted[(int) Math.ceil(0.999 * sorted.length) - 1];
+        assertEquals(p999, (int) percentiles.get("p99.9"), p999 / 64.0);
+    }
+
+    @Test
+    void testHistogram_coversRosterWithRequestedBuckets() {
+        SalaryStatistics statistics = SalaryStatistics.of(roster(1_000));
+
+        List<HistogramBucket> histogram = statistics.histogram(10);
+
+        assertEquals(10, histogram.size());
+        assertEquals((int) statistics.summary().min(), histogram.get(0).from());
+        assertEquals((int) statistics.summary().max(), histogram.get(9).to());
+        assertEquals(1_000, histogram.stream().mapToLong(HistogramBucket::count).sum());
+    }
+
+    @Test
+    void testReplayedEvents_areIdempotentPerId() {
+        List<Employee> roster = roster(10);
+        SalaryStatistics statistics = SalaryStatistics.of(roster);
+        Employee created = employee("Analyst", 90_000);
+
+        statistics.apply(new RosterChangedEvent(RosterChangedEvent.Type.CREATED, created));
+        statistics.apply(new RosterChangedEvent(RosterChangedEvent.Type.CREATED, created));
+        statistics.apply(new RosterChangedEvent(RosterChangedEvent.Type.DELETED, roster.get(0)));
+        statistics.apply(new RosterChangedEvent(RosterChangedEvent.Type.DELETED, roster.get(0)));
+
+        assertEquals(10, statistics.summary().count());
+        assertEquals(
+                10,
+                statistics.byTitle().values().stream()
+                        .mapToLong(SalarySummary::count)
+                        .sum());
+    }
+
+    @Test
+    void testByTitle_dropsTitleWithLastEmployee() {
+        Employee only = employee("Astronaut", 120_000);
+        SalaryStatistics statistics = SalaryStatistics.of(List.of(only, employee("Analyst", 80_000)));
+        assertEquals(120_000, (int) statistics.byTitle().get("Astronaut").max());
+
+        statistics.remove(only);
+
+        assertNull(statistics.byTitle().get("Astronaut"));
+        assertEquals(1, statistics.byTitle().size());
+    }
+
+    @Test
+    void testEmptyRoster() {
+        SalaryStatistics statistics = new SalaryStatistics();
+
+        assertEquals(0, statistics.summary().count());
+        assertNull(statistics.summary().max());
+        assertTrue(statistics.percentiles(50).isEmpty());
+        assertTrue(statistics.histogram(10).isEmpty());
+    }
+
+    private List<Employee> roster(int size) {
+        List<Employee> roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            roster.add(employee("Title " + random.nextInt(20), 30_000 + random.nextInt(470_000)));
+        }
+        return roster;
+    }
+
+    private static Employee employee(String title, int salary) {
+        return new Employee(UUID.randomUUID(), "Employee", salary, 30, title, "employee@company.com");
+    }
+}
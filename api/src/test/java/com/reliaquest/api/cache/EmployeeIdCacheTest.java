@@ -0,0 +1,139 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.RosterChangedEvent;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import com.reliaquest.common.id.UuidKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class EmployeeIdCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testGet_hitAfterPutMissAfterTtl() {
+        EmployeeIdCache cache = cache(100);
+        Employee employee = employee();
+        UuidKey id = UuidKey.of(employee.getId());
+
+        assertNull(cache.get(id));
+        cache.put(id, employee, cache.ticket());
+        assertSame(employee, cache.get(id));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+        assertNull(cache.get(id));
+        EmployeeIdCache.IdCacheStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(1, stats.expirations());
+        assertEquals(0, stats.size());
+    }
+
+    @Test
+    void testDelete_invalidatesEntryAndReadInFlight() {
+        EmployeeIdCache cache = cache(100);
+        Employee employee = employee();
+        UuidKey id = UuidKey.of(employee.getId());
+        cache.put(id, employee, cache.ticket());
+        long ticket = cache.ticket();
+
+        cache.onRosterChanged(new RosterChangedEvent(RosterChangedEvent.Type.DELETED, employee));
+        assertNull(cache.get(id));
+
+        // A read that started before the delete must not bring the employee back.
+        cache.put(id, employee, ticket);
+        assertNull(cache.get(id));
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    void testEviction_hotSetSurvivesScan() {
+        EmployeeIdCache cache = cache(100);
+        List<UuidKey> hot = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Employee employee = employee();
+            UuidKey id = UuidKey.of(employee.getId());
+            hot.add(id);
+            cache.get(id);
+            cache.put(id, employee, cache.ticket());
+        }
+        for (int round = 0; round < 5; round++) {
+            hot.forEach(cache::get);
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            Employee employee = employee();
+            UuidKey id = UuidKey.of(employee.getId());
+            cache.get(id);
+            cache.put(id, employee, cache.ticket());
+        }
+
+        long survivors = hot.stream().filter(id -> cache.get(id) != null).count();
+        assertTrue(survivors >= 45, "only " + survivors + " of 50 hot entries survived");
+        assertTrue(cache.stats().size() <= 100);
+        assertTrue(cache.stats().evictions() >= 4_950);
+    }
+
+    @Test
+    void testRefreshAhead_refreshesEntriesReadSinceWritten() {
+        EmployeeIdCache cache = cache(100);
+        Employee employee = employee();
+        UuidKey id = UuidKey.of(employee.getId());
+        List<UuidKey> loaded = new ArrayList<>();
+        cache.enableRefreshAhead(new UpstreamScheduler(true, 5, 90_000, 2, 0.5, 8, 500), key -> {
+            loaded.add(key);
+            if (loaded.size() > 1) {
+                throw new EmployeeNotFoundException("Employee not found with ID: " + key);
+            }
+            return employee;
+        });
+        cache.put(id, employee, cache.ticket());
+        assertEquals(Long.MAX_VALUE, cache.refreshDueInNanos());
+
+        cache.get(id);
+        assertEquals(TimeUnit.SECONDS.toNanos(15), cache.refreshDueInNanos());
+
+        // Unchanged, so the TTL doubles: still cached 59 seconds after the refresh.
+        now.addAndGet(TimeUnit.SECONDS.toNanos(15));
+        cache.refreshAhead();
+        assertEquals(Long.MAX_VALUE, cache.refreshDueInNanos());
+        now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertSame(employee, cache.get(id));
+        assertTrue(cache.refreshDueInNanos() <= 0);
+
+        // Gone upstream.
+        cache.refreshAhead();
+        assertNull(cache.get(id));
+        assertEquals(List.of(id, id), loaded);
+        assertEquals(2, cache.stats().refreshedAhead());
+    }
+
+    @Test
+    void testDisabled_neverCaches() {
+        EmployeeIdCache cache = EmployeeIdCache.disabled();
+        Employee employee = employee();
+        UuidKey id = UuidKey.of(employee.getId());
+
+        cache.put(id, employee, cache.ticket());
+
+        assertNull(cache.get(id));
+        assertEquals(0, cache.stats().misses());
+    }
+
+    private EmployeeIdCache cache(int maximumSize) {
+        return new EmployeeIdCache(true, maximumSize, TimeUnit.SECONDS.toNanos(30), now::get);
+    }
+
+    private static Employee employee() {
+        return new Employee(UUID.randomUUID(), "Name", 100, 30, "Title", "name@company.com");
+    }
+}
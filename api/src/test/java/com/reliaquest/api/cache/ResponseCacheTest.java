@@ -0,0 +1,79 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResponseCacheTest {
+
+    private static final byte[] BODY = "[\"Emp11\",\"Emp10\"]".getBytes(StandardCharsets.UTF_8);
+
+    private RosterVersion rosterVersion;
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setup() {
+        rosterVersion = new RosterVersion();
+        responseCache = new ResponseCache(rosterVersion, true, 60_000, true, 2);
+    }
+
+    @Test
+    void testHit_returnsStoredAndGzippedBody() throws Exception {
+        responseCache.put("/top", responseCache.version(), "application/json", BODY);
+
+        ResponseCache.CachedResponse cached = responseCache.get("/top");
+
+        assertNotNull(cached);
+        assertArrayEquals(BODY, cached.body());
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(cached.gzippedBody()))) {
+            assertArrayEquals(BODY, in.readAllBytes());
+        }
+        assertEquals(1, responseCache.stats().hits());
+    }
+
+    @Test
+    void testRosterChange_invalidatesEntries() {
+        responseCache.put("/top", responseCache.version(), "application/json", BODY);
+
+        rosterVersion.advance();
+
+        assertNull(responseCache.get("/top"));
+        assertEquals(1, responseCache.stats().misses());
+    }
+
+    @Test
+    void testWriteDuringComputation_storesStaleEntry() {
+        long versionBeforeCompute = responseCache.version();
+        rosterVersion.advance();
+
+        responseCache.put("/top", versionBeforeCompute, "application/json", BODY);
+
+        assertNull(responseCache.get("/top"));
+    }
+
+    @Test
+    void testExpiredEntry_isMiss() {
+        responseCache = new ResponseCache(rosterVersion, true, 0, false, 2);
+        responseCache.put("/top", responseCache.version(), "application/json", BODY);
+
+        assertNull(responseCache.get("/top"));
+    }
+
+    @Test
+    void testFullCache_evictsStaleEntriesBeforeRejecting() {
+        responseCache.put("/a", responseCache.version(), "application/json", BODY);
+        responseCache.put("/b", responseCache.version(), "application/json", BODY);
+
+        responseCache.put("/c", responseCache.version(), "application/json", BODY);
+        assertNull(responseCache.get("/c"));
+
+        rosterVersion.advance();
+        responseCache.put("/c", responseCache.version(), "application/json", BODY);
+        assertNotNull(responseCache.get("/c"));
+        assertEquals(1, responseCache.stats().size());
+    }
+}
@@ -0,0 +1,198 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.cluster.ClusterMessage;
+import com.reliaquest.api.cluster.ClusterVersion;
+import com.reliaquest.api.cluster.LoopbackInvalidationChannel;
+import com.reliaquest.api.exception.UpstreamBudgetExhaustedException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.RosterChangedEvent;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RosterCacheTest {
+
+    private final AtomicInteger upstreamVersion = new AtomicInteger();
+    private final List<RosterCache> nodes = new ArrayList<>();
+    private final List<Object> remoteEvents = new CopyOnWriteArrayList<>();
+    private LoopbackInvalidationChannel channel;
+
+    @BeforeEach
+    void setup() {
+        channel = new LoopbackInvalidationChannel();
+    }
+
+    @AfterEach
+    void shutdown() {
+        nodes.forEach(RosterCache::shutdown);
+        channel.close();
+    }
+
+    @Test
+    void testCluster_onlyLeaderReadsUpstream() throws Exception {
+        RosterCache leader = node("a");
+        RosterCache follower1 = node("b");
+        RosterCache follower2 = node("c");
+        awaitTrue(() -> !follower1.isLeader() && !follower2.isLeader());
+
+        Employee[] roster1 = follower1.get();
+        Employee[] roster2 = follower2.get();
+
+        assertSame(roster1, roster2);
+        assertTrue(leader.isLeader());
+        assertEquals(1, leader.stats().upstreamReads());
+        assertEquals(0, follower1.stats().upstreamReads());
+        assertEquals(0, follower2.stats().upstreamReads());
+    }
+
+    @Test
+    void testCluster_changeOnFollowerInvalidatesEveryReplica() throws Exception {
+        RosterCache leader = node("a");
+        RosterCache follower1 = node("b");
+        RosterCache follower2 = node("c");
+        awaitTrue(() -> !follower1.isLeader() && !follower2.isLeader());
+        Employee[] before = follower2.get();
+
+        upstreamVersion.incrementAndGet();
+        follower1.onRosterChanged(new RosterChangedEvent(RosterChangedEvent.Type.CREATED, employee()));
+
+        awaitTrue(() -> remoteEvents.size() == 2);
+        Employee[] after = follower2.get();
+        assertNotSame(before, after);
+        assertEquals("1", after[0].getEmployee_name());
+        assertEquals(0, follower2.stats().upstreamReads());
+        assertEquals(leader.stats().clusterVersion(), follower2.stats().clusterVersion());
+    }
+
+    @Test
+    void testCluster_concurrentChangesConvergeOnHigherNodeId() throws Exception {
+        RosterCache leader = node("a");
+        RosterCache follower1 = node("b");
+        RosterCache follower2 = node("c");
+        awaitTrue(() -> !follower1.isLeader() && !follower2.isLeader());
+
+        // Delivery is held, so both take counter 1 before hearing of the other's change.
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch delivery = new CountDownLatch(1);
+        channel.subscribe(message -> {
+            holding.countDown();
+            awaitQuietly(delivery);
+        });
+        awaitTrue(() -> holding.getCount() == 0);
+        follower2.onRosterChanged(new RosterChangedEvent(RosterChangedEvent.Type.CREATED, employee()));
+        follower1.onRosterChanged(new RosterChangedEvent(RosterChangedEvent.Type.DELETED, employee()));
+        delivery.countDown();
+
+        awaitTrue(() -> remoteEvents.size() == 4);
+        ClusterVersion expected = new ClusterVersion(1, "c");
+        assertEquals(expected, leader.stats().clusterVersion());
+        assertEquals(expected, follower1.stats().clusterVersion());
+        assertEquals(expected, follower2.stats().clusterVersion());
+    }
+
+    @Test
+    void testCluster_followerFallsBackWithoutLeader() {
+        RosterCache follower = node("b");
+        // A heartbeat from a lower id makes "b" a follower, but nobody answers its refresh requests.
+        follower.onMessage(new ClusterMessage.Heartbeat("a"));
+
+        Employee[] roster = follower.get();
+
+        assertEquals(1, roster.length);
+        assertEquals(1, follower.stats().upstreamReads());
+    }
+
+    @Test
+    void testLocal_reusesSnapshotUntilLocalChange() {
+        RosterCache cache = new RosterCache(channel, remoteEvents::add, "local", "a", 60_000, 100, 50);
+        cache.setSource(this::readUpstream);
+
+        Employee[] first = cache.get();
+        assertSame(first, cache.get());
+
+        cache.onRosterChanged(new RosterChangedEvent(RosterChangedEvent.Type.DELETED, employee()));
+
+        assertNotSame(first, cache.get());
+        assertEquals(2, cache.stats().upstreamReads());
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    void testRefreshAhead_adaptsTtlAndServesStaleWhenOutOfBudget() throws Exception {
+        UpstreamScheduler scheduler = new UpstreamScheduler(true, 3, 60_000, 0, 0.0, 4, 60_000);
+        AtomicReference<Employee[]> upstream = new AtomicReference<>(new Employee[] {employee()});
+        RosterCache cache = new RosterCache(channel, remoteEvents::add, "local", "a", 200, 100, 50);
+        cache.setSource(() -> {
+            scheduler.acquire();
+            return upstream.get().clone();
+        });
+        cache.enableRefreshAhead(scheduler);
+
+        cache.get();
+        assertTrue(cache.refreshDueInNanos() <= 0);
+        cache.refreshAhead();
+        assertEquals(400, cache.stats().ttlMillis());
+        // Nobody read the refreshed snapshot yet.
+        assertEquals(Long.MAX_VALUE, cache.refreshDueInNanos());
+
+        upstream.set(new Employee[] {employee()});
+        cache.get();
+        cache.refreshAhead();
+        assertEquals(200, cache.stats().ttlMillis());
+
+        Thread.sleep(250);
+        Employee[] stale = cache.get();
+        assertSame(upstream.get()[0], stale[0]);
+        assertEquals(1, cache.stats().staleServed());
+        assertEquals(2, cache.stats().refreshedAhead());
+
+        cache.onRosterChanged(new RosterChangedEvent(RosterChangedEvent.Type.CREATED, employee()));
+        assertThrows(UpstreamBudgetExhaustedException.class, cache::get);
+    }
+
+    private RosterCache node(String id) {
+        RosterCache node = new RosterCache(channel, remoteEvents::add, "cluster", id, 60_000, 500, 50);
+        node.setSource(this::readUpstream);
+        node.start();
+        nodes.add(node);
+        return node;
+    }
+
+    private Employee[] readUpstream() {
+        return new Employee[] {
+            new Employee(
+                    UUID.randomUUID(), String.valueOf(upstreamVersion.get()), 100, 30, "Title", "employee@company.com")
+        };
+    }
+
+    private static Employee employee() {
+        return new Employee(UUID.randomUUID(), "New", 100, 30, "Title", "new@company.com");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class AppConfigTest {
+
+    private final AppConfig appConfig = new AppConfig();
+
+    @Test
+    void testHedgingPolicy_rejectedWithUpstreamBudget() {
+        assertThrows(
+                IllegalStateException.class, () -> appConfig.hedgingPolicy(true, true, 0.95, 10, 0.05, 50, 90_000, 64));
+    }
+
+    @Test
+    void testHedgingPolicy_allowedWithEitherAlone() {
+        assertTrue(appConfig
+                .hedgingPolicy(false, true, 0.95, 10, 0.05, 50, 90_000, 64)
+                .enabled());
+        assertFalse(appConfig
+                .hedgingPolicy(true, false, 0.95, 10, 0.05, 50, 90_000, 64)
+                .enabled());
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.api.exception;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+class ErrorBodyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testRender_producesErrorJson() throws Exception {
+        ResponseEntity<byte[]> response = new ErrorBody("Service \"unavailable\"", 502).toResponseEntity();
+
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertEquals(502, response.getStatusCode().value());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("Service \"unavailable\"", body.get("message").asText());
+        assertEquals(502, body.get("status").asInt());
+        assertTrue(body.get("timestamp").asText().matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}"));
+    }
+
+    @Test
+    void testRender_escapesControlCharacters() throws Exception {
+        String message = "Employee not found with id: a\nb\u0001c\\d\"e";
+
+        JsonNode body = objectMapper.readTree(new ErrorBody(message, 404).render());
+
+        assertEquals(message, body.get("message").asText());
+        assertEquals(404, body.get("status").asInt());
+    }
+
+    @Test
+    void testRender_reusesBytesWithinSameSecond() {
+        ErrorBody errorBody = new ErrorBody("Internal Server Error", 500);
+
+        long second = System.currentTimeMillis() / 1000;
+        byte[] first = errorBody.render();
+        byte[] again = errorBody.render();
+
+        if (System.currentTimeMillis() / 1000 == second) {
+            assertSame(first, again);
+        }
+    }
+}
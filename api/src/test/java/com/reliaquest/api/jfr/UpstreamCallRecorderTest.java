@@ -0,0 +1,131 @@
+package com.reliaquest.api.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+class UpstreamCallRecorderTest {
+
+    private static final String ID = "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507";
+
+    @Test
+    void testTemplate_replacesTrailingIdOnly() {
+        assertEquals("/api/v1/employee/{id}", UpstreamCallRecorder.template("/api/v1/employee/" + ID));
+        assertEquals("/api/v1/employee", UpstreamCallRecorder.template("/api/v1/employee"));
+        assertEquals("/api/v1/employee/search", UpstreamCallRecorder.template("/api/v1/employee/search"));
+    }
+
+    @Test
+    void testIntercept_commitsEventWhenResponseIsClosed() throws Exception {
+        byte[] body = "{\"data\":[]}".getBytes();
+        List<RecordedEvent> events = record(() -> {
+            ClientHttpResponse response = new UpstreamCallRecorder()
+                    .intercept(request("/api/v1/employee/" + ID), new byte[0], (r, b) -> response(body));
+            try (InputStream in = response.getBody()) {
+                in.readAllBytes();
+            }
+            response.close();
+            response.close();
+        });
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("GET", event.getString("method"));
+        assertEquals("/api/v1/employee/{id}", event.getString("urlTemplate"));
+        assertEquals(200, event.getInt("status"));
+        assertEquals(body.length, event.getLong("bytes"));
+    }
+
+    @Test
+    void testIntercept_commitsEventWithoutStatusOnIoFailure() throws Exception {
+        List<RecordedEvent> events = record(() -> assertThrows(IOException.class, () -> new UpstreamCallRecorder()
+                .intercept(request("/api/v1/employee"), new byte[0], (r, b) -> {
+                    throw new IOException("connection reset");
+                })));
+
+        assertEquals(1, events.size());
+        assertEquals(0, events.get(0).getInt("status"));
+    }
+
+    private interface Exchange {
+        void run() throws Exception;
+    }
+
+    private static List<RecordedEvent> record(Exchange exchange) throws Exception {
+        Path file = Files.createTempFile("upstream-call", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(UpstreamCallEvent.class);
+            recording.start();
+            exchange.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("com.reliaquest.api.UpstreamCall"))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static HttpRequest request(String path) {
+        return new HttpRequest() {
+            @Override
+            public HttpMethod getMethod() {
+                return HttpMethod.GET;
+            }
+
+            @Override
+            public URI getURI() {
+                return URI.create("http://localhost:8112" + path);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return new HttpHeaders();
+            }
+        };
+    }
+
+    private static ClientHttpResponse response(byte[] body) {
+        return new ClientHttpResponse() {
+            @Override
+            public HttpStatusCode getStatusCode() {
+                return HttpStatus.OK;
+            }
+
+            @Override
+            public String getStatusText() {
+                return "OK";
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return new HttpHeaders();
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public void close() {}
+        };
+    }
+}
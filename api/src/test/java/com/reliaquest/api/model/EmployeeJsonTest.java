@@ -0,0 +1,69 @@
+package com.reliaquest.api.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmployeeJsonTest {
+
+    private static final String JSON =
+            "{\"id\":\"d005f39a-beb8-4390-afec-fd54e91d94ee\",\"employee_name\":\"Manish Sisod\","
+                    + "\"employee_salary\":139082,\"employee_age\":48,\"employee_title\":\"Financial Advisor\","
+                    + "\"employee_email\":\"msisod@company.com\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Employee employee = new Employee(
+            UUID.fromString("d005f39a-beb8-4390-afec-fd54e91d94ee"),
+            "Manish Sisod",
+            139082,
+            48,
+            "Financial Advisor",
+            "msisod@company.com");
+
+    @Test
+    void testSerialize_writesUpstreamFieldNamesInOrder() throws Exception {
+        assertEquals(JSON, objectMapper.writeValueAsString(employee));
+    }
+
+    @Test
+    void testDeserialize_fromTreeAndStream() throws Exception {
+        JsonNode tree = objectMapper.readTree("[" + JSON + "," + JSON + "]");
+
+        Employee[] fromTree = objectMapper.treeToValue(tree, Employee[].class);
+
+        assertEquals(2, fromTree.length);
+        assertEquals(employee, fromTree[1]);
+        assertEquals(employee, objectMapper.readValue(JSON, Employee.class));
+    }
+
+    @Test
+    void testDeserialize_nullsAndCoercedNumbers() throws Exception {
+        Employee parsed = objectMapper.readValue(
+                "{\"id\":null,\"employee_name\":null,\"employee_salary\":\"5000\",\"employee_age\":null}",
+                Employee.class);
+
+        assertNull(parsed.getId());
+        assertNull(parsed.getEmployee_name());
+        assertEquals(5000, parsed.getEmployee_salary());
+        assertEquals(0, parsed.getEmployee_age());
+    }
+
+    @Test
+    void testUnknownProperty_followsMapperConfiguration() throws Exception {
+        String withExtra = JSON.replace("{", "{\"extra\":{\"nested\":[1,2]},");
+
+        assertThrows(UnrecognizedPropertyException.class, () -> objectMapper.readValue(withExtra, Employee.class));
+
+        Employee parsed = objectMapper
+                .copy()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(withExtra, Employee.class);
+        assertEquals(employee, parsed);
+    }
+}
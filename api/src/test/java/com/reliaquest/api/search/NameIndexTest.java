@@ -0,0 +1,106 @@
+package com.reliaquest.api.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.RosterChangedEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+    @Test
+    void testAutocomplete_ranksStartOfNameThenShorterNames() {
+        NameIndex index = NameIndex.of(List.of(
+                employee("Bob Jones"), employee("Johnathan Smith"), employee("John Smith"), employee("Ann Johns")));
+
+        assertEquals(
+                List.of("John Smith", "Johnathan Smith", "Ann Johns", "Bob Jones"),
+                names(index.autocomplete("JO", 10)));
+        assertEquals(List.of("John Smith", "Johnathan Smith"), names(index.autocomplete("jo", 2)));
+        assertEquals(List.of("John Smith"), names(index.autocomplete("john s", 10)));
+        assertEquals(List.of("John Smith"), names(index.autocomplete("john ", 10)));
+        assertEquals(List.of(), index.autocomplete("  ", 10));
+    }
+
+    @Test
+    void testAutocomplete_returnsEveryEmployeeOfAName() {
+        Employee first = employee("Jill Brown");
+        Employee second = employee("jill  brown");
+        NameIndex index = NameIndex.of(List.of(first, employee("Jill Bronson"), second));
+
+        assertEquals(List.of(first, second), index.autocomplete("jill brow", 10));
+    }
+
+    @Test
+    void testFuzzy_toleratesTyposClosestFirst() {
+        NameIndex index = NameIndex.of(
+                List.of(employee("John Smith"), employee("Joan Smyth"), employee("Jon Smith"), employee("Eve Nixon")));
+
+        // A transposition is two edits.
+        assertEquals(List.of("Jon Smith", "Joan Smyth", "John Smith"), names(index.fuzzy("jhon", 2, 10)));
+        assertEquals(List.of("Jon Smith", "Joan Smyth", "John Smith"), names(index.fuzzy("jon", 1, 10)));
+        assertEquals(List.of("Jon Smith"), names(index.fuzzy("jon", 0, 10)));
+        assertEquals(List.of("Jon Smith"), names(index.fuzzy("Smith Jonh", null, 10)));
+        assertEquals(List.of("Jon Smith", "John Smith", "Joan Smyth"), names(index.fuzzy("Smith Jonh", 2, 10)));
+        assertEquals(List.of(), index.fuzzy("smith zzz", null, 10));
+    }
+
+    @Test
+    void testApply_isIncrementalAndIdempotent() {
+        Employee john = employee("John Smith");
+        NameIndex index = new NameIndex();
+        index.apply(new RosterChangedEvent(RosterChangedEvent.Type.CREATED, john));
+        index.apply(new RosterChangedEvent(RosterChangedEvent.Type.CREATED, john));
+        assertEquals(1, index.size());
+        assertEquals(List.of(john), index.autocomplete("smi", 10));
+
+        Employee renamedCopy = new Employee(john.getId(), "Someone Else", 0, 0, null, null);
+        index.apply(new RosterChangedEvent(RosterChangedEvent.Type.DELETED, renamedCopy));
+        index.apply(new RosterChangedEvent(RosterChangedEvent.Type.DELETED, john));
+
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.autocomplete("smi", 10));
+        assertEquals(List.of(), index.fuzzy("smith", 0, 10));
+    }
+
+    @Test
+    void testRandomRoster_matchesScan() {
+        Random random = new Random(7);
+        String[] words = {"ann", "anna", "bob", "bobby", "jill", "jo", "joe", "jones", "smith", "smyth", "o'neil"};
+        List<Employee> roster = new ArrayList<>();
+        NameIndex index = new NameIndex();
+        for (int i = 0; i < 2_000; i++) {
+            Employee employee =
+                    employee(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]);
+            roster.add(employee);
+            index.add(employee);
+            if (random.nextInt(3) == 0) {
+                index.remove(roster.remove(random.nextInt(roster.size())));
+            }
+        }
+
+        for (String prefix : List.of("a", "jo", "bob b", "smith j", "o'")) {
+            long expected = roster.stream()
+                    .map(employee -> " " + employee.getEmployee_name().toLowerCase())
+                    .filter(name -> name.contains(" " + prefix))
+                    .count();
+            assertEquals(expected, index.autocomplete(prefix, 10_000).size(), prefix);
+        }
+        long smith = roster.stream()
+                .filter(employee -> employee.getEmployee_name().matches(".*\\bsm[iy]th\\b.*"))
+                .count();
+        assertEquals(smith, index.fuzzy("smith", 1, 10_000).size());
+    }
+
+    private static Employee employee(String name) {
+        return new Employee(UUID.randomUUID(), name, 100_000, 30, "Title", "e@company.com");
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getEmployee_name).toList();
+    }
+}
@@ -5,9 +5,16 @@ import static org.mockito.Mockito.*;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeIdCache;
+import com.reliaquest.api.cache.RosterCache;
 import com.reliaquest.api.exception.EmployeeServiceException;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.upstream.HedgedRequests;
+import com.reliaquest.api.upstream.HedgingPolicy;
+import com.reliaquest.api.upstream.Shards;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import com.reliaquest.api.write.WriteBehindQueue;
 import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,7 +42,17 @@ class EmployeeServiceTest {
     @BeforeEach
     void setup() throws Exception {
         MockitoAnnotations.openMocks(this);
-        employeeService = new EmployeeService(restTemplate, objectMapper);
+        employeeService = new EmployeeService(
+                restTemplate,
+                objectMapper,
+                new HedgedRequests(HedgingPolicy.disabled()),
+                Shards.single(),
+                UpstreamScheduler.disabled(),
+                RosterScanner.sequential(),
+                RosterCache.disabled(),
+                EmployeeIdCache.disabled(),
+                WriteBehindQueue.disabled(),
+                event -> {});
 
         sampleEmployee = new Employee(
                 UUID.fromString("d005f39a-beb8-4390-afec-fd54e91d94ee"),
@@ -91,6 +108,7 @@ class EmployeeServiceTest {
         employeeListJson = objectMapper.readTree(listJson);
 
         ReflectionTestUtils.setField(employeeService, "SERVER_BASE_URL", "http://localhost:8112");
+        employeeService.registerUpstream();
     }
 
     @Test
@@ -136,7 +154,10 @@ class EmployeeServiceTest {
 
     @Test
     void testGetEmployeeById_success() {
-        when(restTemplate.getForEntity(contains("/d005f39a-beb8-4390-afec-fd54e91d94ee"), eq(JsonNode.class)))
+        when(restTemplate.getForEntity(
+                        eq("http://localhost:8112/api/v1/employee/{id}"),
+                        eq(JsonNode.class),
+                        eq("d005f39a-beb8-4390-afec-fd54e91d94ee")))
                 .thenReturn(ResponseEntity.ok(employeeJson));
 
         Employee emp = employeeService.getEmployeeById("d005f39a-beb8-4390-afec-fd54e91d94ee");
@@ -153,7 +174,10 @@ class EmployeeServiceTest {
 
     @Test
     void testDeleteEmployee_success() {
-        when(restTemplate.getForEntity(contains("/d005f39a-beb8-4390-afec-fd54e91d94ee"), eq(JsonNode.class)))
+        when(restTemplate.getForEntity(
+                        eq("http://localhost:8112/api/v1/employee/{id}"),
+                        eq(JsonNode.class),
+                        eq("d005f39a-beb8-4390-afec-fd54e91d94ee")))
                 .thenReturn(ResponseEntity.ok(employeeJson));
 
         ResponseEntity<JsonNode> deleteResponse =
@@ -0,0 +1,85 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RosterScannerTest {
+
+    private final RosterScanner parallel = new RosterScanner(1, 4);
+
+    @AfterEach
+    void shutdown() {
+        parallel.shutdown();
+    }
+
+    @Test
+    void testParallelScans_matchSequentialStreams() {
+        Employee[] roster = roster(50_000, 1_000);
+
+        List<Employee> expectedTop = Arrays.stream(roster)
+                .sorted(Comparator.comparingInt(Employee::getEmployee_salary).reversed())
+                .limit(10)
+                .collect(Collectors.toList());
+        List<Employee> expectedMatches = Arrays.stream(roster)
+                .filter(e -> e.getEmployee_name().contains("7"))
+                .collect(Collectors.toList());
+        int expectedMax = Arrays.stream(roster)
+                .mapToInt(Employee::getEmployee_salary)
+                .max()
+                .orElseThrow();
+
+        assertEquals(expectedTop, parallel.topBySalary(roster, 10));
+        assertEquals(expectedMatches, parallel.filter(roster, e -> e.getEmployee_name()
+                .contains("7")));
+        assertEquals(expectedMax, parallel.maxSalary(roster).orElseThrow());
+    }
+
+    @Test
+    void testTopBySalary_keepsRosterOrderAmongTies() {
+        Employee[] roster = roster(5_000, 3);
+
+        List<Employee> top = parallel.topBySalary(roster, 10);
+
+        List<Employee> expected = Arrays.stream(roster)
+                .filter(e -> e.getEmployee_salary() == 2)
+                .limit(10)
+                .collect(Collectors.toList());
+        assertEquals(expected, top);
+    }
+
+    @Test
+    void testSmallAndEmptyRosters() {
+        RosterScanner sequential = RosterScanner.sequential();
+        Employee[] roster = roster(3, 100);
+
+        assertEquals(3, sequential.topBySalary(roster, 10).size());
+        assertTrue(sequential.maxSalary(new Employee[0]).isEmpty());
+        assertTrue(parallel.topBySalary(new Employee[0], 10).isEmpty());
+        assertTrue(parallel.filter(new Employee[0], e -> true).isEmpty());
+        sequential.shutdown();
+    }
+
+    private static Employee[] roster(int size, int distinctSalaries) {
+        Random random = new Random(7);
+        Employee[] roster = new Employee[size];
+        for (int i = 0; i < size; i++) {
+            roster[i] = new Employee(
+                    UUID.randomUUID(),
+                    "Employee " + i,
+                    random.nextInt(distinctSalaries),
+                    30,
+                    "Title",
+                    "employee" + i + "@company.com");
+        }
+        return roster;
+    }
+}
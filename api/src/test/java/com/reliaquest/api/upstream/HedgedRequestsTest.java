@@ -0,0 +1,181 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class HedgedRequestsTest {
+
+    private HedgedRequests hedgedRequests;
+
+    @AfterEach
+    void tearDown() {
+        if (hedgedRequests != null) {
+            hedgedRequests.shutdown();
+        }
+    }
+
+    @Test
+    void testDisabled_runsOnCallingThread() {
+        hedgedRequests = new HedgedRequests(HedgingPolicy.disabled());
+
+        String thread =
+                hedgedRequests.execute("op", () -> Thread.currentThread().getName());
+
+        assertEquals(Thread.currentThread().getName(), thread);
+        assertEquals(0, hedgedRequests.stats().hedged());
+    }
+
+    @Test
+    void testSlowPrimary_hedgeWins() {
+        hedgedRequests = new HedgedRequests(policy(1.0));
+        warmUp();
+
+        AtomicInteger attempts = new AtomicInteger();
+        String result = hedgedRequests.execute("op", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(5_000);
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1, hedgedRequests.stats().hedged());
+        assertEquals(1, hedgedRequests.stats().hedgeWins());
+    }
+
+    @Test
+    void testNoBudget_waitsForPrimary() {
+        hedgedRequests = new HedgedRequests(policy(0));
+        warmUp();
+
+        AtomicInteger attempts = new AtomicInteger();
+        String result = hedgedRequests.execute("op", () -> {
+            attempts.incrementAndGet();
+            sleep(100);
+            return "primary";
+        });
+
+        assertEquals("primary", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedgedRequests.stats().hedged());
+        assertTrue(hedgedRequests.stats().budgetDenied() > 0);
+    }
+
+    @Test
+    void testSaturated_skipsHedgeThenRunsPrimaryOnCaller() throws Exception {
+        hedgedRequests = new HedgedRequests(policy(1.0, 2));
+        warmUp();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> blockers = new ArrayList<>();
+        blockers.add(block(release, 1));
+
+        long before = hedgedRequests.stats().saturated();
+        AtomicInteger attempts = new AtomicInteger();
+        String result = hedgedRequests.execute("op", () -> {
+            attempts.incrementAndGet();
+            sleep(100);
+            return "primary";
+        });
+
+        assertEquals("primary", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedgedRequests.stats().hedged());
+        assertEquals(before + 1, hedgedRequests.stats().saturated());
+
+        blockers.add(block(release, 2));
+        String thread =
+                hedgedRequests.execute("op", () -> Thread.currentThread().getName());
+        release.countDown();
+        for (Thread blocker : blockers) {
+            blocker.join();
+        }
+
+        assertEquals(Thread.currentThread().getName(), thread);
+        assertEquals(before + 2, hedgedRequests.stats().saturated());
+    }
+
+    @Test
+    void testFailure_propagatesOriginalException() {
+        hedgedRequests = new HedgedRequests(policy(1.0));
+
+        assertThrows(
+                HttpClientErrorException.NotFound.class,
+                () -> hedgedRequests.execute("op", () -> {
+                    throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+                }));
+    }
+
+    /*
+     * Occupies one attempt thread until released; waits until that makes blocked of them busy and the others
+     * idle, so that the next submission finds exactly what the test expects.
+     */
+    private Thread block(CountDownLatch release, int blocked) throws InterruptedException {
+        Thread blocker = new Thread(() -> hedgedRequests.execute("unsampled", () -> {
+            await(release);
+            return "blocked";
+        }));
+        blocker.start();
+        awaitTrue(() -> {
+            List<Thread.State> states = Thread.getAllStackTraces().keySet().stream()
+                    .filter(t -> t.getName().startsWith("upstream-hedge-"))
+                    .map(Thread::getState)
+                    .toList();
+            return states.stream()
+                                    .filter(state -> state == Thread.State.WAITING)
+                                    .count()
+                            == blocked
+                    && states.stream().allMatch(state -> state != Thread.State.RUNNABLE);
+        });
+        return blocker;
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < 5; i++) {
+            hedgedRequests.execute("op", () -> "warm");
+        }
+    }
+
+    private static HedgingPolicy policy(double budgetRatio) {
+        return policy(budgetRatio, 16);
+    }
+
+    private static HedgingPolicy policy(double budgetRatio, int maxThreads) {
+        return new HedgingPolicy(true, 0.5, Duration.ofMillis(20), budgetRatio, 5, Duration.ofSeconds(1), maxThreads);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
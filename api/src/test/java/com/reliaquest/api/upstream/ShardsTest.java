@@ -0,0 +1,111 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.common.id.UuidKey;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ShardsTest {
+
+    private static final String URLS = "http://shard-0, http://shard-1,http://shard-2";
+
+    private Shards shards;
+
+    @AfterEach
+    void tearDown() {
+        if (shards != null) {
+            shards.shutdown();
+        }
+    }
+
+    @Test
+    void testSingle_isNotSharded() {
+        shards = Shards.single();
+
+        assertFalse(shards.isSharded());
+        assertEquals(0, shards.count());
+    }
+
+    @Test
+    void testShardOf_splitsTheIdSpaceIntoEqualRanges() {
+        shards = new Shards(URLS, 1000, false);
+
+        assertEquals(3, shards.count());
+        assertEquals("http://shard-1", shards.baseUrl(1));
+        assertEquals(0, shards.shardOf(UuidKey.of(new UUID(0L, 1L))));
+        assertEquals(1, shards.shardOf(UuidKey.of(new UUID(0x5555_5556_0000_0000L, 1L))));
+        assertEquals(2, shards.shardOf(UuidKey.of(new UUID(-1L, -1L))));
+    }
+
+    @Test
+    void testScatter_answersInShardOrder() {
+        shards = new Shards(URLS, 1000, false);
+
+        List<String> answers = shards.scatter(shard -> {
+            sleep(30L * (3 - shard));
+            return shards.baseUrl(shard);
+        });
+
+        assertEquals(Arrays.asList("http://shard-0", "http://shard-1", "http://shard-2"), answers);
+        assertEquals(1, shards.stats().scatters());
+    }
+
+    @Test
+    void testScatter_slowShardFailsTheQuery() {
+        shards = new Shards(URLS, 100, false);
+
+        assertThrows(
+                UpstreamUnavailableException.class,
+                () -> shards.scatter(shard -> {
+                    if (shard == 1) {
+                        sleep(5_000);
+                    }
+                    return shard;
+                }));
+        assertEquals(1, shards.stats().shardFailures());
+    }
+
+    @Test
+    void testScatter_allowPartial_leavesFailedShardsOut() {
+        shards = new Shards(URLS, 100, true);
+
+        List<Integer> answers = shards.scatter(shard -> {
+            if (shard == 0) {
+                throw new IllegalStateException("down");
+            }
+            if (shard == 2) {
+                sleep(5_000);
+            }
+            return shard;
+        });
+
+        assertEquals(Arrays.asList(null, 1, null), answers);
+        assertEquals(2, shards.stats().shardFailures());
+        assertEquals(1, shards.stats().partialResults());
+    }
+
+    @Test
+    void testScatter_allowPartial_failsWhenNoShardAnswers() {
+        shards = new Shards(URLS, 100, true);
+
+        IllegalStateException e = assertThrows(
+                IllegalStateException.class,
+                () -> shards.scatter(shard -> {
+                    throw new IllegalStateException("down");
+                }));
+        assertEquals("down", e.getMessage());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.UpstreamBudgetExhaustedException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class UpstreamSchedulerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testAcquire_refreshesLeaveReserveToUserCalls() {
+        UpstreamScheduler scheduler = scheduler(5, 2);
+
+        assertTrue(scheduler.tryAcquire(true));
+        assertTrue(scheduler.tryAcquire(true));
+        assertTrue(scheduler.tryAcquire(true));
+        assertFalse(scheduler.tryAcquire(true));
+        scheduler.acquire();
+        scheduler.acquire();
+
+        UpstreamBudgetExhaustedException ex = assertThrows(UpstreamBudgetExhaustedException.class, scheduler::acquire);
+        assertEquals(90, ex.getRetryAfterSeconds());
+        assertEquals(1, scheduler.stats().denied());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(90));
+        scheduler.acquire();
+        assertEquals(4, scheduler.stats().remaining());
+    }
+
+    @Test
+    void testOnResponse_followsServerHeaders() {
+        UpstreamScheduler scheduler = scheduler(5, 2);
+        scheduler.acquire();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(UpstreamScheduler.LIMIT_HEADER, "8");
+        headers.set(UpstreamScheduler.REMAINING_HEADER, "2");
+        scheduler.onResponse(200, headers);
+        assertEquals(8, scheduler.stats().limit());
+        assertEquals(2, scheduler.stats().remaining());
+
+        HttpHeaders rejected = new HttpHeaders();
+        rejected.set(HttpHeaders.RETRY_AFTER, "30");
+        scheduler.onResponse(429, rejected);
+        assertEquals(
+                30,
+                assertThrows(UpstreamBudgetExhaustedException.class, scheduler::acquire)
+                        .getRetryAfterSeconds());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        scheduler.acquire();
+        assertEquals(7, scheduler.stats().remaining());
+        assertEquals(1, scheduler.stats().rateLimited());
+    }
+
+    @Test
+    void testTick_refreshesDueEntriesFromSpareBudget() {
+        UpstreamScheduler scheduler = scheduler(5, 2);
+        AtomicInteger dueRefreshes = new AtomicInteger();
+        AtomicInteger laterRefreshes = new AtomicInteger();
+        scheduler.register(task(scheduler, 0, dueRefreshes));
+        scheduler.register(task(scheduler, 1_000, laterRefreshes));
+
+        scheduler.tick();
+
+        assertEquals(3, dueRefreshes.get());
+        assertEquals(0, laterRefreshes.get());
+        assertEquals(3, scheduler.stats().refreshes());
+        assertEquals(1, scheduler.stats().refreshesDeferred());
+        // The reserve is still there for user calls.
+        scheduler.acquire();
+        scheduler.acquire();
+    }
+
+    @Test
+    void testNextTtl_doublesWhileUnchangedHalvesOnChange() {
+        UpstreamScheduler scheduler = scheduler(5, 2);
+
+        assertEquals(2_000, scheduler.nextTtlNanos(1_000, 1_000, false));
+        assertEquals(8_000, scheduler.nextTtlNanos(1_000, 8_000, false));
+        assertEquals(4_000, scheduler.nextTtlNanos(1_000, 8_000, true));
+        assertEquals(1_000, scheduler.nextTtlNanos(1_000, 1_000, true));
+    }
+
+    @Test
+    void testDisabled_admitsEverything() {
+        UpstreamScheduler scheduler = UpstreamScheduler.disabled();
+
+        for (int i = 0; i < 100; i++) {
+            scheduler.acquire();
+        }
+        assertEquals(0, scheduler.stats().admitted());
+    }
+
+    private UpstreamScheduler scheduler(int requests, int reserve) {
+        return new UpstreamScheduler(
+                true, requests, TimeUnit.SECONDS.toNanos(90), reserve, 0.8, 8, TimeUnit.SECONDS.toNanos(1), now::get);
+    }
+
+    private static UpstreamScheduler.RefreshAhead task(
+            UpstreamScheduler scheduler, long dueInNanos, AtomicInteger refreshes) {
+        return new UpstreamScheduler.RefreshAhead() {
+            @Override
+            public long refreshDueInNanos() {
+                return dueInNanos;
+            }
+
+            @Override
+            public void refreshAhead() {
+                scheduler.acquire();
+                refreshes.incrementAndGet();
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    void testSteadyLatencyUnderLoad_growsLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(true, 20, 4, 200, 0.5);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(FAST, limiter.limit());
+        }
+
+        assertTrue(limiter.limit() > 40, "limit was " + limiter.limit());
+    }
+
+    @Test
+    void testRisingLatency_shrinksLimitToFloor() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(true, 100, 4, 200, 0.5);
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(FAST, limiter.limit());
+        }
+        int before = limiter.limit();
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(SLOW, limiter.limit());
+        }
+
+        assertTrue(limiter.limit() < before / 2, "limit went from " + before + " to " + limiter.limit());
+    }
+
+    @Test
+    void testIdleLimiter_doesNotGrow() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(true, 20, 4, 200, 0.5);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(FAST, 1);
+        }
+
+        assertEquals(20, limiter.limit());
+    }
+
+    @Test
+    void testWrites_shedBeforeReads() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(true, 4, 4, 4, 0.5);
+
+        assertEquals(1, limiter.tryAcquire(true));
+        assertEquals(2, limiter.tryAcquire(true));
+        assertEquals(-1, limiter.tryAcquire(true));
+        assertEquals(3, limiter.tryAcquire(false));
+        assertEquals(4, limiter.tryAcquire(false));
+        assertEquals(-1, limiter.tryAcquire(false));
+
+        limiter.release(FAST, 4);
+        assertEquals(4, limiter.tryAcquire(false));
+        assertEquals(2, limiter.stats().rejected());
+    }
+}
@@ -0,0 +1,264 @@
+package com.reliaquest.api.write;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.exception.WriteQueueFullException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.RosterChangedEvent;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WriteBehindQueueTest {
+
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private final List<String> upstreamCalls = new CopyOnWriteArrayList<>();
+    private final List<WriteBehindQueue> queues = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        for (WriteBehindQueue queue : queues) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void testCreate_visibleAtOnceThenReplacedByUpstreamEmployee() throws Exception {
+        WriteBehindQueue queue = queue(10, 10, 300, new RecordingUpstream());
+
+        Employee first = queue.create(input("First"));
+        Employee second = queue.create(input("Second"));
+
+        assertArrayEquals(new Employee[] {first, second}, queue.applyTo(new Employee[0]));
+        assertSame(first, queue.findPendingCreate(first.getId()));
+
+        awaitTrue(() -> queue.stats().flushed() == 2);
+        assertEquals(List.of("create First", "create Second"), upstreamCalls);
+        assertEquals(0, queue.applyTo(new Employee[0]).length);
+        assertNull(queue.findPendingCreate(first.getId()));
+        assertNotEquals(first.getId(), queue.resolveId(first.getId()));
+        // Accepted locally, then the provisional employee swapped for the created one.
+        assertEquals(6, events.size());
+        assertEquals(RosterChangedEvent.Type.DELETED, ((RosterChangedEvent) events.get(2)).type());
+        assertSame(first, ((RosterChangedEvent) events.get(2)).employee());
+    }
+
+    @Test
+    void testDelete_beforeFlushCancelsBothWrites() throws Exception {
+        WriteBehindQueue queue = queue(10, 10, 300, new RecordingUpstream());
+
+        Employee created = queue.create(input("Gone"));
+        queue.delete(created);
+        Employee kept = queue.create(input("Kept"));
+
+        assertArrayEquals(new Employee[] {kept}, queue.applyTo(new Employee[0]));
+        awaitTrue(() -> queue.stats().flushed() == 1);
+        assertEquals(List.of("create Kept"), upstreamCalls);
+        assertEquals(1, queue.stats().coalesced());
+    }
+
+    @Test
+    void testDelete_hidesEmployeeUntilFlushed() throws Exception {
+        WriteBehindQueue queue = queue(10, 10, 300, new RecordingUpstream());
+        Employee existing = new Employee(UUID.randomUUID(), "Existing", 100, 30, "Title", "existing@company.com");
+
+        queue.delete(existing);
+
+        assertTrue(queue.isPendingDelete(existing.getId()));
+        assertEquals(0, queue.applyTo(new Employee[] {existing}).length);
+        awaitTrue(() -> queue.stats().flushed() == 1);
+        assertEquals(List.of("delete Existing"), upstreamCalls);
+        assertFalse(queue.isPendingDelete(existing.getId()));
+    }
+
+    @Test
+    void testUnavailableUpstream_retriedInOrder() throws Exception {
+        AtomicInteger failures = new AtomicInteger(2);
+        WriteBehindQueue queue = queue(10, 10, 1, new RecordingUpstream() {
+            @Override
+            public Employee create(EmployeeInput input) {
+                if (input.getName().equals("First") && failures.getAndDecrement() > 0) {
+                    throw new UpstreamUnavailableException("Unable to create employee", null);
+                }
+                return super.create(input);
+            }
+        });
+
+        queue.create(input("First"));
+        queue.create(input("Second"));
+
+        awaitTrue(() -> queue.stats().flushed() == 2);
+        assertEquals(List.of("create First", "create Second"), upstreamCalls);
+        assertEquals(2, queue.stats().retries());
+        assertEquals(0, queue.stats().failed());
+    }
+
+    @Test
+    void testBudgetDenial_waitsWithoutSpendingAttempts() throws Exception {
+        // One request per second; the queue's five attempts with 10-40 ms backoff would run out well within that.
+        UpstreamScheduler scheduler = new UpstreamScheduler(true, 1, 1_000, 0, 0.8, 1, 60_000);
+        WriteBehindQueue queue = queue(10, 10, 1, new RecordingUpstream() {
+            @Override
+            public Employee create(EmployeeInput input) {
+                scheduler.acquire();
+                return super.create(input);
+            }
+        });
+
+        queue.create(input("First"));
+        queue.create(input("Second"));
+
+        awaitTrue(() -> queue.stats().flushed() == 2);
+        assertEquals(List.of("create First", "create Second"), upstreamCalls);
+        assertEquals(0, queue.stats().failed());
+        assertEquals(1, queue.stats().retries());
+        assertEquals(1, scheduler.stats().denied());
+    }
+
+    @Test
+    void testRejectedCreate_undoneLocallyWithQueuedDelete() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehindQueue queue = queue(10, 1, 1, new RecordingUpstream() {
+            @Override
+            public Employee create(EmployeeInput input) {
+                entered.countDown();
+                await(release);
+                throw new EmployeeServiceException("Unable to create employee", null);
+            }
+        });
+
+        Employee created = queue.create(input("Rejected"));
+        entered.await();
+        // The create is in flight, so the delete has to queue behind it.
+        queue.delete(created);
+        release.countDown();
+
+        awaitTrue(() -> queue.stats().depth() == 0);
+        assertEquals(1, queue.stats().failed());
+        assertTrue(upstreamCalls.isEmpty());
+        assertEquals(0, queue.applyTo(new Employee[0]).length);
+        assertFalse(queue.isPendingDelete(created.getId()));
+    }
+
+    @Test
+    void testWriteCancelledDuringFlush_leavesInFlightCount() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch laterEntered = new CountDownLatch(1);
+        CountDownLatch laterRelease = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        WriteBehindQueue queue = queue(10, 3, 1, new RecordingUpstream() {
+            @Override
+            public Employee create(EmployeeInput input) {
+                if (input.getName().equals("Later")) {
+                    laterEntered.countDown();
+                    await(laterRelease);
+                    return super.create(input);
+                }
+                if (attempts.getAndIncrement() == 0) {
+                    entered.countDown();
+                    await(release);
+                    throw new UpstreamUnavailableException("Unable to create employee", null);
+                }
+                throw new EmployeeServiceException("Unable to create employee", null);
+            }
+        });
+
+        Employee rejected = queue.create(input("Rejected"));
+        entered.await();
+        // Queued behind the create in flight, then retried with it in one batch.
+        queue.delete(rejected);
+        queue.create(input("Later"));
+        release.countDown();
+
+        // The rejected create cancelled the delete; only the later create is still in flight.
+        laterEntered.await();
+        assertEquals(1, queue.stats().depth());
+        laterRelease.countDown();
+        awaitTrue(() -> queue.stats().flushed() == 1);
+        assertEquals(0, queue.stats().depth());
+        assertEquals(1, queue.stats().failed());
+        assertEquals(List.of("create Later"), upstreamCalls);
+    }
+
+    @Test
+    void testFullQueue_rejectsAfterOfferTimeout() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehindQueue queue = queue(2, 1, 1, new RecordingUpstream() {
+            @Override
+            public Employee create(EmployeeInput input) {
+                entered.countDown();
+                await(release);
+                return super.create(input);
+            }
+        });
+
+        queue.create(input("InFlight"));
+        entered.await();
+        queue.create(input("Queued1"));
+        queue.create(input("Queued2"));
+
+        assertThrows(WriteQueueFullException.class, () -> queue.create(input("Rejected")));
+        assertEquals(1, queue.stats().rejected());
+        assertEquals(3, queue.applyTo(new Employee[0]).length);
+
+        release.countDown();
+        awaitTrue(() -> queue.stats().flushed() == 3);
+    }
+
+    private WriteBehindQueue queue(int capacity, int batchSize, long flushIntervalMillis, RecordingUpstream upstream) {
+        WriteBehindQueue queue =
+                new WriteBehindQueue(events::add, true, capacity, batchSize, flushIntervalMillis, 20, 5, 10, 40, 1_000);
+        queue.setUpstream(upstream);
+        queue.start();
+        queues.add(queue);
+        return queue;
+    }
+
+    private static EmployeeInput input(String name) {
+        return new EmployeeInput(name, 100, 30, "Title");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private class RecordingUpstream implements WriteBehindQueue.Upstream {
+
+        @Override
+        public Employee create(EmployeeInput input) {
+            upstreamCalls.add("create " + input.getName());
+            return new Employee(
+                    UUID.randomUUID(), input.getName(), input.getSalary(), input.getAge(), input.getTitle(), "e@x.com");
+        }
+
+        @Override
+        public void delete(Employee employee) {
+            upstreamCalls.add("delete " + employee.getEmployee_name());
+        }
+    }
+}
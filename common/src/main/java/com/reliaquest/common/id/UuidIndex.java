@@ -0,0 +1,169 @@
+package com.reliaquest.common.id;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from a UUID, held as its two longs, to a value: open addressing with linear probing over parallel primitive
+ * arrays, so a lookup neither boxes a key nor builds a {@link java.util.UUID}. Deletion shifts the following entries of
+ * the probe run back instead of leaving tombstones. Null values are not allowed. Not thread-safe.
+ */
+public class UuidIndex<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] msbs;
+    private long[] lsbs;
+    private Object[] values;
+    private int size;
+
+    public UuidIndex() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    public UuidIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    static int hash(long msb, long lsb) {
+        // Random UUIDs are already well mixed, but name-based or sequential ones need the extra spreading.
+        var h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return (int) (h ^ h >>> 32);
+    }
+
+    public V get(UuidKey key) {
+        return get(key.mostSignificantBits(), key.leastSignificantBits());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long msb, long lsb) {
+        final var slot = find(msb, lsb);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public boolean containsKey(long msb, long lsb) {
+        return find(msb, lsb) >= 0;
+    }
+
+    public V put(UuidKey key, V value) {
+        return put(key.mostSignificantBits(), key.leastSignificantBits(), value);
+    }
+
+    /**
+     * @return the previous value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long msb, long lsb, V value) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        final var mask = values.length - 1;
+        for (int slot = hash(msb, lsb) & mask; ; slot = (slot + 1) & mask) {
+            final var current = values[slot];
+            if (current == null) {
+                msbs[slot] = msb;
+                lsbs[slot] = lsb;
+                values[slot] = value;
+                if (++size > values.length / 2) {
+                    resize(values.length * 2);
+                }
+                return null;
+            }
+            if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                values[slot] = value;
+                return (V) current;
+            }
+        }
+    }
+
+    public V putIfAbsent(long msb, long lsb, V value) {
+        final var existing = get(msb, lsb);
+        return existing != null ? existing : put(msb, lsb, value);
+    }
+
+    public V remove(UuidKey key) {
+        return remove(key.mostSignificantBits(), key.leastSignificantBits());
+    }
+
+    /**
+     * @return the removed value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long msb, long lsb) {
+        var slot = find(msb, lsb);
+        if (slot < 0) {
+            return null;
+        }
+        final var removed = (V) values[slot];
+        final var mask = values.length - 1;
+        // Pull back every later entry of the run whose home slot does not lie between the hole and itself.
+        for (int next = (slot + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            final var home = hash(msbs[next], lsbs[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                msbs[slot] = msbs[next];
+                lsbs[slot] = lsbs[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+        }
+        values[slot] = null;
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int find(long msb, long lsb) {
+        final var mask = values.length - 1;
+        for (int slot = hash(msb, lsb) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        final var oldMsbs = msbs;
+        final var oldLsbs = lsbs;
+        final var oldValues = values;
+        allocate(capacity);
+        final var mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            var slot = hash(oldMsbs[i], oldLsbs[i]) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            msbs[slot] = oldMsbs[i];
+            lsbs[slot] = oldLsbs[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        msbs = new long[capacity];
+        lsbs = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    private static int capacityFor(int expectedSize) {
+        // Keep the load factor at or below one half.
+        final var wanted = Math.max(MIN_CAPACITY, expectedSize * 2);
+        return Integer.highestOneBit(wanted - 1) << 1;
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.common.id;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * An employee id as two longs. Parses and formats only the canonical 36-character form
+ * ({@code xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx}, either case), which is all the upstream produces, with a lookup table
+ * instead of {@link UUID#fromString}'s splitting and per-group parsing.
+ */
+public record UuidKey(long mostSignificantBits, long leastSignificantBits) {
+
+    private static final int LENGTH = 36;
+    private static final byte[] HEX_VALUES = new byte[128];
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    public static UuidKey of(UUID uuid) {
+        return new UuidKey(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code value} is not a canonical UUID
+     */
+    public static UuidKey parse(CharSequence value) {
+        final var key = tryParse(value);
+        if (key == null) {
+            throw new IllegalArgumentException("Invalid UUID: " + value);
+        }
+        return key;
+    }
+
+    /**
+     * @return null if {@code value} is not a canonical UUID
+     */
+    public static UuidKey tryParse(CharSequence value) {
+        if (value == null || value.length() != LENGTH) {
+            return null;
+        }
+        if (value.charAt(8) != '-' || value.charAt(13) != '-' || value.charAt(18) != '-' || value.charAt(23) != '-') {
+            return null;
+        }
+        final var g1 = parseHex(value, 0, 8);
+        final var g2 = parseHex(value, 9, 13);
+        final var g3 = parseHex(value, 14, 18);
+        final var g4 = parseHex(value, 19, 23);
+        final var g5 = parseHex(value, 24, 36);
+        // A group of at most 12 digits never reaches the sign bit, so -1 only ever means a bad digit.
+        if ((g1 | g2 | g3 | g4 | g5) < 0) {
+            return null;
+        }
+        final var high = g1 << 32 | g2 << 16 | g3;
+        final var low = g4 << 48 | g5;
+        return new UuidKey(high, low);
+    }
+
+    public UUID toUuid() {
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    public boolean matches(UUID uuid) {
+        return uuid != null
+                && uuid.getMostSignificantBits() == mostSignificantBits
+                && uuid.getLeastSignificantBits() == leastSignificantBits;
+    }
+
+    @Override
+    public int hashCode() {
+        return UuidIndex.hash(mostSignificantBits, leastSignificantBits);
+    }
+
+    @Override
+    public String toString() {
+        final var chars = new char[LENGTH];
+        formatHex(mostSignificantBits >>> 32, chars, 0, 8);
+        chars[8] = '-';
+        formatHex(mostSignificantBits >>> 16, chars, 9, 4);
+        chars[13] = '-';
+        formatHex(mostSignificantBits, chars, 14, 4);
+        chars[18] = '-';
+        formatHex(leastSignificantBits >>> 48, chars, 19, 4);
+        chars[23] = '-';
+        formatHex(leastSignificantBits, chars, 24, 12);
+        return new String(chars);
+    }
+
+    private static long parseHex(CharSequence value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            final var c = value.charAt(i);
+            final var digit = c < 128 ? HEX_VALUES[c] : -1;
+            if (digit < 0) {
+                return -1;
+            }
+            result = result << 4 | digit;
+        }
+        return result;
+    }
+
+    private static void formatHex(long value, char[] chars, int offset, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX_DIGITS[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+}
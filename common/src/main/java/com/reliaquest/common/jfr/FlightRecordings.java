@@ -0,0 +1,150 @@
+package com.reliaquest.common.jfr;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flight recordings started on demand, for profiling a latency spike while it happens. A recording keeps at most
+ * {@code maxAge} and {@code maxSize} of data in a ring, and can be dumped any number of times while it runs. Custom
+ * events are recorded with every settings file; with no recording running they cost a branch.
+ *
+ * <p>Bounded by the limits given at construction: how many recordings run at once, and the largest age and size each
+ * may keep. The JDK events that capture the environment, system and security properties, JVM arguments and process
+ * command lines are switched off in every recording, since a dump leaves the host. A recording started some other way,
+ * e.g. with {@code -XX:StartFlightRecording}, can still switch them on for the whole JVM.
+ */
+@Slf4j
+public class FlightRecordings implements AutoCloseable {
+
+    static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.InitialSecurityProperty",
+            "jdk.JVMInformation",
+            "jdk.SystemProcess",
+            "jdk.ProcessStart");
+
+    private final String namePrefix;
+    private final int maxRecordings;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    /**
+     * @param namePrefix names recordings and their dump files
+     */
+    public FlightRecordings(String namePrefix, int maxRecordings, Duration maxAge, long maxSizeBytes) {
+        this.namePrefix = namePrefix;
+        this.maxRecordings = maxRecordings;
+        this.maxAge = maxAge;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    /**
+     * @param settings name of a JDK settings file: {@code default} (about 1% overhead) or {@code profile} (about 2%)
+     * @throws IllegalArgumentException if there is no settings file with that name, or the age or size is not positive
+     *     or above its limit
+     * @throws IllegalStateException if the maximum number of recordings is already running
+     */
+    public synchronized RecordingInfo start(String settings, Duration maxAge, long maxSizeBytes) {
+        if (maxAge.isNegative() || maxAge.isZero() || maxAge.compareTo(this.maxAge) > 0) {
+            throw new IllegalArgumentException("Recording age must be between 1 and " + this.maxAge.toSeconds() + " s");
+        }
+        if (maxSizeBytes <= 0 || maxSizeBytes > this.maxSizeBytes) {
+            throw new IllegalArgumentException("Recording size must be between 1 and " + this.maxSizeBytes + " bytes");
+        }
+        if (recordings.size() >= maxRecordings) {
+            throw new IllegalStateException("Already running " + maxRecordings + " recording(s); stop one first");
+        }
+        final Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown recording settings: " + settings, e);
+        }
+        final Map<String, String> eventSettings = new HashMap<>(configuration.getSettings());
+        for (String event : SENSITIVE_EVENTS) {
+            eventSettings.put(event + "#enabled", "false");
+        }
+        final var recording = new Recording(eventSettings);
+        recording.setName(namePrefix + "-" + settings);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        recording.setToDisk(true);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        log.info("Started flight recording {} with {} settings", recording.getId(), settings);
+        return RecordingInfo.of(recording);
+    }
+
+    public List<RecordingInfo> list() {
+        return recordings.values().stream().map(RecordingInfo::of).toList();
+    }
+
+    public boolean contains(long id) {
+        return recordings.containsKey(id);
+    }
+
+    /**
+     * Writes the data recorded so far to {@code out}, through a temporary file that is deleted before returning.
+     *
+     * @return false if there is no such recording
+     */
+    public boolean dumpTo(long id, OutputStream out) throws IOException {
+        final var recording = recordings.get(id);
+        if (recording == null) {
+            return false;
+        }
+        final var file = Files.createTempFile(namePrefix + "-" + id + "-", ".jfr");
+        try {
+            recording.dump(file);
+            Files.copy(file, out);
+            return true;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public Optional<RecordingInfo> stop(long id) {
+        final var recording = recordings.remove(id);
+        if (recording == null) {
+            return Optional.empty();
+        }
+        recording.close();
+        log.info("Closed flight recording {}", id);
+        return Optional.of(RecordingInfo.of(recording));
+    }
+
+    @Override
+    public void close() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    public record RecordingInfo(
+            long id, String name, String state, String startTime, long maxAgeSeconds, long maxSizeBytes) {
+
+        static RecordingInfo of(Recording recording) {
+            return new RecordingInfo(
+                    recording.getId(),
+                    recording.getName(),
+                    recording.getState().name().toLowerCase(),
+                    recording.getStartTime() == null
+                            ? null
+                            : recording.getStartTime().toString(),
+                    recording.getMaxAge() == null ? 0 : recording.getMaxAge().toSeconds(),
+                    recording.getMaxSize());
+        }
+    }
+}
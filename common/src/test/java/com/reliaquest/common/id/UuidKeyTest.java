@@ -0,0 +1,72 @@
+package com.reliaquest.common.id;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidKeyTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void testParse_roundTripsWithUuid() {
+        for (int i = 0; i < 1_000; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+
+            UuidKey key = UuidKey.parse(uuid.toString());
+
+            assertEquals(uuid, key.toUuid());
+            assertEquals(uuid.toString(), key.toString());
+            assertTrue(key.matches(uuid));
+        }
+    }
+
+    @Test
+    void testParse_acceptsUppercase() {
+        String id = "D005F39A-BEB8-4390-AFEC-FD54E91D94EE";
+
+        assertEquals(UUID.fromString(id), UuidKey.parse(id).toUuid());
+    }
+
+    @Test
+    void testTryParse_rejectsNonCanonicalForms() {
+        assertNull(UuidKey.tryParse(null));
+        assertNull(UuidKey.tryParse("non-existent-id"));
+        assertNull(UuidKey.tryParse("d005f39a-beb8-4390-afec-fd54e91d94e"));
+        assertNull(UuidKey.tryParse("d005f39abeb84390afecfd54e91d94ee0000"));
+        assertNull(UuidKey.tryParse("d005f39a-beb8-4390-afec-fd54e91d94eg"));
+        assertNull(UuidKey.tryParse("d005f39a-beb8-4390-afec-fd54e91d94e\u0660"));
+        // UUID.fromString accepts short groups; the upstream never produces them.
+        assertNull(UuidKey.tryParse("1-2-3-4-5"));
+        assertThrows(IllegalArgumentException.class, () -> UuidKey.parse("some-id"));
+    }
+
+    @Test
+    void testIndex_matchesHashMapUnderRandomOperations() {
+        UuidIndex<Integer> index = new UuidIndex<>();
+        Map<UUID, Integer> expected = new HashMap<>();
+        // A small key space makes collisions, overwrites and removals of present keys frequent.
+        UUID[] keys = new UUID[300];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new UUID(random.nextInt(4), random.nextLong());
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            UUID uuid = keys[random.nextInt(keys.length)];
+            UuidKey key = UuidKey.of(uuid);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(uuid), index.remove(key));
+            } else {
+                assertEquals(expected.put(uuid, i), index.put(key, i));
+            }
+            assertEquals(expected.size(), index.size());
+        }
+        for (UUID uuid : keys) {
+            assertEquals(expected.get(uuid), index.get(UuidKey.of(uuid)));
+        }
+    }
+}
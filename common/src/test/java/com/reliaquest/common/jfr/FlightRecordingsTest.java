@@ -0,0 +1,86 @@
+package com.reliaquest.common.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+import jdk.jfr.FlightRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FlightRecordingsTest {
+
+    private static final long MB = 1024 * 1024;
+
+    private final FlightRecordings flightRecordings =
+            new FlightRecordings("flight-recordings-test", 1, Duration.ofMinutes(10), 16 * MB);
+
+    @AfterEach
+    void tearDown() {
+        flightRecordings.close();
+    }
+
+    @Test
+    void testStart_rejectsAgeAndSizeBeyondLimits() {
+        assertThrows(
+                IllegalArgumentException.class, () -> flightRecordings.start("default", Duration.ofMinutes(11), MB));
+        assertThrows(IllegalArgumentException.class, () -> flightRecordings.start("default", Duration.ZERO, MB));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> flightRecordings.start("default", Duration.ofMinutes(1), 17 * MB));
+        assertThrows(IllegalArgumentException.class, () -> flightRecordings.start("default", Duration.ofMinutes(1), 0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> flightRecordings.start("no-such-settings", Duration.ofMinutes(1), MB));
+
+        assertTrue(flightRecordings.list().isEmpty());
+    }
+
+    @Test
+    void testStart_rejectsRecordingsBeyondCount() {
+        final var first = flightRecordings.start("default", Duration.ofMinutes(1), MB);
+
+        assertThrows(IllegalStateException.class, () -> flightRecordings.start("default", Duration.ofMinutes(1), MB));
+
+        flightRecordings.stop(first.id());
+        assertDoesNotThrow(() -> flightRecordings.start("default", Duration.ofMinutes(1), MB));
+    }
+
+    @Test
+    void testStart_disablesSensitiveEvents() {
+        final var info = flightRecordings.start("profile", Duration.ofMinutes(1), MB);
+
+        final var recording = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(r -> r.getId() == info.id())
+                .findFirst()
+                .orElseThrow();
+        for (String event : FlightRecordings.SENSITIVE_EVENTS) {
+            assertEquals("false", recording.getSettings().get(event + "#enabled"), event);
+        }
+        assertEquals(Duration.ofMinutes(1).toSeconds(), info.maxAgeSeconds());
+        assertEquals(MB, info.maxSizeBytes());
+    }
+
+    @Test
+    void testDumpTo_leavesNoTemporaryFile() throws IOException {
+        final var info = flightRecordings.start("default", Duration.ofMinutes(1), MB);
+        final var out = new ByteArrayOutputStream();
+
+        assertTrue(flightRecordings.dumpTo(info.id(), out));
+
+        assertTrue(out.size() > 0);
+        assertEquals(0, dumpFiles());
+        assertFalse(flightRecordings.dumpTo(info.id() + 1_000, new ByteArrayOutputStream()));
+    }
+
+    private static long dumpFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(f -> f.getFileName().toString().startsWith("flight-recordings-test-"))
+                    .count();
+        }
+    }
+}
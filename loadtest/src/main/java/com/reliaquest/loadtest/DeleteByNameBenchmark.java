@@ -0,0 +1,124 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.ShardRange;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.datafaker.Faker;
+
+/**
+ * Deletes a whole roster by name from a growing number of threads and reports throughput per thread count. Every name
+ * is carried by {@code duplicates} employees, and every delete must succeed: the run fails if any delete misses or any
+ * employee survives, which is what a race between finding and removing an employee would cause.
+ *
+ * <p>Options: {@code --employees=200000 --duplicates=2 --rounds=5 --threads=<1,2,4,... up to the core count>}.
+ */
+public class DeleteByNameBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final var values = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        final var employees = Integer.parseInt(values.getOrDefault("employees", "200000"));
+        final var duplicates = Integer.parseInt(values.getOrDefault("duplicates", "2"));
+        final var rounds = Integer.parseInt(values.getOrDefault("rounds", "5"));
+        final List<Integer> threadCounts = new ArrayList<>();
+        if (values.containsKey("threads")) {
+            for (String count : values.get("threads").split(",")) {
+                threadCounts.add(Integer.parseInt(count.trim()));
+            }
+        } else {
+            for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+                threadCounts.add(threads);
+            }
+        }
+
+        final var faker = new Faker();
+        final var results = new LinkedHashMap<Integer, Double>();
+        for (int threads : threadCounts) {
+            var best = 0.0;
+            // The first round warms up.
+            for (int round = 0; round <= rounds; round++) {
+                final var opsPerSecond = run(faker, employees, duplicates, threads);
+                if (round > 0) {
+                    best = Math.max(best, opsPerSecond);
+                }
+            }
+            results.put(threads, Math.round(best / 1000) / 1.0);
+        }
+
+        System.out.println("kiloDeletesPerSecondByThreads: "
+                + new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(results));
+    }
+
+    private static double run(Faker faker, int employees, int duplicates, int threads) throws Exception {
+        final var roster = new ArrayList<MockEmployee>(employees);
+        final var names = new ArrayList<String>(employees);
+        for (int i = 0; i < employees; i++) {
+            final var name = "Employee " + (i / duplicates);
+            roster.add(MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name(name)
+                    .salary(100_000)
+                    .age(30)
+                    .title("Title")
+                    .email("employee" + i + "@company.com")
+                    .build());
+            // Mixed case, to go through the case-folded index.
+            names.add(i % 2 == 0 ? name.toUpperCase() : name.toLowerCase());
+        }
+        Collections.shuffle(names, new Random(employees));
+        final var service = new MockEmployeeService(faker, ShardRange.single(), roster);
+
+        final var misses = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+        final var done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final var slice = names.subList(t * employees / threads, (t + 1) * employees / threads);
+            final var worker = new Thread(() -> {
+                final var input = new DeleteMockEmployeeInput();
+                try {
+                    start.await();
+                    for (String name : slice) {
+                        input.setName(name);
+                        if (!service.delete(input)) {
+                            misses.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        final var startNanos = System.nanoTime();
+        start.countDown();
+        done.await();
+        final var elapsedNanos = System.nanoTime() - startNanos;
+
+        final var remaining = service.getMockEmployees().size();
+        if (misses.get() != 0 || remaining != 0) {
+            throw new IllegalStateException(
+                    "Lost deletes with " + threads + " threads: " + misses + " misses, " + remaining + " remaining");
+        }
+        return employees * 1e9 / elapsedNanos;
+    }
+}
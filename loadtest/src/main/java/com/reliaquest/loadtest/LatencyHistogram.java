@@ -0,0 +1,85 @@
+package com.reliaquest.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of microsecond latencies. Every power of two is split into 64 sub-buckets, which keeps
+ * the relative error of reported percentiles below ~1.6% while the whole histogram stays at a few kilobytes.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS * (64 - SUB_BUCKET_BITS + 1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void recordMicros(long micros) {
+        final var value = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(value));
+        total.increment();
+        max.accumulate(value);
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int index = 0; index < BUCKETS; index++) {
+            final var count = other.counts.get(index);
+            if (count > 0) {
+                counts.addAndGet(index, count);
+            }
+        }
+        total.add(other.total.sum());
+        max.accumulate(other.max.get());
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public long maxMicros() {
+        return max.get();
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. 0.999 for p999
+     * @return upper bound of the bucket holding the requested quantile, in microseconds
+     */
+    public long percentileMicros(double quantile) {
+        final var count = total.sum();
+        if (count == 0) {
+            return 0;
+        }
+        final var rank = Math.max(1, (long) Math.ceil(quantile * count));
+        var seen = 0L;
+        for (int index = 0; index < BUCKETS; index++) {
+            seen += counts.get(index);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(index), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final var exponent = 63 - Long.numberOfLeadingZeros(value);
+        final var shift = exponent - SUB_BUCKET_BITS;
+        final var subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final var shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        final var subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
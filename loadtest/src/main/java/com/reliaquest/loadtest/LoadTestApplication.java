@@ -0,0 +1,27 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        final var options = LoadTestOptions.parse(args);
+        final LoadTestReport report;
+        try (final var environment = LoadTestEnvironment.start(options)) {
+            report = new OpenLoopDriver(options, new Workload(options, environment)).run();
+        }
+
+        final var json = new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        System.out.println(json);
+        if (options.report() != null) {
+            if (options.report().getParent() != null) {
+                Files.createDirectories(options.report().getParent());
+            }
+            Files.writeString(options.report(), json);
+            log.info("Report written to {}", options.report().toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.reliaquest.loadtest;
+
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots {@link ServerApplication} and {@link ApiApplication} in this JVM on ephemeral ports, with the api pointed at the
+ * mock server. With {@code --shards=N}, N mock servers split the roster and the api is given all of them. Both modules ship an {@code application.yml} on the same classpath, so every property the applications
+ * rely on is passed explicitly on the command line instead.
+ */
+@Slf4j
+public class LoadTestEnvironment implements AutoCloseable {
+
+    private final List<ConfigurableApplicationContext> servers;
+    private final ConfigurableApplicationContext api;
+
+    @Getter
+    private final URI apiBaseUri;
+
+    @Getter
+    private final List<String> seedIds = new ArrayList<>();
+
+    @Getter
+    private final List<String> seedNames = new ArrayList<>();
+
+    private LoadTestEnvironment(List<ConfigurableApplicationContext> servers, ConfigurableApplicationContext api) {
+        this.servers = servers;
+        this.api = api;
+        this.apiBaseUri = URI.create("http://localhost:" + portOf(api) + "/api/v1/employee");
+        for (ConfigurableApplicationContext server : servers) {
+            for (MockEmployee employee :
+                    server.getBean(MockEmployeeService.class).getMockEmployees()) {
+                seedIds.add(employee.getId().toString());
+                seedNames.add(employee.getName());
+            }
+        }
+    }
+
+    public static LoadTestEnvironment start(LoadTestOptions options) {
+        final var shards = Math.max(1, options.shards());
+        final List<ConfigurableApplicationContext> servers = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            final Map<String, String> serverProperties = new LinkedHashMap<>();
+            serverProperties.put("spring.application.name", "mock-employee-api");
+            serverProperties.put("server.port", "0");
+            serverProperties.put("server.compression.enabled", "true");
+            serverProperties.put("mock.employees.max", String.valueOf((options.employees() + shards - 1) / shards));
+            serverProperties.put("mock.shard.index", String.valueOf(shard));
+            serverProperties.put("mock.shard.count", String.valueOf(shards));
+            serverProperties.put("logging.level.com.reliaquest", "INFO");
+            serverProperties.putAll(options.serverProperties());
+            final var server = run(ServerApplication.class, serverProperties);
+            log.info("Mock server {} of {} listening on port {}", shard, shards, portOf(server));
+            servers.add(server);
+        }
+
+        final Map<String, String> apiProperties = new LinkedHashMap<>();
+        apiProperties.put("spring.application.name", "employee-api");
+        apiProperties.put("server.port", "0");
+        apiProperties.put("api.base.url", baseUrlOf(servers.get(0)));
+        if (shards > 1) {
+            apiProperties.put("api.base.urls", baseUrlsOf(servers));
+        }
+        apiProperties.putAll(options.apiProperties());
+        final var api = run(ApiApplication.class, apiProperties);
+        log.info("Api listening on port {}", portOf(api));
+
+        return new LoadTestEnvironment(servers, api);
+    }
+
+    private static String baseUrlOf(ConfigurableApplicationContext server) {
+        return "http://localhost:" + portOf(server);
+    }
+
+    private static String baseUrlsOf(Collection<ConfigurableApplicationContext> servers) {
+        return servers.stream().map(LoadTestEnvironment::baseUrlOf).collect(Collectors.joining(","));
+    }
+
+    private static ConfigurableApplicationContext run(Class<?> application, Map<String, String> properties) {
+        final var args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(application).run(args);
+    }
+
+    private static int portOf(ConfigurableApplicationContext context) {
+        return ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @Override
+    public void close() {
+        api.close();
+        servers.forEach(ConfigurableApplicationContext::close);
+    }
+}
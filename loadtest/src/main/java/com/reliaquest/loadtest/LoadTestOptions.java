@@ -0,0 +1,96 @@
+package com.reliaquest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load test, given as {@code --name=value} pairs.
+ *
+ * <pre>
+ * --rps=200 --duration=30s --warmup=5s --timeout=10s --employees=50 --shards=1
+ * --mix=search:30,highestSalary:20,topTen:20,getById:20,create:5,delete:5
+ * --report=build/loadtest/report.json
+ * </pre>
+ */
+public record LoadTestOptions(
+        int rps,
+        Duration duration,
+        Duration warmup,
+        Duration timeout,
+        int employees,
+        int shards,
+        Map<Operation, Integer> mix,
+        Path report,
+        Map<String, String> serverProperties,
+        Map<String, String> apiProperties) {
+
+    private static final String DEFAULT_MIX = "search:30,highestSalary:20,topTen:20,getById:20,create:5,delete:5";
+
+    /**
+     * Anything prefixed with {@code server:} or {@code api:} (e.g. {@code --server:mock.employees.max=1000}) is handed
+     * to the respective application as a command line property with the prefix stripped.
+     */
+    public static LoadTestOptions parse(String... args) {
+        final Map<String, String> values = new HashMap<>();
+        final Map<String, String> serverProperties = new HashMap<>();
+        final Map<String, String> apiProperties = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            final var name = arg.substring(2, arg.indexOf('='));
+            final var value = arg.substring(arg.indexOf('=') + 1);
+            if (name.startsWith("server:")) {
+                serverProperties.put(name.substring("server:".length()), value);
+            } else if (name.startsWith("api:")) {
+                apiProperties.put(name.substring("api:".length()), value);
+            } else {
+                values.put(name, value);
+            }
+        }
+
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("rps", "100")),
+                parseDuration(values.getOrDefault("duration", "30s")),
+                parseDuration(values.getOrDefault("warmup", "5s")),
+                parseDuration(values.getOrDefault("timeout", "10s")),
+                Integer.parseInt(values.getOrDefault("employees", "50")),
+                Integer.parseInt(values.getOrDefault("shards", "1")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                values.containsKey("report") ? Path.of(values.get("report")) : null,
+                serverProperties,
+                apiProperties);
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            final var parts = entry.trim().split(":");
+            final var weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight > 0) {
+                weights.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix must contain at least one positive weight: " + mix);
+        }
+        return weights;
+    }
+
+    static Duration parseDuration(String value) {
+        final var trimmed = value.trim().toLowerCase();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        if (trimmed.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(trimmed));
+    }
+}
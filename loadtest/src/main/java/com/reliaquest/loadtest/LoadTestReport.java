@@ -0,0 +1,81 @@
+package com.reliaquest.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+public record LoadTestReport(
+        int targetRps,
+        double durationSeconds,
+        long sent,
+        long completed,
+        long errors,
+        long skipped,
+        double throughput,
+        double rate429,
+        double rate502,
+        Latency latencyMillis,
+        Map<String, Long> statusCounts,
+        Map<String, OperationReport> operations) {
+
+    public record Latency(double p50, double p99, double p999, double max) {
+
+        static Latency of(LatencyHistogram histogram) {
+            return new Latency(
+                    millis(histogram.percentileMicros(0.50)),
+                    millis(histogram.percentileMicros(0.99)),
+                    millis(histogram.percentileMicros(0.999)),
+                    millis(histogram.maxMicros()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    public record OperationReport(
+            long count, long errors, long skipped, Latency latencyMillis, Map<String, Long> statusCounts) {}
+
+    public static LoadTestReport of(
+            LoadTestOptions options, double durationSeconds, long sent, Map<Operation, OperationStats> stats) {
+        final var overall = new LatencyHistogram();
+        final Map<String, Long> statusCounts = new TreeMap<>();
+        final Map<String, OperationReport> operations = new LinkedHashMap<>();
+        var errors = 0L;
+        var skipped = 0L;
+        for (var entry : stats.entrySet()) {
+            final var operation = entry.getValue();
+            operation.statusCounts().forEach((status, count) -> statusCounts.merge(status, count, Long::sum));
+            errors += operation.errors();
+            skipped += operation.skipped();
+            operations.put(
+                    entry.getKey().key(),
+                    new OperationReport(
+                            operation.latency().count(),
+                            operation.errors(),
+                            operation.skipped(),
+                            Latency.of(operation.latency()),
+                            operation.statusCounts()));
+        }
+        stats.values().forEach(operation -> overall.merge(operation.latency()));
+
+        final var completed = overall.count();
+        return new LoadTestReport(
+                options.rps(),
+                durationSeconds,
+                sent,
+                completed,
+                errors,
+                skipped,
+                completed / durationSeconds,
+                rate(statusCounts.getOrDefault("429", 0L), completed),
+                rate(statusCounts.getOrDefault("502", 0L), completed),
+                Latency.of(overall),
+                statusCounts,
+                operations);
+    }
+
+    private static double rate(long count, long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+}
@@ -0,0 +1,207 @@
+package com.reliaquest.loadtest;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.logging.CountingAsyncAppender;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures what logging costs a request thread, with the logback setup of {@code logback-spring.xml} against plain
+ * synchronous console output. Every simulated request logs what a mock server create does at DEBUG, one line with the
+ * employee's {@code toString()}, and one INFO line. Output goes to a sink that takes {@code --sink-micros} per line,
+ * standing in for a console or log shipper that cannot keep up.
+ *
+ * <p>Each sink speed runs sync and async output at INFO (the default level, DEBUG skipped without formatting the
+ * employee) and at DEBUG. The mean is CPU time of the request threads, so that it is not inflated by threads waiting
+ * for a core; the percentiles are wall-clock time. The run fails if a request spends more than {@code --budget-micros}
+ * CPU time on average logging with async output, the shipped setup.
+ *
+ * <p>Options: {@code --requests=200000 --threads=<core count> --sink-micros=0,20 --budget-micros=5}.
+ */
+public class LoggingOverheadBenchmark {
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n%ex";
+
+    public static void main(String[] args) throws Exception {
+        final var values = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        final var requests = Integer.parseInt(values.getOrDefault("requests", "200000"));
+        final var threads = Integer.parseInt(values.getOrDefault(
+                "threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        final var budgetMicros = Double.parseDouble(values.getOrDefault("budget-micros", "5"));
+        final List<Long> sinkMicros = new ArrayList<>();
+        for (String micros : values.getOrDefault("sink-micros", "0,20").split(",")) {
+            sinkMicros.add(Long.parseLong(micros.trim()));
+        }
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        final List<String> overBudget = new ArrayList<>();
+        for (long sink : sinkMicros) {
+            final Map<String, Object> scenarios = new LinkedHashMap<>();
+            for (boolean async : new boolean[] {false, true}) {
+                for (Level level : List.of(Level.INFO, Level.DEBUG)) {
+                    final var scenario = (async ? "async-" : "sync-") + level.levelStr.toLowerCase();
+                    // The first run warms up.
+                    run(async, level, requests, threads, sink);
+                    final var result = run(async, level, requests, threads, sink);
+                    scenarios.put(scenario, result);
+                    if (async && (double) result.get("meanCpuMicros") > budgetMicros) {
+                        overBudget.add(scenario + " with a " + sink + " us sink");
+                    }
+                }
+            }
+            report.put("sinkMicros=" + sink, scenarios);
+        }
+        report.put("budgetMicros", budgetMicros);
+        System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        if (!overBudget.isEmpty()) {
+            throw new IllegalStateException("Logging overhead over budget: " + overBudget);
+        }
+    }
+
+    private static Map<String, Object> run(boolean async, Level level, int requests, int threads, long sinkMicros)
+            throws InterruptedException {
+        final var context = new LoggerContext();
+        // As the default context has; without one, every event takes a deoptimization trap reading the MDC.
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        final var encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        final var console = new OutputStreamAppender<ILoggingEvent>();
+        console.setContext(context);
+        console.setName("CONSOLE");
+        console.setEncoder(encoder);
+        console.setOutputStream(new SlowSink(TimeUnit.MICROSECONDS.toNanos(sinkMicros)));
+        console.start();
+
+        final Appender<ILoggingEvent> appender;
+        if (async) {
+            final var asyncAppender = new CountingAsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setName(CountingAsyncAppender.NAME);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.setIncludeCallerData(false);
+            asyncAppender.addAppender(console);
+            asyncAppender.start();
+            appender = asyncAppender;
+        } else {
+            appender = console;
+        }
+        final var root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.addAppender(appender);
+        root.setLevel(level);
+        final var log = context.getLogger("com.reliaquest.server.service.MockEmployeeService");
+
+        final var employee = MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Jill Jenkins")
+                .salary(139082)
+                .age(48)
+                .title("Financial Advisor")
+                .email("jillj@company.com")
+                .build();
+        final var histogram = new LatencyHistogram();
+        final var start = new CountDownLatch(1);
+        final var done = new CountDownLatch(threads);
+        final var cpuNanos = new long[threads];
+        final var threadMXBean = ManagementFactory.getThreadMXBean();
+        for (int t = 0; t < threads; t++) {
+            final var slot = t;
+            final var worker = new Thread(() -> {
+                try {
+                    start.await();
+                    final var cpuStart = threadMXBean.getCurrentThreadCpuTime();
+                    for (int i = slot; i < requests; i += threads) {
+                        final var begin = System.nanoTime();
+                        log.debug("Added employee: {}", employee);
+                        log.info("Handled {} {} with status {}", "POST", "/api/v1/employee", 200);
+                        histogram.recordMicros((System.nanoTime() - begin + 999) / 1_000);
+                    }
+                    // Includes the clock reads and histogram updates, which a request without logging does not make.
+                    cpuNanos[slot] = threadMXBean.getCurrentThreadCpuTime() - cpuStart;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+        start.countDown();
+        done.await();
+
+        final Map<String, Object> result = new LinkedHashMap<>();
+        var spent = 0L;
+        for (long nanos : cpuNanos) {
+            spent += nanos;
+        }
+        result.put("meanCpuMicros", Math.round(spent / 10.0 / requests) / 100.0);
+        result.put("p99Micros", histogram.percentileMicros(0.99));
+        result.put("maxMicros", histogram.maxMicros());
+        if (appender instanceof CountingAsyncAppender asyncAppender) {
+            final var stats = asyncAppender.stats();
+            result.put("discarded", stats.discarded());
+            result.put("dropped", stats.dropped());
+            // Unwritten events are dropped, not waited for; only the caller's cost is measured.
+            asyncAppender.setMaxFlushTime(1);
+        }
+        context.stop();
+        return result;
+    }
+
+    /**
+     * Discards what is written, taking {@code nanosPerLine} for every flush; the encoder flushes once per event.
+     */
+    private static final class SlowSink extends OutputStream {
+
+        private final long nanosPerLine;
+
+        SlowSink(long nanosPerLine) {
+            this.nanosPerLine = nanosPerLine;
+        }
+
+        @Override
+        public void write(int b) {}
+
+        @Override
+        public void write(byte[] b, int off, int len) {}
+
+        @Override
+        public void flush() {
+            if (nanosPerLine > 0) {
+                final var until = System.nanoTime() + nanosPerLine;
+                while (System.nanoTime() - until < 0) {
+                    LockSupport.parkNanos(until - System.nanoTime());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.search.NameIndex;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import net.datafaker.Faker;
+
+/**
+ * Builds the api's name index over a generated roster and reports query latency of autocomplete and fuzzy search, and
+ * the cost of incremental updates. Autocomplete queries are the first one to four letters of a random word of a
+ * roster name; fuzzy queries are one or two roster words with one random edit each.
+ *
+ * <p>Options: {@code --employees=1000000 --queries=20000 --limit=10}.
+ */
+public class NameSearchBenchmark {
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    public static void main(String[] args) throws Exception {
+        final var values = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        final var employees = Integer.parseInt(values.getOrDefault("employees", "1000000"));
+        final var queries = Integer.parseInt(values.getOrDefault("queries", "20000"));
+        final var limit = Integer.parseInt(values.getOrDefault("limit", "10"));
+
+        final var faker = new Faker();
+        final List<Employee> roster = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            roster.add(new Employee(
+                    UUID.randomUUID(), faker.name().fullName(), 100_000, 30, "Title", "employee@company.com"));
+        }
+
+        final var buildStart = System.nanoTime();
+        final var index = NameIndex.of(roster);
+        final var buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        final var random = new Random(queries);
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("employees", index.size());
+        report.put("buildMillis", buildMillis);
+        report.put("updateMicros", measureUpdates(index, roster, random, queries));
+        // The first pass warms up.
+        for (int pass = 0; pass < 2; pass++) {
+            report.put("autocomplete", measure(queries, random, roster, name -> {
+                final var word = randomWord(name, random);
+                return index.autocomplete(word.substring(0, Math.min(word.length(), 1 + random.nextInt(4))), limit);
+            }));
+            report.put("fuzzyOneWord", measure(queries, random, roster, name -> {
+                return index.fuzzy(misspell(randomWord(name, random), random), null, limit);
+            }));
+            report.put("fuzzyTwoWords", measure(queries, random, roster, name -> {
+                final var words = name.split(" ");
+                final var first = misspell(words[0], random);
+                return index.fuzzy(first + " " + misspell(words[words.length - 1], random), null, limit);
+            }));
+        }
+        System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    }
+
+    private static Map<String, Object> measure(
+            int queries, Random random, List<Employee> roster, Function<String, List<Employee>> query) {
+        final var histogram = new LatencyHistogram();
+        var hits = 0L;
+        for (int i = 0; i < queries; i++) {
+            final var name = roster.get(random.nextInt(roster.size())).getEmployee_name();
+            final var start = System.nanoTime();
+            final var result = query.apply(name);
+            histogram.recordMicros((System.nanoTime() - start + 999) / 1_000);
+            hits += result.isEmpty() ? 0 : 1;
+        }
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("p50Micros", histogram.percentileMicros(0.50));
+        stats.put("p99Micros", histogram.percentileMicros(0.99));
+        stats.put("maxMicros", histogram.maxMicros());
+        stats.put("nonEmptyRatio", (double) hits / queries);
+        return stats;
+    }
+
+    // Mean cost of deleting a random employee and creating one under a new name.
+    private static double measureUpdates(NameIndex index, List<Employee> roster, Random random, int updates) {
+        final var start = System.nanoTime();
+        for (int i = 0; i < updates; i++) {
+            final var slot = random.nextInt(roster.size());
+            final var removed = roster.get(slot);
+            index.remove(removed);
+            final var added = new Employee(
+                    UUID.randomUUID(),
+                    misspell(removed.getEmployee_name(), random),
+                    100_000,
+                    30,
+                    "Title",
+                    "employee@company.com");
+            index.add(added);
+            roster.set(slot, added);
+        }
+        return Math.round((System.nanoTime() - start) / 2.0 / updates / 10.0) / 100.0;
+    }
+
+    private static String randomWord(String name, Random random) {
+        final var words = name.split(" ");
+        return words[random.nextInt(words.length)];
+    }
+
+    private static String misspell(String word, Random random) {
+        if (word.length() < 2) {
+            return word;
+        }
+        final var at = random.nextInt(word.length() - 1);
+        final var letter = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        return switch (random.nextInt(3)) {
+            case 0 -> word.substring(0, at) + letter + word.substring(at + 1);
+            case 1 -> word.substring(0, at) + word.substring(at + 1);
+            default -> word.substring(0, at) + letter + word.substring(at);
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.reliaquest.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Open-loop load generator: request {@code i} is due at {@code start + i / rps} regardless of how many earlier requests
+ * are still outstanding, and its latency is measured from that due time rather than from the moment it was actually
+ * sent. A slow system therefore cannot throttle its own offered load, and queueing delay inside the generator shows up
+ * in the percentiles instead of being silently omitted.
+ */
+@Slf4j
+public class OpenLoopDriver {
+
+    private final LoadTestOptions options;
+    private final Workload workload;
+    private final HttpClient client;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicLong inFlight = new AtomicLong();
+
+    public OpenLoopDriver(LoadTestOptions options, Workload workload) {
+        this.options = options;
+        this.workload = workload;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .build();
+        options.mix().keySet().forEach(operation -> stats.put(operation, new OperationStats()));
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        final var interval = TimeUnit.SECONDS.toNanos(1) / options.rps();
+        final var start = System.nanoTime();
+        final var measureFrom = start + options.warmup().toNanos();
+        final var end = measureFrom + options.duration().toNanos();
+        log.info("Driving {} rps for {} after {} warmup", options.rps(), options.duration(), options.warmup());
+
+        var sent = 0L;
+        for (long sequence = 0; ; sequence++) {
+            final var due = start + sequence * interval;
+            if (due >= end) {
+                break;
+            }
+            final var wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            final var measured = due >= measureFrom;
+            final var operation = workload.nextOperation();
+            final var request = workload.requestFor(operation);
+            if (request.isEmpty()) {
+                if (measured) {
+                    stats.get(operation).recordSkipped();
+                }
+                continue;
+            }
+            if (measured) {
+                sent++;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(request.get(), HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, error) -> {
+                        final var latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+                        if (measured) {
+                            if (error != null) {
+                                stats.get(operation).recordError(latencyMicros);
+                            } else {
+                                stats.get(operation).recordResponse(response.statusCode(), latencyMicros);
+                            }
+                        }
+                        if (response != null) {
+                            workload.onResponse(operation, response);
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        awaitOutstanding();
+        return LoadTestReport.of(options, options.duration().toMillis() / 1000.0, sent, stats);
+    }
+
+    private void awaitOutstanding() throws InterruptedException {
+        final var deadline = System.nanoTime() + options.timeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} requests still outstanding after {}", inFlight.get(), options.timeout());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+
+public enum Operation {
+    SEARCH("search"),
+    HIGHEST_SALARY("highestSalary"),
+    TOP_TEN("topTen"),
+    GET_BY_ID("getById"),
+    CREATE("create"),
+    DELETE("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equalsIgnoreCase(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + key));
+    }
+}
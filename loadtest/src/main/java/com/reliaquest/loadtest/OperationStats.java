@@ -0,0 +1,55 @@
+package com.reliaquest.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counters of a single operation. Transport failures (timeouts, refused connections) are counted
+ * as errors and still recorded in the latency histogram, since a client would have waited that long too.
+ */
+public class OperationStats {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public void recordResponse(int status, long latencyMicros) {
+        latency.recordMicros(latencyMicros);
+        statusCounts.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+    }
+
+    public void recordError(long latencyMicros) {
+        latency.recordMicros(latencyMicros);
+        errors.increment();
+    }
+
+    public void recordSkipped() {
+        skipped.increment();
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public long skipped() {
+        return skipped.sum();
+    }
+
+    public long statusCount(int status) {
+        final var count = statusCounts.get(status);
+        return count == null ? 0 : count.sum();
+    }
+
+    public Map<String, Long> statusCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+        statusCounts.forEach((status, count) -> counts.put(String.valueOf(status), count.sum()));
+        return counts;
+    }
+}
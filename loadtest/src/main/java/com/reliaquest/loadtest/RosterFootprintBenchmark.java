@@ -0,0 +1,124 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Reports what the mock server's roster costs: the heap each employee retains, generated the way the server generates
+ * its initial roster, and the time to write the whole roster response as JSON and as Smile, the way the server's
+ * converters write it. Nothing is validated; it is meant to be run before and after a change to {@code MockEmployee}.
+ *
+ * <p>Options: {@code --employees=1000000 --iterations=10}.
+ */
+public class RosterFootprintBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final var values = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        final var employees = Integer.parseInt(values.getOrDefault("employees", "1000000"));
+        final var iterations = Integer.parseInt(values.getOrDefault("iterations", "10"));
+
+        final var faker = new Faker(Locale.getDefault());
+        final var before = usedHeap();
+        final var roster = new ArrayList<MockEmployee>(employees);
+        for (int i = 0; i < employees; i++) {
+            roster.add(MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build());
+        }
+        final var retained = usedHeap() - before;
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("employees", employees);
+        // Includes the roster list's slot for each employee.
+        report.put("bytesPerEmployee", retained / employees);
+        final var payload = Response.handledWith(roster);
+        final Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", Jackson2ObjectMapperBuilder.json().build());
+        formats.put("smile", Jackson2ObjectMapperBuilder.smile().build());
+        for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+            report.put(format.getKey(), write(format.getValue(), payload, employees, iterations));
+        }
+        System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        // Keeps the roster reachable until its size has been measured.
+        if (roster.size() != employees) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static Map<String, Object> write(ObjectMapper mapper, Response<?> payload, int employees, int iterations)
+            throws Exception {
+        final var sink = new CountingSink();
+        // The first iterations warm up.
+        for (int i = 0; i < Math.max(3, iterations / 2); i++) {
+            mapper.writeValue(sink, payload);
+        }
+        sink.count = 0;
+        final List<Long> nanos = new ArrayList<>(iterations);
+        for (int i = 0; i < iterations; i++) {
+            final var start = System.nanoTime();
+            mapper.writeValue(sink, payload);
+            nanos.add(System.nanoTime() - start);
+        }
+        nanos.sort(null);
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("bytes", sink.count / iterations);
+        result.put("medianMillis", Math.round(nanos.get(iterations / 2) / 100_000.0) / 10.0);
+        result.put("nanosPerEmployee", nanos.get(iterations / 2) / employees);
+        return result;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final var memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Discards what is written, counting it. The mapper closes it after every write.
+     */
+    private static final class CountingSink extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
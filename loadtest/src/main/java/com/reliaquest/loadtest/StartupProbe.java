@@ -0,0 +1,263 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures startup of the server and api applications as separate JVMs, once per mode:
+ *
+ * <ul>
+ *   <li>{@code default}: as built.
+ *   <li>{@code lazy}: the {@code startup} Spring profile, i.e. lazy bean initialization.
+ *   <li>{@code aot}: the AOT-generated bean definitions.
+ *   <li>{@code cds}: the AppCDS archive.
+ *   <li>{@code all}: all three together.
+ * </ul>
+ *
+ * <p>Each run reports the time until the port accepts connections, the JVM uptime Spring logs as started, and the
+ * latency of the first and second {@code GET /api/v1/employee}; lazy initialization moves work from the first number
+ * to the third. Medians over {@code runs} are printed as JSON. The api is pointed at a mock server started once for
+ * all of its runs.
+ *
+ * <p>Options: {@code --api=<launch.properties> --server=<launch.properties> --runs=5 --report=<file>}, where the launch
+ * files are written by the {@code startupLaunchFile} task of each module.
+ */
+@Slf4j
+public class StartupProbe {
+
+    private static final List<String> MODES = List.of("default", "lazy", "aot", "cds", "all");
+    private static final Pattern STARTED =
+            Pattern.compile("Started \\S+ in [0-9.]+ seconds \\(process running for ([0-9.]+)\\)");
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(60);
+    private static final String PATH = "/api/v1/employee";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+    private final int runs;
+
+    private StartupProbe(int runs) {
+        this.runs = runs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        final var values = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        final var server = Launch.load(Path.of(required(values, "server")));
+        final var api = Launch.load(Path.of(required(values, "api")));
+        final var probe = new StartupProbe(Integer.parseInt(values.getOrDefault("runs", "5")));
+
+        final var report = new LinkedHashMap<String, Map<String, Result>>();
+        report.put("server", probe.measure(server, List.of()));
+        try (final var upstream = probe.start(server, "default", List.of())) {
+            report.put("api", probe.measure(api, List.of("--api.base.url=http://localhost:" + upstream.port())));
+        }
+
+        final var json = new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        System.out.println(json);
+        if (values.containsKey("report")) {
+            final var file = Path.of(values.get("report"));
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, json);
+        }
+    }
+
+    private Map<String, Result> measure(Launch launch, List<String> extraArgs) throws Exception {
+        final var results = new LinkedHashMap<String, Result>();
+        for (String mode : MODES) {
+            final List<Result> samples = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                try (final var instance = start(launch, mode, extraArgs)) {
+                    samples.add(instance.sample());
+                }
+            }
+            results.put(mode, Result.median(samples));
+            log.info("{} {}: {}", launch.mainClass(), mode, results.get(mode));
+        }
+        return results;
+    }
+
+    private Instance start(Launch launch, String mode, List<String> extraArgs) throws Exception {
+        final int port;
+        try (final var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        final List<String> command = new ArrayList<>(List.of(java));
+        if (mode.equals("aot") || mode.equals("all")) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        if (mode.equals("cds") || mode.equals("all")) {
+            command.add("-XX:SharedArchiveFile=" + launch.cdsArchive());
+        }
+        command.addAll(List.of("-cp", launch.classpath(), launch.mainClass(), "--server.port=" + port));
+        if (mode.equals("lazy") || mode.equals("all")) {
+            command.add("--spring.profiles.active=startup");
+        }
+        command.addAll(extraArgs);
+
+        final var output = Files.createTempFile("startup-probe", ".log");
+        final var startNanos = System.nanoTime();
+        final var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+        final var instance = new Instance(process, port, output);
+        try {
+            instance.awaitPort(startNanos);
+            return instance;
+        } catch (Exception e) {
+            instance.close();
+            throw e;
+        }
+    }
+
+    private static String required(Map<String, String> values, String name) {
+        final var value = values.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name);
+        }
+        return value;
+    }
+
+    private record Launch(String mainClass, String classpath, String cdsArchive) {
+
+        static Launch load(Path file) throws IOException {
+            final var properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+            return new Launch(
+                    properties.getProperty("mainClass"),
+                    properties.getProperty("classpath"),
+                    properties.getProperty("cdsArchive"));
+        }
+    }
+
+    private final class Instance implements AutoCloseable {
+
+        private final Process process;
+        private final int port;
+        private final Path output;
+        private double readyMillis;
+
+        Instance(Process process, int port, Path output) {
+            this.process = process;
+            this.port = port;
+            this.output = output;
+        }
+
+        int port() {
+            return port;
+        }
+
+        void awaitPort(long startNanos) throws Exception {
+            final var deadline = startNanos + START_TIMEOUT.toNanos();
+            while (true) {
+                try (final var socket = new Socket()) {
+                    socket.connect(new InetSocketAddress("localhost", port), 100);
+                    readyMillis = (System.nanoTime() - startNanos) / 1e6;
+                    return;
+                } catch (IOException e) {
+                    if (!process.isAlive() || System.nanoTime() > deadline) {
+                        throw new IllegalStateException(
+                                "Application did not start, see " + output + ": " + String.join(" ", tail()));
+                    }
+                    Thread.sleep(2);
+                }
+            }
+        }
+
+        Result sample() throws Exception {
+            final var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            final var first = time(request);
+            final var second = time(request);
+            final var matcher = STARTED.matcher(Files.readString(output));
+            final var startedMillis = matcher.find() ? Double.parseDouble(matcher.group(1)) * 1000 : Double.NaN;
+            return new Result(readyMillis, startedMillis, first, second);
+        }
+
+        private double time(HttpRequest request) throws Exception {
+            final var start = System.nanoTime();
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+            return (System.nanoTime() - start) / 1e6;
+        }
+
+        private List<String> tail() {
+            try {
+                final var lines = Files.readAllLines(output);
+                return lines.subList(Math.max(0, lines.size() - 5), lines.size());
+            } catch (IOException e) {
+                return List.of();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            process.destroy();
+            try {
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            } catch (InterruptedException e) {
+                // Kills the application without waiting, and leaves the interrupt to the caller.
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+            Files.deleteIfExists(output);
+        }
+    }
+
+    record Result(double readyMillis, double startedMillis, double firstRequestMillis, double secondRequestMillis) {
+
+        static Result median(List<Result> samples) {
+            return new Result(
+                    median(samples.stream().mapToDouble(Result::readyMillis).toArray()),
+                    median(samples.stream().mapToDouble(Result::startedMillis).toArray()),
+                    median(samples.stream()
+                            .mapToDouble(Result::firstRequestMillis)
+                            .toArray()),
+                    median(samples.stream()
+                            .mapToDouble(Result::secondRequestMillis)
+                            .toArray()));
+        }
+
+        private static double median(double[] values) {
+            Arrays.sort(values);
+            final var middle = values[values.length / 2];
+            return Math.round(middle * 10) / 10.0;
+        }
+    }
+}
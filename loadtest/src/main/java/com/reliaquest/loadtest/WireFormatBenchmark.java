@@ -0,0 +1,101 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compares the JSON and Smile encodings of the mock server's roster response: payload size, server-side write time and
+ * api-side read time (bytes to {@link JsonNode} to {@code Employee[]}, the same path the api's service takes). Mappers
+ * are configured the way each application configures them.
+ *
+ * <p>Options: {@code --employees=5000 --iterations=200}.
+ */
+public class WireFormatBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final var values = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        final var employees = Integer.parseInt(values.getOrDefault("employees", "5000"));
+        final var iterations = Integer.parseInt(values.getOrDefault("iterations", "200"));
+
+        final var payload = Response.handledWith(roster(employees));
+        final var apiMapper = new ObjectMapper();
+        final var formats = new LinkedHashMap<String, ObjectMapper>();
+        formats.put("json", Jackson2ObjectMapperBuilder.json().build());
+        formats.put("smile", Jackson2ObjectMapperBuilder.smile().build());
+
+        final var results = new LinkedHashMap<String, Result>();
+        for (final var format : formats.entrySet()) {
+            results.put(format.getKey(), measure(format.getValue(), apiMapper, payload, employees, iterations));
+        }
+
+        System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(results));
+    }
+
+    private static Result measure(
+            ObjectMapper wireMapper, ObjectMapper apiMapper, Response<?> payload, int employees, int iterations)
+            throws Exception {
+        final var bytes = wireMapper.writeValueAsBytes(payload);
+        // Warm up both paths before timing them.
+        for (int i = 0; i < Math.max(10, iterations / 5); i++) {
+            wireMapper.writeValueAsBytes(payload);
+            read(wireMapper, apiMapper, bytes, employees);
+        }
+
+        var start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            wireMapper.writeValueAsBytes(payload);
+        }
+        final var writeMicros = (System.nanoTime() - start) / 1000.0 / iterations;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            read(wireMapper, apiMapper, bytes, employees);
+        }
+        final var readMicros = (System.nanoTime() - start) / 1000.0 / iterations;
+
+        return new Result(bytes.length, Math.round(writeMicros * 10) / 10.0, Math.round(readMicros * 10) / 10.0);
+    }
+
+    private static void read(ObjectMapper wireMapper, ObjectMapper apiMapper, byte[] bytes, int employees)
+            throws Exception {
+        final JsonNode body = wireMapper.readTree(bytes);
+        final var parsed = apiMapper.treeToValue(body.get("data"), Employee[].class);
+        if (parsed.length != employees) {
+            throw new IllegalStateException("Expected " + employees + " employees, got " + parsed.length);
+        }
+    }
+
+    private static List<MockEmployee> roster(int size) {
+        final var random = ThreadLocalRandom.current();
+        final var roster = new ArrayList<MockEmployee>(size);
+        for (int i = 0; i < size; i++) {
+            roster.add(MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name("Employee " + i)
+                    .salary(random.nextInt(30_000, 500_000))
+                    .age(random.nextInt(16, 76))
+                    .title("Title " + (i % 40))
+                    .email("employee" + i + "@company.com")
+                    .build());
+        }
+        return roster;
+    }
+
+    record Result(int bytes, double writeMicros, double readMicros) {}
+}
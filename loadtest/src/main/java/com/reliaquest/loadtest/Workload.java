@@ -0,0 +1,135 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks operations according to the configured mix and turns them into api requests. Deletes only ever target employees
+ * created by this run so that the seeded roster, which backs the read operations, stays intact.
+ */
+public class Workload {
+
+    private final URI apiBaseUri;
+    private final Duration timeout;
+    private final List<String> seedIds;
+    private final List<String> seedNames;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final ConcurrentLinkedQueue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public Workload(LoadTestOptions options, LoadTestEnvironment environment) {
+        this.apiBaseUri = environment.getApiBaseUri();
+        this.timeout = options.timeout();
+        this.seedIds = List.copyOf(environment.getSeedIds());
+        this.seedNames = List.copyOf(environment.getSeedNames());
+        this.operations = options.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        var sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += options.mix().get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    public Operation nextOperation() {
+        final var pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * @return the request to send, or empty when the operation cannot be issued right now (e.g. nothing left to delete)
+     */
+    public Optional<HttpRequest> requestFor(Operation operation) {
+        return switch (operation) {
+            case SEARCH -> Optional.of(get("/search/"
+                    + URLEncoder.encode(searchFragment(), StandardCharsets.UTF_8)
+                            .replace("+", "%20")));
+            case HIGHEST_SALARY -> Optional.of(get("/highestSalary"));
+            case TOP_TEN -> Optional.of(get("/topTenHighestEarningEmployeeNames"));
+            case GET_BY_ID -> seedIds.isEmpty() ? Optional.empty() : Optional.of(get("/" + randomOf(seedIds)));
+            case CREATE -> Optional.of(create());
+            case DELETE -> Optional.ofNullable(createdIds.poll()).map(this::delete);
+        };
+    }
+
+    public void onResponse(Operation operation, HttpResponse<byte[]> response) {
+        if (operation != Operation.CREATE || response.statusCode() != 200) {
+            return;
+        }
+        try {
+            final var id = objectMapper.readTree(response.body()).path("id").asText(null);
+            if (id != null) {
+                createdIds.add(id);
+            }
+        } catch (Exception ignored) {
+            // A malformed create response only shrinks the pool of deletable employees.
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(apiBaseUri + path))
+                .timeout(timeout)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest create() {
+        final var random = ThreadLocalRandom.current();
+        final Map<String, Object> input = Map.of(
+                "name",
+                "Load Test " + random.nextInt(1_000_000),
+                "salary",
+                random.nextInt(30_000, 500_000),
+                "age",
+                random.nextInt(16, 76),
+                "title",
+                "Load Tester");
+        try {
+            return HttpRequest.newBuilder(apiBaseUri)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(input)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to serialize create request", e);
+        }
+    }
+
+    private HttpRequest delete(String id) {
+        return HttpRequest.newBuilder(URI.create(apiBaseUri + "/" + id))
+                .timeout(timeout)
+                .DELETE()
+                .build();
+    }
+
+    private String searchFragment() {
+        if (seedNames.isEmpty()) {
+            return "a";
+        }
+        final var name = randomOf(seedNames);
+        final var random = ThreadLocalRandom.current();
+        final var length = Math.min(name.length(), random.nextInt(2, 5));
+        final var start = random.nextInt(name.length() - length + 1);
+        return name.substring(start, start + length);
+    }
+
+    private static String randomOf(List<String> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.server.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Fault injection settings for {@link com.reliaquest.server.web.ChaosFilter}. Bound from {@code mock.chaos} and
+ * replaceable at runtime through {@link com.reliaquest.server.controller.ChaosAdminController}.
+ */
+@Data
+@ConfigurationProperties(prefix = "mock.chaos")
+public class ChaosProperties {
+
+    private volatile boolean enabled;
+
+    /*
+     * Evaluated in order; the first rule matching a request applies.
+     */
+    private volatile List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+
+        /*
+         * HTTP method to match, any method if unset.
+         */
+        private String method;
+
+        private String path = "/**";
+        private Latency latency = new Latency();
+        private double errorRate;
+        private int errorStatus = 503;
+
+        /*
+         * Fraction of responses cut off halfway through the body before the connection is closed.
+         */
+        private double resetRate;
+
+        /*
+         * Fraction of responses whose body is written in small chunks with a pause after each.
+         */
+        private double dripRate;
+
+        private int dripChunkBytes = 64;
+        private long dripIntervalMillis = 50;
+    }
+
+    @Data
+    public static class Latency {
+
+        private Distribution distribution = Distribution.NONE;
+        private double fixedMillis;
+        private double meanMillis;
+        private double stddevMillis;
+
+        /*
+         * Pareto minimum (x_m) and tail index (alpha); the lower the shape, the heavier the tail.
+         */
+        private double scaleMillis = 1;
+
+        private double shape = 1.5;
+        private double maxMillis = 10_000;
+
+        public long sampleMillis(RandomGenerator random) {
+            final double millis =
+                    switch (distribution) {
+                        case NONE -> 0;
+                        case FIXED -> fixedMillis;
+                        case NORMAL -> meanMillis + stddevMillis * random.nextGaussian();
+                        case PARETO -> scaleMillis / Math.pow(1 - random.nextDouble(), 1 / shape);
+                    };
+            return (long) Math.max(0, Math.min(millis, maxMillis));
+        }
+    }
+
+    public enum Distribution {
+        NONE,
+        FIXED,
+        NORMAL,
+        PARETO
+    }
+}
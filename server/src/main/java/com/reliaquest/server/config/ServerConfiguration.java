@@ -1,29 +1,37 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.common.jfr.FlightRecordings;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.ShardRange;
+import com.reliaquest.server.web.ChaosFilter;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@EnableConfigurationProperties(ChaosProperties.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
-    public static final String EMAIL_TEMPLATE = "%s@company.com";
+    public static final String EMAIL_TEMPLATE = "%s" + MockEmployee.EMAIL_DOMAIN;
 
     @Bean
     public Faker faker() {
@@ -31,29 +39,67 @@ public class ServerConfiguration implements WebMvcConfigurer {
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Run as one of several shards with mock.shard.index and mock.shard.count; see ShardRange.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
+    public ShardRange shardRange(@Value("${mock.shard.index:0}") int index, @Value("${mock.shard.count:1}") int count) {
+        return new ShardRange(index, count);
+    }
+
+    /*
+     * The initial roster. MockEmployeeService indexes it and holds every later change itself.
+     */
+    @Bean
+    public List<MockEmployee> mockEmployees(
+            Faker faker, ShardRange shardRange, @Value("${mock.employees.max:20}") int maxEmployees) {
+        // Built directly rather than by datafaker's reflective transformer, which would set MockEmployee's fields.
+        final var employees = IntStream.rangeClosed(1, maxEmployees)
+                .mapToObj(ignored -> MockEmployee.builder()
+                        .id(shardRange.randomId())
+                        .name(faker.name().fullName())
+                        .salary(faker.number().numberBetween(30000, 500000))
+                        .age(faker.number().numberBetween(16, 70))
+                        .title(faker.job().title())
+                        .email(EMAIL_TEMPLATE.formatted(
+                                faker.twitter().userName().toLowerCase()))
+                        .build())
                 .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
                 .collect(Collectors.toCollection(ArrayList::new));
+        log.info("Generated {} mock employees", employees.size());
+        return employees;
+    }
+
+    /*
+     * Off by default: the admin path is not authenticated. Enable it only where that path is not reachable from
+     * outside.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mock.recordings.enabled", havingValue = "true")
+    public FlightRecordings flightRecordings(
+            @Value("${mock.recordings.max-recordings:2}") int maxRecordings,
+            @Value("${mock.recordings.max-age-ms:3600000}") long maxAgeMillis,
+            @Value("${mock.recordings.max-size-mb:256}") long maxSizeMb) {
+        return new FlightRecordings(
+                "mock-employee-api", maxRecordings, Duration.ofMillis(maxAgeMillis), maxSizeMb * 1024 * 1024);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ChaosFilter> chaosFilter(ChaosProperties chaosProperties, ObjectMapper objectMapper) {
+        return new FilterRegistrationBean<>(new ChaosFilter(chaosProperties, objectMapper));
+    }
+
+    /*
+     * Smile is only chosen for clients that ask for application/x-jackson-smile. It is appended rather than declared as a
+     * bean, since Boot puts converter beans first, which would make it the answer to a wildcard Accept.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                Jackson2ObjectMapperBuilder.smile().build()));
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        registry.addInterceptor(new RandomRequestLimitInterceptor()).excludePathPatterns(ChaosFilter.ADMIN_PATH);
     }
 }
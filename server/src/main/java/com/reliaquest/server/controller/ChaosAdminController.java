@@ -0,0 +1,47 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.config.ChaosProperties;
+import com.reliaquest.server.model.Response;
+import java.util.ArrayList;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/chaos")
+@RequiredArgsConstructor
+public class ChaosAdminController {
+
+    private final ChaosProperties chaosProperties;
+
+    @GetMapping()
+    public Response<ChaosProperties> getChaos() {
+        return Response.handledWith(chaosProperties);
+    }
+
+    /*
+     * Replaces the settings as a whole; rules left out or null clear the current ones.
+     */
+    @PutMapping()
+    public Response<ChaosProperties> updateChaos(@RequestBody ChaosProperties update) {
+        final var rules =
+                update.getRules() == null ? new ArrayList<ChaosProperties.Rule>() : new ArrayList<>(update.getRules());
+        chaosProperties.setRules(rules);
+        chaosProperties.setEnabled(update.isEnabled());
+        log.info("Chaos {} with {} rule(s)", update.isEnabled() ? "enabled" : "disabled", rules.size());
+        return Response.handledWith(chaosProperties);
+    }
+
+    @DeleteMapping()
+    public Response<ChaosProperties> disableChaos() {
+        chaosProperties.setEnabled(false);
+        log.info("Chaos disabled");
+        return Response.handledWith(chaosProperties);
+    }
+}
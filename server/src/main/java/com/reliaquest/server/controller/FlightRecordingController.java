@@ -0,0 +1,73 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.common.jfr.FlightRecordings;
+import com.reliaquest.server.model.Response;
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Starts, dumps and stops flight recordings; see {@link FlightRecordings}. Under the admin path, so neither rate
+ * limited nor subject to chaos. Only mapped when {@code mock.recordings.enabled} is set.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/recordings")
+@ConditionalOnProperty(name = "mock.recordings.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class FlightRecordingController {
+
+    private final FlightRecordings flightRecordings;
+
+    @PostMapping()
+    public ResponseEntity<Response<FlightRecordings.RecordingInfo>> startRecording(
+            @RequestParam(defaultValue = "profile") String settings,
+            @RequestParam(defaultValue = "600") long maxAgeSeconds,
+            @RequestParam(defaultValue = "64") long maxSizeMb) {
+        try {
+            return ResponseEntity.ok(Response.handledWith(
+                    flightRecordings.start(settings, Duration.ofSeconds(maxAgeSeconds), maxSizeMb * 1024 * 1024)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Response.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping()
+    public Response<List<FlightRecordings.RecordingInfo>> listRecordings() {
+        return Response.handledWith(flightRecordings.list());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<StreamingResponseBody> dumpRecording(@PathVariable("id") long id) {
+        if (!flightRecordings.contains(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        // A recording stopped in between streams an empty file.
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"mock-employee-api-" + id + ".jfr\"")
+                .body(out -> flightRecordings.dumpTo(id, out));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<FlightRecordings.RecordingInfo>> stopRecording(@PathVariable("id") long id) {
+        return flightRecordings
+                .stop(id)
+                .map(info -> ResponseEntity.ok(Response.handledWith(info)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -31,6 +32,16 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.getMockEmployees());
     }
 
+    @GetMapping("/search/{fragment}")
+    public Response<List<MockEmployee>> searchEmployees(@PathVariable("fragment") String fragment) {
+        return Response.handledWith(mockEmployeeService.search(fragment));
+    }
+
+    @GetMapping("/top")
+    public Response<List<MockEmployee>> getTopEarners(@RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return Response.handledWith(mockEmployeeService.top(limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
         return mockEmployeeService
@@ -0,0 +1,36 @@
+package com.reliaquest.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Whether the random request limit let a request through.
+ */
+@Name("com.reliaquest.server.RateLimitDecision")
+@Label("Rate Limit Decision")
+@Category({"ReliaQuest", "Mock Employee Server"})
+@StackTrace(false)
+public class RateLimitDecisionEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Allowed")
+    public boolean allowed;
+
+    @Label("Count")
+    public int count;
+
+    @Label("Limit")
+    public int limit;
+
+    @Label("Backoff")
+    @Timespan(Timespan.SECONDS)
+    public long backoffSeconds;
+}
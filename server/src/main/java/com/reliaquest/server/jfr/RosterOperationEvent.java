@@ -0,0 +1,27 @@
+package com.reliaquest.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A read or change of the mock roster.
+ */
+@Name("com.reliaquest.server.RosterOperation")
+@Label("Roster Operation")
+@Category({"ReliaQuest", "Mock Employee Server"})
+@StackTrace(false)
+public class RosterOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Found")
+    @Description("Whether a lookup or delete matched an employee")
+    public boolean found;
+
+    @Label("Roster Size")
+    public int rosterSize;
+}
@@ -1,29 +1,122 @@
 package com.reliaquest.server.model;
 
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 
-@Data
-@AllArgsConstructor
-@Builder(toBuilder = true)
-@JsonNaming(MockEmployee.PrefixNamingStrategy.class)
+/**
+ * An employee of the mock roster, laid out to keep a roster of millions small: the id as two longs, salary and age as
+ * ints, the title shared through {@link TitleDictionary}, and the name and email in one array, one byte per character
+ * when every character fits, with a company email address reduced to its local part. Which of the nullable properties
+ * are present is kept in {@code flags}.
+ *
+ * <p>Immutable: there are no setters, and instances are made through the builder. The accessors return what the plain
+ * properties used to hold and the builder takes the same values, but every accessor for a string or a boxed number
+ * creates it; the store and the serializer read the fields directly or through the primitive accessors.
+ */
+@EqualsAndHashCode
+@JsonSerialize(using = MockEmployee.Serializer.class)
+@JsonDeserialize(using = MockEmployee.Deserializer.class)
 public class MockEmployee {
 
-    private UUID id;
-    private String name;
-    private Integer salary;
-    private Integer age;
-    private String title;
-    private String email;
+    public static final String EMAIL_DOMAIN = "@company.com";
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("employee_name");
+    private static final SerializedString SALARY = new SerializedString("employee_salary");
+    private static final SerializedString AGE = new SerializedString("employee_age");
+    private static final SerializedString TITLE = new SerializedString("employee_title");
+    private static final SerializedString EMAIL = new SerializedString("employee_email");
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_SALARY = 1 << 1;
+    private static final int HAS_AGE = 1 << 2;
+    private static final int HAS_NAME = 1 << 3;
+    private static final int HAS_EMAIL = 1 << 4;
+    // The email is stored without EMAIL_DOMAIN.
+    private static final int COMPANY_EMAIL = 1 << 5;
+    // Two bytes per character, high byte first, as some character did not fit into one.
+    private static final int UTF16 = 1 << 6;
+    // Printable ASCII without quotes or backslashes, which JSON writes as is.
+    private static final int PLAIN = 1 << 7;
+
+    private final long idMostSignificantBits;
+    private final long idLeastSignificantBits;
+    private final int salary;
+    private final int age;
+    private final TitleDictionary.Title title;
+    // The name's characters, then the email's.
+    private final byte[] text;
+    private final int nameLength;
+    private final byte flags;
+
+    @Builder(toBuilder = true)
+    private MockEmployee(
+            @Builder.ObtainVia(method = "getId") UUID id,
+            @Builder.ObtainVia(method = "getName") String name,
+            @Builder.ObtainVia(method = "getSalary") Integer salary,
+            @Builder.ObtainVia(method = "getAge") Integer age,
+            @Builder.ObtainVia(method = "getTitle") String title,
+            @Builder.ObtainVia(method = "getEmail") String email) {
+        var flags = 0;
+        if (id != null) {
+            this.idMostSignificantBits = id.getMostSignificantBits();
+            this.idLeastSignificantBits = id.getLeastSignificantBits();
+            flags |= HAS_ID;
+        } else {
+            this.idMostSignificantBits = 0;
+            this.idLeastSignificantBits = 0;
+        }
+        this.salary = salary == null ? 0 : salary;
+        this.age = age == null ? 0 : age;
+        this.title = TitleDictionary.of(title);
+        flags |= (salary == null ? 0 : HAS_SALARY) | (age == null ? 0 : HAS_AGE);
+
+        final var storedName = name == null ? "" : name;
+        var storedEmail = email == null ? "" : email;
+        if (email != null && email.endsWith(EMAIL_DOMAIN)) {
+            storedEmail = email.substring(0, email.length() - EMAIL_DOMAIN.length());
+            flags |= COMPANY_EMAIL;
+        }
+        flags |= (name == null ? 0 : HAS_NAME) | (email == null ? 0 : HAS_EMAIL);
+        final var combined = storedName.concat(storedEmail);
+        if (fitsLatin1(combined)) {
+            this.text = combined.getBytes(StandardCharsets.ISO_8859_1);
+            flags |= isPlain(combined) ? PLAIN : 0;
+        } else {
+            // By hand, as an encoder would replace an unpaired surrogate.
+            this.text = new byte[2 * combined.length()];
+            for (int i = 0; i < combined.length(); i++) {
+                text[2 * i] = (byte) (combined.charAt(i) >>> 8);
+                text[2 * i + 1] = (byte) combined.charAt(i);
+            }
+            flags |= UTF16;
+        }
+        this.nameLength = storedName.length();
+        this.flags = (byte) flags;
+    }
 
     public static MockEmployee from(@NonNull String email, @NonNull CreateMockEmployeeInput input) {
+        return from(UUID.randomUUID(), email, input);
+    }
+
+    public static MockEmployee from(@NonNull UUID id, @NonNull String email, @NonNull CreateMockEmployeeInput input) {
         return MockEmployee.builder()
-                .id(UUID.randomUUID())
+                .id(id)
                 .email(email)
                 .name(input.getName())
                 .salary(input.getSalary())
@@ -32,14 +125,289 @@ public class MockEmployee {
                 .build();
     }
 
-    static class PrefixNamingStrategy extends PropertyNamingStrategies.NamingBase {
+    public UUID getId() {
+        return has(HAS_ID) ? new UUID(idMostSignificantBits, idLeastSignificantBits) : null;
+    }
+
+    public boolean hasId() {
+        return has(HAS_ID);
+    }
+
+    /**
+     * @return the id's most significant bits, or 0 without an id
+     */
+    public long getIdMostSignificantBits() {
+        return idMostSignificantBits;
+    }
+
+    /**
+     * @return the id's least significant bits, or 0 without an id
+     */
+    public long getIdLeastSignificantBits() {
+        return idLeastSignificantBits;
+    }
+
+    public String getName() {
+        return has(HAS_NAME) ? text(0, nameLength) : null;
+    }
+
+    public Integer getSalary() {
+        return has(HAS_SALARY) ? salary : null;
+    }
+
+    public boolean hasSalary() {
+        return has(HAS_SALARY);
+    }
+
+    /**
+     * @return the salary, or 0 without one
+     */
+    public int getSalaryAsInt() {
+        return salary;
+    }
+
+    public Integer getAge() {
+        return has(HAS_AGE) ? age : null;
+    }
+
+    public String getTitle() {
+        return title == null ? null : title.value();
+    }
+
+    public String getEmail() {
+        if (!has(HAS_EMAIL)) {
+            return null;
+        }
+        final var stored = text(nameLength, textLength());
+        return has(COMPANY_EMAIL) ? stored.concat(EMAIL_DOMAIN) : stored;
+    }
+
+    @Override
+    public String toString() {
+        return "MockEmployee(id=" + getId() + ", name=" + getName() + ", salary=" + getSalary() + ", age=" + getAge()
+                + ", title=" + getTitle() + ", email=" + getEmail() + ")";
+    }
+
+    private boolean has(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    private int textLength() {
+        return has(UTF16) ? text.length / 2 : text.length;
+    }
+
+    private String text(int from, int to) {
+        if (has(UTF16)) {
+            final var chars = new char[to - from];
+            copyText(from, to, chars);
+            return new String(chars);
+        }
+        return new String(text, from, to - from, StandardCharsets.ISO_8859_1);
+    }
+
+    private void copyText(int from, int to, char[] destination) {
+        if (has(UTF16)) {
+            for (int i = from; i < to; i++) {
+                destination[i - from] = (char) ((text[2 * i] & 0xFF) << 8 | text[2 * i + 1] & 0xFF);
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                destination[i - from] = (char) (text[i] & 0xFF);
+            }
+        }
+    }
+
+    private static boolean isPlain(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            if (c < 0x20 || c > 0x7E || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean fitsLatin1(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes every property but {@code id} with the {@code employee_} prefix, from pre-encoded names. The id, name and
+     * email are put together in a per-thread buffer and the title is written from the encoding its dictionary entry
+     * holds, so writing an employee creates no strings. To UTF-8 JSON, a name and email that need no escaping are
+     * copied as bytes. A generator with its own character escapes gets every string through {@code writeString}.
+     */
+    static class Serializer extends StdSerializer<MockEmployee> {
+
+        private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+        private static final char[] EMAIL_DOMAIN_CHARS = EMAIL_DOMAIN.toCharArray();
+        private static final byte[] EMAIL_DOMAIN_BYTES = EMAIL_DOMAIN.getBytes(StandardCharsets.US_ASCII);
+        private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+        private static final ThreadLocal<byte[]> BYTES = ThreadLocal.withInitial(() -> new byte[64]);
+
+        Serializer() {
+            super(MockEmployee.class);
+        }
 
         @Override
-        public String translate(String propertyName) {
-            if ("id".equals(propertyName)) {
-                return propertyName;
+        public void serialize(MockEmployee employee, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(employee);
+            gen.writeFieldName(ID);
+            if (employee.has(HAS_ID)) {
+                final var buffer = buffer(36);
+                appendHex(buffer, 0, employee.idMostSignificantBits >>> 32, 8);
+                buffer[8] = '-';
+                appendHex(buffer, 9, employee.idMostSignificantBits >>> 16, 4);
+                buffer[13] = '-';
+                appendHex(buffer, 14, employee.idMostSignificantBits, 4);
+                buffer[18] = '-';
+                appendHex(buffer, 19, employee.idLeastSignificantBits >>> 48, 4);
+                buffer[23] = '-';
+                appendHex(buffer, 24, employee.idLeastSignificantBits, 12);
+                gen.writeString(buffer, 0, 36);
+            } else {
+                gen.writeNull();
+            }
+            // Pre-encoded and raw text would bypass escapes the generator was configured with.
+            final var escaping = gen.getCharacterEscapes() != null || gen.getHighestEscapedChar() != 0;
+            // Only UTF-8 JSON output takes raw bytes.
+            final var raw = employee.has(PLAIN) && gen instanceof UTF8JsonGenerator && !escaping;
+            gen.writeFieldName(NAME);
+            if (employee.has(HAS_NAME) && raw) {
+                gen.writeRawUTF8String(employee.text, 0, employee.nameLength);
+            } else if (employee.has(HAS_NAME)) {
+                final var buffer = buffer(employee.nameLength);
+                employee.copyText(0, employee.nameLength, buffer);
+                gen.writeString(buffer, 0, employee.nameLength);
+            } else {
+                gen.writeNull();
+            }
+            gen.writeFieldName(SALARY);
+            if (employee.has(HAS_SALARY)) {
+                gen.writeNumber(employee.salary);
+            } else {
+                gen.writeNull();
+            }
+            gen.writeFieldName(AGE);
+            if (employee.has(HAS_AGE)) {
+                gen.writeNumber(employee.age);
+            } else {
+                gen.writeNull();
+            }
+            gen.writeFieldName(TITLE);
+            if (employee.title != null && !escaping) {
+                gen.writeString(employee.title.encoded());
+            } else if (employee.title != null) {
+                gen.writeString(employee.title.value());
+            } else {
+                gen.writeNull();
+            }
+            gen.writeFieldName(EMAIL);
+            if (employee.has(HAS_EMAIL) && raw) {
+                final var stored = employee.text.length - employee.nameLength;
+                final var length = stored + (employee.has(COMPANY_EMAIL) ? EMAIL_DOMAIN_BYTES.length : 0);
+                final var buffer = bytes(length);
+                System.arraycopy(employee.text, employee.nameLength, buffer, 0, stored);
+                if (employee.has(COMPANY_EMAIL)) {
+                    System.arraycopy(EMAIL_DOMAIN_BYTES, 0, buffer, stored, EMAIL_DOMAIN_BYTES.length);
+                }
+                gen.writeRawUTF8String(buffer, 0, length);
+            } else if (employee.has(HAS_EMAIL)) {
+                final var stored = employee.textLength() - employee.nameLength;
+                final var length = stored + (employee.has(COMPANY_EMAIL) ? EMAIL_DOMAIN_CHARS.length : 0);
+                final var buffer = buffer(length);
+                employee.copyText(employee.nameLength, employee.textLength(), buffer);
+                if (employee.has(COMPANY_EMAIL)) {
+                    System.arraycopy(EMAIL_DOMAIN_CHARS, 0, buffer, stored, EMAIL_DOMAIN_CHARS.length);
+                }
+                gen.writeString(buffer, 0, length);
+            } else {
+                gen.writeNull();
+            }
+            gen.writeEndObject();
+        }
+
+        private static char[] buffer(int length) {
+            var buffer = BUFFER.get();
+            if (buffer.length < length) {
+                buffer = new char[Math.max(length, 2 * buffer.length)];
+                BUFFER.set(buffer);
+            }
+            return buffer;
+        }
+
+        private static byte[] bytes(int length) {
+            var buffer = BYTES.get();
+            if (buffer.length < length) {
+                buffer = new byte[Math.max(length, 2 * buffer.length)];
+                BYTES.set(buffer);
+            }
+            return buffer;
+        }
+
+        private static void appendHex(char[] buffer, int offset, long value, int digits) {
+            for (int i = offset + digits - 1; i >= offset; i--) {
+                buffer[i] = HEX_DIGITS[(int) value & 0xF];
+                value >>>= 4;
+            }
+        }
+    }
+
+    static class Deserializer extends StdDeserializer<MockEmployee> {
+
+        Deserializer() {
+            super(MockEmployee.class);
+        }
+
+        @Override
+        public MockEmployee deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            var token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            } else if (token != JsonToken.FIELD_NAME) {
+                return (MockEmployee) ctxt.handleUnexpectedToken(MockEmployee.class, p);
+            }
+
+            final var builder = MockEmployee.builder();
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                final var field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "id" -> builder.id(parseUuid(p, ctxt));
+                    case "employee_name" -> builder.name(parseString(p, ctxt));
+                    case "employee_salary" -> builder.salary(_parseInteger(p, ctxt, Integer.class));
+                    case "employee_age" -> builder.age(_parseInteger(p, ctxt, Integer.class));
+                    case "employee_title" -> builder.title(parseString(p, ctxt));
+                    case "employee_email" -> builder.email(parseString(p, ctxt));
+                    default -> ctxt.handleUnknownProperty(p, this, MockEmployee.class, field);
+                }
+            }
+            return builder.build();
+        }
+
+        private String parseString(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return p.currentToken() == JsonToken.VALUE_NULL ? null : _parseString(p, ctxt, this);
+        }
+
+        private static UUID parseUuid(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (p.currentToken() != JsonToken.VALUE_STRING) {
+                return (UUID) ctxt.handleUnexpectedToken(UUID.class, p);
+            }
+            final var text = p.getText();
+            try {
+                return UUID.fromString(text);
+            } catch (IllegalArgumentException e) {
+                return (UUID) ctxt.handleWeirdStringValue(UUID.class, text, "not a valid UUID");
             }
-            return "employee_" + propertyName;
         }
     }
 }
@@ -1,12 +1,21 @@
 package com.reliaquest.server.model;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
 import lombok.Getter;
 
-@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonSerialize(using = Response.Serializer.class)
 public record Response<T>(T data, Status status, String error) {
 
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString ERROR = new SerializedString("error");
+
     public static <T> Response<T> handled() {
         return new Response<>(null, Status.HANDLED, null);
     }
@@ -27,8 +36,41 @@ public record Response<T>(T data, Status status, String error) {
         @Getter
         private final String value;
 
+        private final SerializedString serializedValue;
+
         Status(String value) {
             this.value = value;
+            this.serializedValue = new SerializedString(value);
+        }
+    }
+
+    /**
+     * Omits null components, as {@code @JsonInclude(NON_NULL)} did. {@code data} is written with the serializer for its
+     * runtime type, which the provider caches.
+     */
+    @SuppressWarnings("rawtypes")
+    static class Serializer extends StdSerializer<Response> {
+
+        Serializer() {
+            super(Response.class);
+        }
+
+        @Override
+        public void serialize(Response response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(response);
+            if (response.data != null) {
+                gen.writeFieldName(DATA);
+                provider.findValueSerializer(response.data.getClass()).serialize(response.data, gen, provider);
+            }
+            if (response.status != null) {
+                gen.writeFieldName(STATUS);
+                gen.writeString(response.status.serializedValue);
+            }
+            if (response.error != null) {
+                gen.writeFieldName(ERROR);
+                gen.writeString(response.error);
+            }
+            gen.writeEndObject();
         }
     }
 }
@@ -0,0 +1,37 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One shared instance per job title, with its encoded form, so that a roster of millions holds each title once and
+ * writes it without encoding it again. Generated titles come from a limited set of combinations; titles given on
+ * create are not bounded, so past {@value #CAPACITY} titles a new one is kept by its employee alone.
+ */
+final class TitleDictionary {
+
+    static final int CAPACITY = 1 << 16;
+
+    private static final ConcurrentHashMap<String, Title> TITLES = new ConcurrentHashMap<>();
+
+    private TitleDictionary() {}
+
+    static Title of(String value) {
+        if (value == null) {
+            return null;
+        }
+        final var title = TITLES.get(value);
+        if (title != null) {
+            return title;
+        }
+        // Approximate under concurrent adds; the bound only has to hold roughly.
+        return TITLES.size() < CAPACITY ? TITLES.computeIfAbsent(value, Title::new) : new Title(value);
+    }
+
+    record Title(String value, SerializedString encoded) {
+
+        Title(String value) {
+            this(value, new SerializedString(value));
+        }
+    }
+}
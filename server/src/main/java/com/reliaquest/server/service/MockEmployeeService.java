@@ -1,58 +1,239 @@
 package com.reliaquest.server.service;
 
+import com.reliaquest.common.id.UuidIndex;
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.jfr.RosterOperationEvent;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import org.springframework.stereotype.Service;
 
+/**
+ * Holds the roster in three structures: every employee by insertion sequence, which is the order the roster is listed
+ * in; employees by case-folded name, for delete; and employees by id, for lookups. None of them is guarded by a single
+ * lock, so operations on different names and ids proceed in parallel.
+ *
+ * <p>A delete claims its employee by removing it from the name index, atomically for that name, and only then takes it
+ * out of the other two. Of several employees with the same name, the one added first is deleted first, as the linear
+ * scan over the roster used to find it.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MockEmployeeService {
 
+    // Lower salary first; of equal salaries the later addition first.
+    private static final Comparator<Map.Entry<Long, MockEmployee>> WORST_FIRST = Comparator.comparingInt(
+                    (Map.Entry<Long, MockEmployee> entry) -> entry.getValue().getSalaryAsInt())
+            .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+
     private final Faker faker;
+    private final ShardRange shardRange;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentSkipListMap<Long, MockEmployee> bySequence = new ConcurrentSkipListMap<>();
+    // The skip list counts its entries by walking them.
+    private final LongAdder size = new LongAdder();
+    // Buckets are only read or changed inside compute calls, which serialise them per name.
+    private final ConcurrentHashMap<String, TreeMap<Long, MockEmployee>> byName = new ConcurrentHashMap<>();
+    // Each stripe is guarded by itself.
+    private final UuidIndex<MockEmployee>[] idStripes;
+
+    @SuppressWarnings("unchecked")
+    public MockEmployeeService(Faker faker, ShardRange shardRange, List<MockEmployee> mockEmployees) {
+        this.faker = faker;
+        this.shardRange = shardRange;
+        final var stripes = Integer.highestOneBit(4 * Runtime.getRuntime().availableProcessors() - 1) << 1;
+        this.idStripes = (UuidIndex<MockEmployee>[]) new UuidIndex<?>[stripes];
+        for (int i = 0; i < stripes; i++) {
+            idStripes[i] = new UuidIndex<>(mockEmployees.size() / stripes);
+        }
+        mockEmployees.forEach(this::add);
+    }
+
+    /**
+     * @return a snapshot of the roster in insertion order
+     */
+    public List<MockEmployee> getMockEmployees() {
+        final var event = new RosterOperationEvent();
+        event.begin();
+        final var roster = new ArrayList<>(bySequence.values());
+        commit(event, "list", true);
+        return roster;
+    }
+
+    /**
+     * Employees whose name contains {@code fragment}, ignoring case, in insertion order.
+     */
+    public List<MockEmployee> search(@NonNull String fragment) {
+        final var event = new RosterOperationEvent();
+        event.begin();
+        final var lowerCaseFragment = fragment.toLowerCase();
+        final var matches = new ArrayList<MockEmployee>();
+        for (MockEmployee mockEmployee : bySequence.values()) {
+            final var name = mockEmployee.getName();
+            if (name != null && name.toLowerCase().contains(lowerCaseFragment)) {
+                matches.add(mockEmployee);
+            }
+        }
+        commit(event, "search", !matches.isEmpty());
+        return matches;
+    }
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    /**
+     * The {@code limit} highest paid employees, highest first; of equal salaries the one added first ranks higher.
+     */
+    public List<MockEmployee> top(int limit) {
+        final var event = new RosterOperationEvent();
+        event.begin();
+        final var kept = new PriorityQueue<>(Math.max(1, limit), WORST_FIRST);
+        for (Map.Entry<Long, MockEmployee> entry : bySequence.entrySet()) {
+            if (limit <= 0 || !entry.getValue().hasSalary()) {
+                continue;
+            }
+            kept.add(entry);
+            if (kept.size() > limit) {
+                kept.poll();
+            }
+        }
+        final var top = new ArrayList<MockEmployee>(kept.size());
+        while (!kept.isEmpty()) {
+            top.add(kept.poll().getValue());
+        }
+        Collections.reverse(top);
+        commit(event, "top", !top.isEmpty());
+        return top;
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        final var msb = uuid.getMostSignificantBits();
+        final var lsb = uuid.getLeastSignificantBits();
+        final var event = new RosterOperationEvent();
+        event.begin();
+        final var stripe = idStripe(msb, lsb);
+        final MockEmployee mockEmployee;
+        synchronized (stripe) {
+            mockEmployee = stripe.get(msb, lsb);
+        }
+        commit(event, "findById", mockEmployee != null);
+        return Optional.ofNullable(mockEmployee);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
         final var mockEmployee = MockEmployee.from(
+                shardRange.randomId(),
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        final var event = new RosterOperationEvent();
+        event.begin();
+        add(mockEmployee);
+        commit(event, "create", true);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        if (input.getName() == null) {
+            return false;
+        }
+        final var event = new RosterOperationEvent();
+        event.begin();
+        final var claimed = new AtomicReference<Map.Entry<Long, MockEmployee>>();
+        byName.computeIfPresent(fold(input.getName()), (name, bucket) -> {
+            claimed.set(bucket.pollFirstEntry());
+            return bucket.isEmpty() ? null : bucket;
+        });
+        final var entry = claimed.get();
+        if (entry == null) {
+            commit(event, "delete", false);
+            return false;
         }
+        final var mockEmployee = entry.getValue();
+        unindexId(mockEmployee);
+        bySequence.remove(entry.getKey());
+        size.decrement();
+        commit(event, "delete", true);
+        log.debug("Removed employee: {}", mockEmployee);
+        return true;
+    }
+
+    // The name index is written last, so a delete never claims an employee the other structures do not hold yet.
+    private void add(MockEmployee mockEmployee) {
+        final var position = sequence.incrementAndGet();
+        bySequence.put(position, mockEmployee);
+        size.increment();
+        indexId(mockEmployee);
+        final var name = mockEmployee.getName();
+        if (name != null) {
+            byName.compute(fold(name), (folded, bucket) -> {
+                final var target = bucket == null ? new TreeMap<Long, MockEmployee>() : bucket;
+                target.put(position, mockEmployee);
+                return target;
+            });
+        }
+    }
+
+    // The first employee with a given id wins. Ids are random, so a later duplicate is not promoted on delete.
+    private void indexId(MockEmployee mockEmployee) {
+        if (!mockEmployee.hasId()) {
+            return;
+        }
+        final var msb = mockEmployee.getIdMostSignificantBits();
+        final var lsb = mockEmployee.getIdLeastSignificantBits();
+        final var stripe = idStripe(msb, lsb);
+        synchronized (stripe) {
+            stripe.putIfAbsent(msb, lsb, mockEmployee);
+        }
+    }
+
+    private void unindexId(MockEmployee mockEmployee) {
+        if (!mockEmployee.hasId()) {
+            return;
+        }
+        final var msb = mockEmployee.getIdMostSignificantBits();
+        final var lsb = mockEmployee.getIdLeastSignificantBits();
+        final var stripe = idStripe(msb, lsb);
+        synchronized (stripe) {
+            if (stripe.get(msb, lsb) == mockEmployee) {
+                stripe.remove(msb, lsb);
+            }
+        }
+    }
+
+    private UuidIndex<MockEmployee> idStripe(long msb, long lsb) {
+        final var h = msb ^ lsb;
+        return idStripes[(int) (h ^ h >>> 32 ^ h >>> 48) & (idStripes.length - 1)];
+    }
+
+    private void commit(RosterOperationEvent event, String operation, boolean found) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.found = found;
+            event.rosterSize = size.intValue();
+            event.commit();
+        }
+    }
 
-        return false;
+    // Folds each code point the way String.equalsIgnoreCase compares it.
+    private static String fold(String name) {
+        final var folded = new StringBuilder(name.length());
+        name.codePoints().forEach(c -> folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c))));
+        return folded.toString();
     }
 }
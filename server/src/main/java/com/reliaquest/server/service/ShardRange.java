@@ -0,0 +1,40 @@
+package com.reliaquest.server.service;
+
+import java.util.UUID;
+
+/**
+ * The part of the id space this server owns when the roster is split over {@code mock.shard.count} servers. Shard
+ * {@code i} owns the ids whose top 32 bits, read as an unsigned number, fall into the {@code i}-th of {@code count}
+ * equal ranges, so every server generates ids only in its own range. The api routes by the same function.
+ */
+public record ShardRange(int index, int count) {
+
+    public ShardRange {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+    }
+
+    public static ShardRange single() {
+        return new ShardRange(0, 1);
+    }
+
+    public static int shardOf(UUID id, int count) {
+        return (int) (((id.getMostSignificantBits() >>> 32) * count) >>> 32);
+    }
+
+    public boolean owns(UUID id) {
+        return shardOf(id, count) == index;
+    }
+
+    /**
+     * A random id in this shard's range; takes {@code count} attempts on average.
+     */
+    public UUID randomId() {
+        var id = UUID.randomUUID();
+        while (!owns(id)) {
+            id = UUID.randomUUID();
+        }
+        return id;
+    }
+}
@@ -0,0 +1,109 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.ChaosProperties;
+import com.reliaquest.server.model.Response;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Injects latency, error responses, slow-drip bodies and dropped connections according to {@link ChaosProperties}.
+ * Runs ahead of the MVC dispatcher, so injected latency is observed before {@link RandomRequestLimitInterceptor}
+ * makes its decision, the same as network delay would be.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ChaosFilter extends OncePerRequestFilter {
+
+    public static final String ADMIN_PATH = "/api/v1/admin/**";
+
+    private final ChaosProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || pathMatcher.match(ADMIN_PATH, request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var rule = ruleFor(request);
+        if (rule == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final var random = ThreadLocalRandom.current();
+        final var delay = rule.getLatency().sampleMillis(random);
+        if (delay > 0) {
+            pause(delay);
+        }
+
+        if (random.nextDouble() < rule.getErrorRate()) {
+            log.debug("Injecting {} for {} {}", rule.getErrorStatus(), request.getMethod(), request.getRequestURI());
+            response.setStatus(rule.getErrorStatus());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Response.error("Injected fault."));
+            return;
+        }
+
+        final var reset = random.nextDouble() < rule.getResetRate();
+        final var drip = !reset && random.nextDouble() < rule.getDripRate();
+        if (!reset && !drip) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final var buffered = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, buffered);
+        final var body = buffered.getContentAsByteArray();
+        response.setContentLength(body.length);
+        if (reset) {
+            log.debug("Dropping connection mid-body for {} {}", request.getMethod(), request.getRequestURI());
+            // Advertise the full length but close after half of it; the client sees a premature end of stream.
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            response.getOutputStream().write(body, 0, body.length / 2);
+            response.flushBuffer();
+            return;
+        }
+
+        final var chunk = Math.max(1, rule.getDripChunkBytes());
+        for (int offset = 0; offset < body.length; offset += chunk) {
+            response.getOutputStream().write(body, offset, Math.min(chunk, body.length - offset));
+            response.flushBuffer();
+            pause(rule.getDripIntervalMillis());
+        }
+    }
+
+    private ChaosProperties.Rule ruleFor(HttpServletRequest request) {
+        for (ChaosProperties.Rule rule : properties.getRules()) {
+            if ((rule.getMethod() == null || rule.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(rule.getPath(), request.getRequestURI())) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static void pause(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while injecting latency", e);
+        }
+    }
+}
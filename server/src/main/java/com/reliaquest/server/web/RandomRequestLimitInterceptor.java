@@ -1,5 +1,6 @@
 package com.reliaquest.server.web;
 
+import com.reliaquest.server.jfr.RateLimitDecisionEvent;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.time.Duration;
@@ -7,11 +8,22 @@ import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.random.RandomGenerator;
 import lombok.Getter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+/**
+ * Allows a random number of requests, then rejects every request until a random backoff has passed since the last one
+ * allowed. Responses tell clients where they stand: {@value #LIMIT_HEADER} and {@value #REMAINING_HEADER} on every
+ * response, {@value #RESET_HEADER} (seconds until requests are allowed again) on the response that used up the limit,
+ * and {@code Retry-After} on a rejection.
+ */
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+
     private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
     private static final Duration REQUEST_BACKOFF_DURATION =
             Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
@@ -20,26 +32,58 @@ public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isBefore(requestLimit.get().getLastRequested())) {
+        final var event = new RateLimitDecisionEvent();
+        event.begin();
+        // Decided and recorded in one compare-and-set, so concurrent requests cannot all take the last slot.
+        RequestLimit current;
+        RequestLimit next;
+        do {
+            current = requestLimit.get();
+            final var now = Instant.now();
+            if (current.getCount() < REQUEST_LIMIT) {
+                next = new RequestLimit(current.getCount() + 1, now);
+            } else if (now.minus(REQUEST_BACKOFF_DURATION).isBefore(current.getLastRequested())) {
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                final var retryAfter =
+                        Duration.between(now, current.getLastRequested().plus(REQUEST_BACKOFF_DURATION));
+                setHeaders(response, 0);
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(secondsRoundedUp(retryAfter)));
+                commit(event, request, false);
                 return false;
+            } else {
+                next = RequestLimit.init();
             }
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isAfter(requestLimit.get().getLastRequested())) {
-                requestLimit.set(RequestLimit.init());
-            }
-        } else {
-            requestLimit.getAndUpdate(
-                    currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
-        }
+        } while (!requestLimit.compareAndSet(current, next));
+        setHeaders(response, REQUEST_LIMIT - next.getCount());
 
+        commit(event, request, true);
         return true;
     }
 
+    private static void setHeaders(HttpServletResponse response, int remaining) {
+        response.setHeader(LIMIT_HEADER, String.valueOf(REQUEST_LIMIT));
+        response.setHeader(REMAINING_HEADER, String.valueOf(Math.max(0, remaining)));
+        if (remaining <= 0) {
+            response.setHeader(RESET_HEADER, String.valueOf(REQUEST_BACKOFF_DURATION.toSeconds()));
+        }
+    }
+
+    private static long secondsRoundedUp(Duration duration) {
+        return Math.max(1, (duration.toMillis() + 999) / 1000);
+    }
+
+    private void commit(RateLimitDecisionEvent event, HttpServletRequest request, boolean allowed) {
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.path = request.getRequestURI();
+            event.allowed = allowed;
+            event.count = requestLimit.get().getCount();
+            event.limit = REQUEST_LIMIT;
+            event.backoffSeconds = REQUEST_BACKOFF_DURATION.toSeconds();
+            event.commit();
+        }
+    }
+
     private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
         public static RequestLimit init() {
             return new RequestLimit(0, Instant.now());
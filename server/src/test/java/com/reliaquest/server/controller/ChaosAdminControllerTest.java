@@ -0,0 +1,71 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.ChaosProperties;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ChaosAdminControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ChaosProperties chaosProperties = new ChaosProperties();
+    private final ChaosAdminController controller = new ChaosAdminController(chaosProperties);
+
+    @Test
+    void testUpdateChaos_replacesRulesAndEnables() throws Exception {
+        String json = "{\"enabled\":true,\"rules\":[{\"method\":\"GET\",\"path\":\"/api/v1/employee/**\","
+                + "\"errorRate\":0.5}]}";
+        ChaosProperties update = objectMapper.readValue(json, ChaosProperties.class);
+
+        ChaosProperties result = controller.updateChaos(update).data();
+
+        assertSame(chaosProperties, result);
+        assertTrue(chaosProperties.isEnabled());
+        assertEquals(1, chaosProperties.getRules().size());
+        assertEquals("/api/v1/employee/**", chaosProperties.getRules().get(0).getPath());
+        assertEquals(0.5, chaosProperties.getRules().get(0).getErrorRate());
+    }
+
+    @Test
+    void testUpdateChaos_nullRulesClearRules() throws Exception {
+        chaosProperties.setRules(List.of(new ChaosProperties.Rule()));
+
+        controller.updateChaos(objectMapper.readValue("{\"enabled\":true,\"rules\":null}", ChaosProperties.class));
+
+        assertTrue(chaosProperties.isEnabled());
+        assertTrue(chaosProperties.getRules().isEmpty());
+    }
+
+    @Test
+    void testUpdateChaos_missingRulesClearRules() throws Exception {
+        chaosProperties.setRules(List.of(new ChaosProperties.Rule()));
+
+        controller.updateChaos(objectMapper.readValue("{\"enabled\":true}", ChaosProperties.class));
+
+        assertTrue(chaosProperties.getRules().isEmpty());
+    }
+
+    @Test
+    void testUpdateChaos_copiesRules() {
+        ChaosProperties update = new ChaosProperties();
+        update.getRules().add(new ChaosProperties.Rule());
+
+        controller.updateChaos(update);
+        update.getRules().clear();
+
+        assertEquals(1, chaosProperties.getRules().size());
+    }
+
+    @Test
+    void testDisableChaos_keepsRules() {
+        chaosProperties.setEnabled(true);
+        chaosProperties.setRules(List.of(new ChaosProperties.Rule()));
+
+        controller.disableChaos();
+
+        assertFalse(chaosProperties.isEnabled());
+        assertEquals(1, chaosProperties.getRules().size());
+    }
+}
@@ -0,0 +1,297 @@
+package com.reliaquest.server.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the compact layout against the plain properties it replaced: every case is written both by
+ * {@link MockEmployee.Serializer} and by {@link #writeLegacy}, a copy of the serializer the class had when it was a
+ * Lombok {@code @Data} class, and the output must match byte for byte.
+ */
+class MockEmployeeTest {
+
+    private static final UUID ID = UUID.fromString("0123abcd-4567-89ef-fedc-ba9876543210");
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper smile = new SmileMapper();
+
+    @Test
+    void testSerialize_matchesLegacyJson() throws IOException {
+        MockEmployee employee =
+                employee(ID, "Jill \"J\" Jenkins", 139082, 48, "Financial Advisor", "jillj@company.com");
+
+        assertEquals(
+                "{\"id\":\"0123abcd-4567-89ef-fedc-ba9876543210\",\"employee_name\":\"Jill \\\"J\\\" Jenkins\","
+                        + "\"employee_salary\":139082,\"employee_age\":48,\"employee_title\":\"Financial Advisor\","
+                        + "\"employee_email\":\"jillj@company.com\"}",
+                json.writeValueAsString(employee));
+    }
+
+    @Test
+    void testSerialize_matchesLegacyForEveryCase() throws IOException {
+        for (Legacy legacy : cases()) {
+            MockEmployee employee = legacy.toEmployee();
+
+            // UTF-8 bytes, which take the raw path for plain text, then chars, then Smile.
+            assertArrayEquals(legacyBytes(json, legacy), json.writeValueAsBytes(employee), legacy.toString());
+            assertEquals(legacyString(json, legacy), json.writeValueAsString(employee), legacy.toString());
+            assertSameSmile(legacy, employee);
+        }
+    }
+
+    @Test
+    void testSerialize_honoursCharacterEscapes() throws IOException {
+        ObjectMapper escaping = new ObjectMapper();
+        escaping.getFactory().setCharacterEscapes(new AngleBracketEscapes());
+        Legacy legacy = new Legacy(ID, "<b>Jill</b>", 1, 2, "<i>Advisor</i>", "<jill>@company.com");
+
+        assertArrayEquals(legacyBytes(escaping, legacy), escaping.writeValueAsBytes(legacy.toEmployee()));
+        assertEquals(legacyString(escaping, legacy), escaping.writeValueAsString(legacy.toEmployee()));
+        assertFalse(escaping.writeValueAsString(legacy.toEmployee()).contains("<"));
+    }
+
+    @Test
+    void testDeserialize_roundTripsLegacyJson() throws IOException {
+        for (Legacy legacy : cases()) {
+            String written = legacyString(json, legacy);
+
+            MockEmployee read = json.readValue(written, MockEmployee.class);
+
+            legacy.assertSameAs(read);
+            assertEquals(legacy.toEmployee(), read);
+            assertEquals(written, json.writeValueAsString(read));
+            if (!legacy.hasUnpairedSurrogate()) {
+                legacy.assertSameAs(smile.readValue(legacyBytes(smile, legacy), MockEmployee.class));
+            }
+        }
+    }
+
+    @Test
+    void testAccessors_keepUnpairedSurrogates() throws IOException {
+        Legacy legacy = new Legacy(ID, "a\uD800b", 1, 2, "t", "\uDC00x@company.com");
+        MockEmployee employee = legacy.toEmployee();
+
+        legacy.assertSameAs(employee);
+        legacy.assertSameAs(employee.toBuilder().build());
+        assertEquals(legacyString(json, legacy), json.writeValueAsString(employee));
+        assertArrayEquals(legacyBytes(json, legacy), json.writeValueAsBytes(employee));
+        // Smile refuses them, as it did before.
+        assertSameSmile(legacy, employee);
+    }
+
+    @Test
+    void testCompanyEmail_strippedAndRestored() {
+        assertEquals(
+                "jill@company.com",
+                employee(ID, "Jill", 1, 2, "t", "jill@company.com").getEmail());
+        assertEquals(
+                "@company.com", employee(ID, "Jill", 1, 2, "t", "@company.com").getEmail());
+        assertEquals(
+                "jill@company.com.au",
+                employee(ID, "Jill", 1, 2, "t", "jill@company.com.au").getEmail());
+        assertEquals(
+                "\u674E@company.com",
+                employee(ID, "\u674E", 1, 2, "t", "\u674E@company.com").getEmail());
+        assertNotEquals(employee(ID, "Jill", 1, 2, "t", "jill@company.com"), employee(ID, "Jill", 1, 2, "t", "jill"));
+    }
+
+    @Test
+    void testNullAndEmptyText_areDistinct() {
+        MockEmployee nulls = employee(ID, null, 1, 2, "t", null);
+        MockEmployee empties = employee(ID, "", 1, 2, "t", "");
+
+        assertNull(nulls.getName());
+        assertNull(nulls.getEmail());
+        assertEquals("", empties.getName());
+        assertEquals("", empties.getEmail());
+        assertNotEquals(nulls, empties);
+        assertNotEquals(employee(ID, "", 1, 2, "t", null), employee(ID, null, 1, 2, "t", ""));
+        // The name and email share one array, so a boundary that moves must not go unnoticed.
+        assertNotEquals(employee(ID, "ab", 1, 2, "t", "c"), employee(ID, "a", 1, 2, "t", "bc"));
+    }
+
+    private static List<Legacy> cases() {
+        List<String> names = Arrays.asList(
+                null,
+                "",
+                "Jill Jenkins",
+                "Jill \"J\" Jenkins",
+                "back\\slash",
+                "tab\there",
+                "\u007F",
+                "Jos\u00E9 M\u00FCller",
+                "\u674E\u5C0F\u9F99",
+                "Zo\u00EB \uD83D\uDE00",
+                "a\uD800b");
+        List<String> emails = Arrays.asList(
+                null,
+                "",
+                "jillj@company.com",
+                "@company.com",
+                "jill@example.org",
+                "jos\u00E9@company.com",
+                "\"q\"@company.com",
+                "\u674E@company.com",
+                "\uDC00x@company.com");
+        List<Legacy> cases = new ArrayList<>();
+        for (String name : names) {
+            for (String email : emails) {
+                cases.add(new Legacy(ID, name, 139082, 48, "Financial Advisor", email));
+            }
+        }
+        cases.add(new Legacy(null, "Jill", null, null, null, "jill@company.com"));
+        cases.add(new Legacy(new UUID(0, 0), "Jill", 0, 0, "", "jill@company.com"));
+        cases.add(new Legacy(new UUID(-1, -1), "Jill", Integer.MIN_VALUE, Integer.MAX_VALUE, "\u00DCmit", null));
+        return cases;
+    }
+
+    private static MockEmployee employee(
+            UUID id, String name, Integer salary, Integer age, String title, String email) {
+        return MockEmployee.builder()
+                .id(id)
+                .name(name)
+                .salary(salary)
+                .age(age)
+                .title(title)
+                .email(email)
+                .build();
+    }
+
+    /**
+     * Smile cannot encode an unpaired surrogate; for those cases the two serializers must fail alike.
+     */
+    private void assertSameSmile(Legacy legacy, MockEmployee employee) throws IOException {
+        if (!legacy.hasUnpairedSurrogate()) {
+            assertArrayEquals(legacyBytes(smile, legacy), smile.writeValueAsBytes(employee), legacy.toString());
+            return;
+        }
+        Class<?> expected = assertThrows(IOException.class, () -> legacyBytes(smile, legacy))
+                .getClass();
+        assertEquals(
+                expected,
+                assertThrows(IOException.class, () -> smile.writeValueAsBytes(employee))
+                        .getClass());
+    }
+
+    private static byte[] legacyBytes(ObjectMapper mapper, Legacy legacy) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            writeLegacy(gen, legacy);
+        }
+        return out.toByteArray();
+    }
+
+    private static String legacyString(ObjectMapper mapper, Legacy legacy) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(out)) {
+            writeLegacy(gen, legacy);
+        }
+        return out.toString();
+    }
+
+    /**
+     * The serializer of the {@code @Data} class, unchanged but for reading a {@link Legacy}.
+     */
+    private static void writeLegacy(JsonGenerator gen, Legacy employee) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName("id");
+        if (employee.id() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(employee.id().toString());
+        }
+        gen.writeFieldName("employee_name");
+        gen.writeString(employee.name());
+        gen.writeFieldName("employee_salary");
+        writeInteger(gen, employee.salary());
+        gen.writeFieldName("employee_age");
+        writeInteger(gen, employee.age());
+        gen.writeFieldName("employee_title");
+        gen.writeString(employee.title());
+        gen.writeFieldName("employee_email");
+        gen.writeString(employee.email());
+        gen.writeEndObject();
+    }
+
+    private static void writeInteger(JsonGenerator gen, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    /**
+     * The properties of the {@code @Data} class.
+     */
+    private record Legacy(UUID id, String name, Integer salary, Integer age, String title, String email) {
+
+        boolean hasUnpairedSurrogate() {
+            return isUnpaired(name) || isUnpaired(title) || isUnpaired(email);
+        }
+
+        private static boolean isUnpaired(String value) {
+            if (value == null) {
+                return false;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (Character.isHighSurrogate(c)
+                        && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        MockEmployee toEmployee() {
+            return employee(id, name, salary, age, title, email);
+        }
+
+        void assertSameAs(MockEmployee employee) {
+            assertEquals(id, employee.getId(), toString());
+            assertEquals(name, employee.getName(), toString());
+            assertEquals(salary, employee.getSalary(), toString());
+            assertEquals(age, employee.getAge(), toString());
+            assertEquals(title, employee.getTitle(), toString());
+            assertEquals(email, employee.getEmail(), toString());
+        }
+    }
+
+    private static final class AngleBracketEscapes extends CharacterEscapes {
+
+        private final int[] escapes = standardAsciiEscapesForJSON();
+
+        AngleBracketEscapes() {
+            escapes['<'] = ESCAPE_STANDARD;
+            escapes['>'] = ESCAPE_STANDARD;
+        }
+
+        @Override
+        public int[] getEscapeCodesForAscii() {
+            return escapes;
+        }
+
+        @Override
+        public SerializableString getEscapeSequence(int ch) {
+            return null;
+        }
+    }
+}
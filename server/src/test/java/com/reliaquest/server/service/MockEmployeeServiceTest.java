@@ -0,0 +1,109 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeServiceTest {
+
+    private static final UUID FIRST_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID THIRD_ID = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @Test
+    void testDelete_removesFirstAddedOfSameName() {
+        MockEmployee first = employee(FIRST_ID, "Jill Jenkins");
+        MockEmployee other = employee(SECOND_ID, "Bob Brown");
+        MockEmployee second = employee(THIRD_ID, "jill jenkins");
+        MockEmployeeService service = service(first, other, second);
+
+        assertTrue(service.delete(input("JILL JENKINS")));
+
+        assertEquals(List.of(other, second), service.getMockEmployees());
+        assertTrue(service.findById(FIRST_ID).isEmpty());
+        assertSame(second, service.findById(THIRD_ID).orElseThrow());
+
+        assertTrue(service.delete(input("Jill Jenkins")));
+        assertFalse(service.delete(input("Jill Jenkins")));
+        assertEquals(List.of(other), service.getMockEmployees());
+    }
+
+    @Test
+    void testDelete_unknownOrNullNameDeletesNothing() {
+        MockEmployee employee = employee(FIRST_ID, "Jill Jenkins");
+        MockEmployeeService service = service(employee);
+
+        assertFalse(service.delete(input("Jill")));
+        assertFalse(service.delete(input(null)));
+
+        assertEquals(List.of(employee), service.getMockEmployees());
+    }
+
+    @Test
+    void testDelete_duplicateIdIsNotPromoted() {
+        MockEmployee first = employee(FIRST_ID, "First");
+        MockEmployee duplicate = employee(FIRST_ID, "Duplicate");
+        MockEmployeeService service = service(first, duplicate);
+
+        assertSame(first, service.findById(FIRST_ID).orElseThrow());
+
+        assertTrue(service.delete(input("Duplicate")));
+        assertSame(first, service.findById(FIRST_ID).orElseThrow());
+
+        // Re-adding the duplicate and deleting the employee the id maps to leaves the id unmapped.
+        MockEmployeeService again = service(first, duplicate);
+        assertTrue(again.delete(input("First")));
+        assertTrue(again.findById(FIRST_ID).isEmpty());
+        assertEquals(List.of(duplicate), again.getMockEmployees());
+    }
+
+    @Test
+    void testDelete_matchesNamesAsEqualsIgnoreCase() {
+        List<List<String>> pairs = List.of(
+                List.of("K\u0131van\u00E7", "KIVAN\u00C7"),
+                List.of("K\u0131van\u00E7", "kivan\u00E7"),
+                // Final, capital and medial sigma.
+                List.of("\u03C2", "\u03A3"),
+                List.of("\u03C2", "\u03C3"),
+                // Kelvin sign.
+                List.of("\u212Aelvin", "kelvin"),
+                List.of("\u01C5emal", "\u01C6emal"),
+                List.of("\uD801\uDC00", "\uD801\uDC28"),
+                List.of("Stra\u00DFe", "STRASSE"),
+                List.of("Stra\u00DFe", "strasse"),
+                List.of("\u0130pek", "ipek"));
+        for (List<String> pair : pairs) {
+            MockEmployeeService service = service(employee(FIRST_ID, pair.get(0)));
+
+            boolean expected = pair.get(0).equalsIgnoreCase(pair.get(1));
+
+            assertEquals(expected, service.delete(input(pair.get(1))), pair.toString());
+        }
+    }
+
+    private static MockEmployeeService service(MockEmployee... employees) {
+        return new MockEmployeeService(new Faker(), ShardRange.single(), List.of(employees));
+    }
+
+    private static MockEmployee employee(UUID id, String name) {
+        return MockEmployee.builder()
+                .id(id)
+                .name(name)
+                .salary(100_000)
+                .age(30)
+                .title("Title")
+                .email("someone@company.com")
+                .build();
+    }
+
+    private static DeleteMockEmployeeInput input(String name) {
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.stress;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Four actors create two employees each, half of them under one shared name. No create may be lost: the roster holds
+ * exactly the eight employees returned, each findable by its id, and deleting the shared name succeeds four times.
+ */
+public class CreateStress extends StressTest<CreateStress.State> {
+
+    private static final int ACTORS = 4;
+    private static final int CREATES = 2;
+    private static final String SHARED_NAME = "Shared Name";
+
+    @Override
+    public String name() {
+        return "create";
+    }
+
+    @Override
+    public int actors() {
+        return ACTORS;
+    }
+
+    @Override
+    public State setUp() {
+        return new State(Employees.service(List.of()), new AtomicReferenceArray<>(ACTORS * CREATES));
+    }
+
+    @Override
+    public void actor(int index, State state) {
+        for (int i = 0; i < CREATES; i++) {
+            final var name = i == 0 ? SHARED_NAME : "Actor " + index;
+            state.created().set(index * CREATES + i, state.service().create(Employees.createInput(name, 100 + index)));
+        }
+    }
+
+    @Override
+    public Outcome arbiter(State state) {
+        final var service = state.service();
+        final var created = Employees.identitySet();
+        var findable = 0;
+        for (int i = 0; i < state.created().length(); i++) {
+            final var mockEmployee = state.created().get(i);
+            created.add(mockEmployee);
+            if (service.findById(mockEmployee.getId()).orElse(null) == mockEmployee) {
+                findable++;
+            }
+        }
+        final var roster = service.getMockEmployees();
+        final var listed = Employees.identitySet();
+        listed.addAll(roster);
+        var deleted = 0;
+        while (service.delete(Employees.deleteInput(SHARED_NAME))) {
+            deleted++;
+        }
+
+        final var description = "roster=" + roster.size() + " findable=" + findable + " deletedByName=" + deleted;
+        return roster.size() == ACTORS * CREATES
+                        && listed.equals(created)
+                        && findable == ACTORS * CREATES
+                        && deleted == ACTORS
+                ? Outcome.acceptable(description)
+                : Outcome.forbidden(description + (listed.equals(created) ? "" : " rosterDiffers"));
+    }
+
+    public record State(MockEmployeeService service, AtomicReferenceArray<MockEmployee> created) {}
+}
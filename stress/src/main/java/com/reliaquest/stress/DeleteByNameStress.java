@@ -0,0 +1,75 @@
+package com.reliaquest.stress;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Three actors delete the same name, each spelling it in a different case, while a fourth adds another employee of
+ * that name to the two already there. Each existing employee must be deleted exactly once: two or three deletes
+ * succeed, depending on whether one ran after the create, and what is left of the name is still in every index.
+ */
+public class DeleteByNameStress extends StressTest<DeleteByNameStress.State> {
+
+    private static final String NAME = "Same Name";
+    private static final String[] SPELLINGS = {"Same Name", "same name", "SAME NAME"};
+
+    @Override
+    public String name() {
+        return "delete-by-name";
+    }
+
+    @Override
+    public int actors() {
+        return SPELLINGS.length + 1;
+    }
+
+    @Override
+    public State setUp() {
+        final var service = Employees.service(List.of(
+                Employees.employee(NAME, 100), Employees.employee("Other Name", 200), Employees.employee(NAME, 300)));
+        return new State(service, new AtomicInteger());
+    }
+
+    @Override
+    public void actor(int index, State state) {
+        if (index == SPELLINGS.length) {
+            state.service().create(Employees.createInput(NAME, 400));
+        } else if (state.service().delete(Employees.deleteInput(SPELLINGS[index]))) {
+            state.deleted().incrementAndGet();
+        }
+    }
+
+    @Override
+    public Outcome arbiter(State state) {
+        final var service = state.service();
+        final var roster = service.getMockEmployees();
+        var listedWithName = 0;
+        var findable = 0;
+        for (MockEmployee mockEmployee : roster) {
+            if (NAME.equals(mockEmployee.getName())) {
+                listedWithName++;
+            }
+            if (service.findById(mockEmployee.getId()).orElse(null) == mockEmployee) {
+                findable++;
+            }
+        }
+        var deletableByName = 0;
+        while (service.delete(Employees.deleteInput(NAME))) {
+            deletableByName++;
+        }
+
+        final var deleted = state.deleted().get();
+        final var description = "deleted=" + deleted + " remaining=" + listedWithName;
+        return (deleted == 2 || deleted == 3)
+                        && listedWithName == 3 - deleted
+                        && deletableByName == listedWithName
+                        && findable == roster.size()
+                ? Outcome.acceptable(description)
+                : Outcome.forbidden(description + " deletableByName=" + deletableByName + " findable=" + findable + "/"
+                        + roster.size());
+    }
+
+    public record State(MockEmployeeService service, AtomicInteger deleted) {}
+}
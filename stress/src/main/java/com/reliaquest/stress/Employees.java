@@ -0,0 +1,56 @@
+package com.reliaquest.stress;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.ShardRange;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import net.datafaker.Faker;
+
+final class Employees {
+
+    // Only used for generated email addresses; shared, as the server shares its instance between request threads.
+    private static final Faker FAKER = new Faker();
+
+    private Employees() {}
+
+    static MockEmployeeService service(List<MockEmployee> roster) {
+        return new MockEmployeeService(FAKER, ShardRange.single(), roster);
+    }
+
+    static MockEmployee employee(String name, int salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title("Title")
+                .email("employee@company.com")
+                .build();
+    }
+
+    static CreateMockEmployeeInput createInput(String name, int salary) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(salary);
+        input.setAge(30);
+        input.setTitle("Title");
+        return input;
+    }
+
+    static DeleteMockEmployeeInput deleteInput(String name) {
+        final var input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+
+    // MockEmployee compares by value; the store hands out the instances it holds.
+    static Set<MockEmployee> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.stress;
+
+import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Four actors send three requests each through a fresh rate limiter, more than any limit it picks. Exactly the limit
+ * must be admitted, each admitted request told a different number of requests remaining, and the rest rejected: the
+ * backoff is far longer than a round, so no request may find the window reset.
+ */
+public class RateLimitStress extends StressTest<RateLimitStress.State> {
+
+    private static final int ACTORS = 4;
+    private static final int REQUESTS = 3;
+
+    @Override
+    public String name() {
+        return "rate-limit";
+    }
+
+    @Override
+    public int actors() {
+        return ACTORS;
+    }
+
+    @Override
+    public State setUp() {
+        return new State(
+                new RandomRequestLimitInterceptor(),
+                new AtomicIntegerArray(ACTORS * REQUESTS),
+                new AtomicIntegerArray(ACTORS * REQUESTS),
+                new AtomicIntegerArray(1));
+    }
+
+    @Override
+    public void actor(int index, State state) {
+        final var request = ServletStubs.request("GET", "/api/v1/employee");
+        final var response = ServletStubs.response();
+        for (int i = 0; i < REQUESTS; i++) {
+            final var allowed =
+                    state.interceptor().preHandle(request, response.reset().servletResponse(), new Object());
+            final var slot = index * REQUESTS + i;
+            state.statuses().set(slot, allowed ? response.status() : -response.status());
+            state.remaining()
+                    .set(slot, Integer.parseInt(response.header(RandomRequestLimitInterceptor.REMAINING_HEADER)));
+            state.limit().set(0, Integer.parseInt(response.header(RandomRequestLimitInterceptor.LIMIT_HEADER)));
+        }
+    }
+
+    @Override
+    public Outcome arbiter(State state) {
+        final var limit = state.limit().get(0);
+        var admitted = 0;
+        var rejectedWith429 = 0;
+        final var remaining = new HashSet<Integer>();
+        for (int i = 0; i < ACTORS * REQUESTS; i++) {
+            final var status = state.statuses().get(i);
+            if (status > 0) {
+                admitted++;
+                remaining.add(state.remaining().get(i));
+            } else if (-status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                rejectedWith429++;
+            }
+        }
+
+        final var description = "admitted=" + admitted + " of " + ACTORS * REQUESTS + " limit=" + limit;
+        return admitted == limit && remaining.size() == admitted && admitted + rejectedWith429 == ACTORS * REQUESTS
+                ? Outcome.acceptable(description)
+                : Outcome.forbidden(
+                        description + " distinctRemaining=" + remaining.size() + " rejected=" + rejectedWith429);
+    }
+
+    /**
+     * Per request, in actor order: the status, negated if the request was rejected, and the remaining header.
+     */
+    public record State(
+            RandomRequestLimitInterceptor interceptor,
+            AtomicIntegerArray statuses,
+            AtomicIntegerArray remaining,
+            AtomicIntegerArray limit) {}
+}
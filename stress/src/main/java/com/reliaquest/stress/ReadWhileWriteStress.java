@@ -0,0 +1,120 @@
+package com.reliaquest.stress;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * One actor creates employees and deletes two of the initial ones while two others list, search, rank and look up the
+ * roster. Readers must never see a null or repeated entry, a roster smaller or larger than any state it passed
+ * through, an unsorted ranking, or miss an employee whose create had returned before they looked.
+ */
+public class ReadWhileWriteStress extends StressTest<ReadWhileWriteStress.State> {
+
+    private static final int INITIAL = 8;
+    private static final int CREATES = 4;
+    private static final int DELETES = 2;
+    private static final int READS = 3;
+
+    @Override
+    public String name() {
+        return "read-while-write";
+    }
+
+    @Override
+    public int actors() {
+        return 3;
+    }
+
+    @Override
+    public State setUp() {
+        final var roster = new ArrayList<MockEmployee>(INITIAL);
+        for (int i = 0; i < INITIAL; i++) {
+            roster.add(Employees.employee("Initial " + i, 100 + i));
+        }
+        return new State(Employees.service(roster), new AtomicReferenceArray<>(CREATES), new AtomicReference<>());
+    }
+
+    @Override
+    public void actor(int index, State state) {
+        if (index == 0) {
+            for (int i = 0; i < CREATES; i++) {
+                state.published().set(i, state.service().create(Employees.createInput("Created " + i, 1_000 + i)));
+            }
+            for (int i = 0; i < DELETES; i++) {
+                state.service().delete(Employees.deleteInput("Initial " + i));
+            }
+        } else {
+            for (int i = 0; i < READS; i++) {
+                read(state);
+            }
+        }
+    }
+
+    private static void read(State state) {
+        final var service = state.service();
+        final var published = new ArrayList<MockEmployee>(CREATES);
+        for (int i = 0; i < CREATES; i++) {
+            final var mockEmployee = state.published().get(i);
+            if (mockEmployee != null) {
+                published.add(mockEmployee);
+            }
+        }
+
+        final var roster = service.getMockEmployees();
+        final var distinct = Employees.identitySet();
+        for (MockEmployee mockEmployee : roster) {
+            if (mockEmployee == null) {
+                state.violate("null in roster");
+            } else if (!distinct.add(mockEmployee)) {
+                state.violate("repeated entry in roster");
+            }
+        }
+        if (roster.size() < INITIAL - DELETES || roster.size() > INITIAL + CREATES) {
+            state.violate("roster of " + roster.size());
+        }
+        for (MockEmployee mockEmployee : published) {
+            if (!distinct.contains(mockEmployee)) {
+                state.violate("created employee not listed");
+            }
+            if (service.findById(mockEmployee.getId()).orElse(null) != mockEmployee) {
+                state.violate("created employee not found by id");
+            }
+        }
+
+        final List<MockEmployee> top = service.top(3);
+        for (int i = 1; i < top.size(); i++) {
+            if (top.get(i - 1).getSalary() < top.get(i).getSalary()) {
+                state.violate("ranking out of order");
+            }
+        }
+        if (service.search("created").size() < published.size()) {
+            state.violate("created employee not found by search");
+        }
+    }
+
+    @Override
+    public Outcome arbiter(State state) {
+        final var violation = state.violation().get();
+        if (violation != null) {
+            return Outcome.forbidden(violation);
+        }
+        final var size = state.service().getMockEmployees().size();
+        final var description = "roster=" + size;
+        return size == INITIAL + CREATES - DELETES ? Outcome.acceptable(description) : Outcome.forbidden(description);
+    }
+
+    public record State(
+            MockEmployeeService service,
+            AtomicReferenceArray<MockEmployee> published,
+            AtomicReference<String> violation) {
+
+        // The first violation of the round is reported.
+        void violate(String description) {
+            violation.compareAndSet(null, description);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.reliaquest.stress;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Runs a {@link StressTest} for a number of rounds and counts how often each outcome was seen. The actor threads live
+ * for the whole run and meet at a barrier before and after every round, so a round costs no thread start-up and the
+ * actors begin as close together as the scheduler allows.
+ */
+public final class RoundRunner {
+
+    private static final long ROUND_TIMEOUT_SECONDS = 10;
+
+    private RoundRunner() {}
+
+    public static <S> Result run(StressTest<S> test, int rounds) throws InterruptedException {
+        final var actors = test.actors();
+        final var barrier = new CyclicBarrier(actors + 1);
+        final var state = new AtomicReference<S>();
+        final var failures = new AtomicReferenceArray<Throwable>(actors);
+        for (int a = 0; a < actors; a++) {
+            final var index = a;
+            final var worker = new Thread(
+                    () -> {
+                        try {
+                            while (true) {
+                                barrier.await();
+                                final var current = state.get();
+                                if (current == null) {
+                                    return;
+                                }
+                                try {
+                                    test.actor(index, current);
+                                } catch (Throwable e) {
+                                    failures.set(index, e);
+                                }
+                                barrier.await();
+                            }
+                        } catch (InterruptedException | BrokenBarrierException e) {
+                            // The run is over or has failed; the main thread reports it.
+                        }
+                    },
+                    "stress-" + test.name() + "-" + a);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        final Map<String, Integer> acceptable = new TreeMap<>();
+        final Map<String, Integer> forbidden = new TreeMap<>();
+        try {
+            for (int round = 0; round < rounds; round++) {
+                for (int a = 0; a < actors; a++) {
+                    failures.set(a, null);
+                }
+                state.set(test.setUp());
+                barrier.await(ROUND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                barrier.await(ROUND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+                final var outcome = outcome(test, state.get(), failures);
+                (outcome.acceptable() ? acceptable : forbidden).merge(outcome.description(), 1, Integer::sum);
+            }
+            state.set(null);
+            barrier.await(ROUND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (BrokenBarrierException | TimeoutException e) {
+            barrier.reset();
+            throw new IllegalStateException("A round of " + test.name() + " did not finish", e);
+        }
+        return new Result(rounds, acceptable, forbidden);
+    }
+
+    private static <S> StressTest.Outcome outcome(
+            StressTest<S> test, S state, AtomicReferenceArray<Throwable> failures) {
+        for (int a = 0; a < failures.length(); a++) {
+            final var failure = failures.get(a);
+            if (failure != null) {
+                return StressTest.Outcome.forbidden(
+                        "actor " + a + " threw " + failure.getClass().getName());
+            }
+        }
+        try {
+            return test.arbiter(state);
+        } catch (RuntimeException e) {
+            return StressTest.Outcome.forbidden("arbiter threw " + e.getClass().getName());
+        }
+    }
+
+    public record Result(int rounds, Map<String, Integer> acceptable, Map<String, Integer> forbidden) {
+
+        public boolean failed() {
+            return !forbidden.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.reliaquest.stress;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Just enough of the servlet API to call an interceptor outside a container: a request that knows its method and
+ * path, and a response that keeps its status and headers. Every other method answers with its type's default.
+ */
+final class ServletStubs {
+
+    private ServletStubs() {}
+
+    static HttpServletRequest request(String method, String uri) {
+        return (HttpServletRequest) Proxy.newProxyInstance(
+                ServletStubs.class.getClassLoader(),
+                new Class<?>[] {HttpServletRequest.class},
+                (proxy, m, args) -> switch (m.getName()) {
+                    case "getMethod" -> method;
+                    case "getRequestURI" -> uri;
+                    default -> defaultValue(m.getReturnType());
+                });
+    }
+
+    static Response response() {
+        return new Response();
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    /**
+     * Not thread-safe; one per actor or worker.
+     */
+    static final class Response {
+
+        private final Map<String, String> headers = new HashMap<>();
+        private int status = 200;
+        private final HttpServletResponse servletResponse = (HttpServletResponse) Proxy.newProxyInstance(
+                ServletStubs.class.getClassLoader(),
+                new Class<?>[] {HttpServletResponse.class},
+                (proxy, m, args) -> switch (m.getName()) {
+                    case "setStatus" -> {
+                        status = (Integer) args[0];
+                        yield null;
+                    }
+                    case "getStatus" -> status;
+                    case "setHeader", "addHeader" -> {
+                        headers.put((String) args[0], (String) args[1]);
+                        yield null;
+                    }
+                    case "getHeader" -> headers.get((String) args[0]);
+                    default -> defaultValue(m.getReturnType());
+                });
+
+        HttpServletResponse servletResponse() {
+            return servletResponse;
+        }
+
+        /**
+         * Clears the response for reuse; a response the handler left alone is a 200.
+         */
+        Response reset() {
+            headers.clear();
+            status = 200;
+            return this;
+        }
+
+        int status() {
+            return status;
+        }
+
+        String header(String name) {
+            return headers.get(name);
+        }
+    }
+}
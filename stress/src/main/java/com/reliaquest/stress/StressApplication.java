@@ -0,0 +1,65 @@
+package com.reliaquest.stress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the concurrency stress tests against the mock server's store and rate limiter, then measures how both scale
+ * with the number of threads, and prints the result as JSON. Fails if any round of any test ended in a forbidden
+ * outcome.
+ *
+ * <p>Options: {@code --rounds=2000 --seconds=2 --threads=<1,2,4,... up to the core count>}.
+ */
+public class StressApplication {
+
+    public static void main(String[] args) throws Exception {
+        final var values = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        final var rounds = Integer.parseInt(values.getOrDefault("rounds", "2000"));
+        final var nanos = TimeUnit.SECONDS.toNanos(Long.parseLong(values.getOrDefault("seconds", "2")));
+        final List<Integer> threadCounts = new ArrayList<>();
+        if (values.containsKey("threads")) {
+            for (String count : values.get("threads").split(",")) {
+                threadCounts.add(Integer.parseInt(count.trim()));
+            }
+        } else {
+            for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+                threadCounts.add(threads);
+            }
+        }
+
+        final Map<String, Object> stress = new LinkedHashMap<>();
+        final List<String> failed = new ArrayList<>();
+        final List<StressTest<?>> tests = List.of(
+                new CreateStress(), new DeleteByNameStress(), new ReadWhileWriteStress(), new RateLimitStress());
+        for (StressTest<?> test : tests) {
+            final var result = RoundRunner.run(test, rounds);
+            stress.put(test.name(), result);
+            if (result.failed()) {
+                failed.add(test.name());
+            }
+        }
+        final Map<String, Object> throughput = new LinkedHashMap<>();
+        throughput.put("store", ThroughputScaling.store(threadCounts, nanos));
+        throughput.put("limiter", ThroughputScaling.limiter(threadCounts, nanos));
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("cores", Runtime.getRuntime().availableProcessors());
+        report.put("stress", stress);
+        report.put("throughput", throughput);
+        System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("Forbidden outcomes in " + failed);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.stress;
+
+/**
+ * A concurrency test in the style of jcstress: every round sets up fresh state, runs each actor once on its own
+ * thread, all released together, and then lets the arbiter judge the state the actors left behind. An outcome is
+ * either acceptable or forbidden; an exception thrown by an actor is always forbidden.
+ *
+ * @param <S> the state a round runs against
+ */
+public abstract class StressTest<S> {
+
+    public abstract String name();
+
+    public abstract int actors();
+
+    public abstract S setUp();
+
+    public abstract void actor(int index, S state) throws Exception;
+
+    /**
+     * Runs after every actor of the round has finished.
+     */
+    public abstract Outcome arbiter(S state);
+
+    public record Outcome(String description, boolean acceptable) {
+
+        public static Outcome acceptable(String description) {
+            return new Outcome(description, true);
+        }
+
+        public static Outcome forbidden(String description) {
+            return new Outcome(description, false);
+        }
+    }
+}
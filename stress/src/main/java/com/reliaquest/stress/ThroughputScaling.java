@@ -0,0 +1,137 @@
+package com.reliaquest.stress;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Measures how the store and the rate limiter scale with the number of threads calling them, so that a change to
+ * either can be judged by its speedup and not only by its single-threaded cost.
+ *
+ * <p>The store workload runs against a roster of {@value #ROSTER} employees. Of every 16 operations a thread makes,
+ * one creates an employee, one deletes the oldest employee the thread created, and the rest look up a random initial
+ * employee by id; one operation in 1024 lists the whole roster instead. The limiter workload sends every request
+ * through one shared limiter, which after its first few admits rejects them all, as it does under overload.
+ */
+public final class ThroughputScaling {
+
+    private static final int ROSTER = 10_000;
+
+    private ThroughputScaling() {}
+
+    public static Map<String, Object> store(List<Integer> threadCounts, long nanos) throws InterruptedException {
+        final var roster = new ArrayList<MockEmployee>(ROSTER);
+        final var ids = new UUID[ROSTER];
+        for (int i = 0; i < ROSTER; i++) {
+            roster.add(Employees.employee("Employee " + i, 100_000 + i));
+            ids[i] = roster.get(i).getId();
+        }
+        final var service = Employees.service(roster);
+        return scale(threadCounts, nanos, thread -> {
+            final var created = new ArrayDeque<String>();
+            final var random = ThreadLocalRandom.current();
+            final var sequence = new int[1];
+            return () -> {
+                final var op = sequence[0]++;
+                if ((op & 1023) == 1023) {
+                    service.getMockEmployees();
+                } else if ((op & 15) == 0) {
+                    final var name = "Stress " + thread + "-" + op;
+                    service.create(Employees.createInput(name, 100_000));
+                    created.add(name);
+                } else if ((op & 15) == 1 && !created.isEmpty()) {
+                    service.delete(Employees.deleteInput(created.poll()));
+                } else {
+                    service.findById(ids[random.nextInt(ROSTER)]);
+                }
+            };
+        });
+    }
+
+    public static Map<String, Object> limiter(List<Integer> threadCounts, long nanos) throws InterruptedException {
+        final var interceptor = new RandomRequestLimitInterceptor();
+        return scale(threadCounts, nanos, thread -> {
+            final var request = ServletStubs.request("GET", "/api/v1/employee");
+            final var response = ServletStubs.response();
+            final var handler = new Object();
+            return () -> interceptor.preHandle(request, response.reset().servletResponse(), handler);
+        });
+    }
+
+    /**
+     * @param workerFor the operation a thread repeats, given the thread's index; called on that thread
+     */
+    private static Map<String, Object> scale(List<Integer> threadCounts, long nanos, IntFunction<Runnable> workerFor)
+            throws InterruptedException {
+        // An unmeasured pass over every thread count, so no measurement runs partly interpreted.
+        for (int threads : threadCounts) {
+            run(threads, nanos, workerFor);
+        }
+        final Map<String, Object> results = new LinkedHashMap<>();
+        var baseline = 0.0;
+        for (int threads : threadCounts) {
+            final var opsPerSecond = run(threads, nanos, workerFor);
+            if (baseline == 0) {
+                baseline = opsPerSecond;
+            }
+            final Map<String, Object> result = new LinkedHashMap<>();
+            result.put("opsPerSecond", Math.round(opsPerSecond));
+            result.put("speedup", Math.round(opsPerSecond / baseline * 100) / 100.0);
+            results.put(String.valueOf(threads), result);
+        }
+        return results;
+    }
+
+    private static double run(int threads, long nanos, IntFunction<Runnable> workerFor) throws InterruptedException {
+        final var start = new CountDownLatch(1);
+        final var done = new CountDownLatch(threads);
+        final var operations = new long[threads];
+        // Written before the start latch opens, so every worker sees it.
+        final var stopAt = new long[1];
+        for (int t = 0; t < threads; t++) {
+            final var slot = t;
+            final var worker = new Thread(() -> {
+                try {
+                    final var operation = workerFor.apply(slot);
+                    start.await();
+                    final var deadline = stopAt[0];
+                    var count = 0L;
+                    // The clock is read once per 64 operations.
+                    while (System.nanoTime() - deadline < 0) {
+                        for (int i = 0; i < 64; i++) {
+                            operation.run();
+                        }
+                        count += 64;
+                    }
+                    operations[slot] = count;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        final var startNanos = System.nanoTime();
+        stopAt[0] = startNanos + nanos;
+        start.countDown();
+        done.await();
+        final var elapsedNanos = System.nanoTime() - startNanos;
+
+        var total = 0L;
+        for (long count : operations) {
+            total += count;
+        }
+        return total * 1e9 / elapsedNanos;
+    }
+}